@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+/**
+ * A {@link MessageCombiner} of {@code long} messages that can combine them without boxing. A {@link GraphComputer} may
+ * use this to hold the combined message of each vertex as a primitive rather than as a queue of objects. The common
+ * reductions are available from {@link #sum()}, {@link #min()} and {@link #max()}.
+ *
+ * @author agent
+ */
+public interface LongMessageCombiner extends MessageCombiner<Long> {
+
+    /**
+     * Combine two messages and return their combination.
+     *
+     * @param messageA the first message
+     * @param messageB the second message
+     * @return the combination of the two messages
+     */
+    public long combine(final long messageA, final long messageB);
+
+    @Override
+    public default Long combine(final Long messageA, final Long messageB) {
+        return this.combine(messageA.longValue(), messageB.longValue());
+    }
+
+    public static LongMessageCombiner sum() {
+        return Reduction.SUM;
+    }
+
+    public static LongMessageCombiner min() {
+        return Reduction.MIN;
+    }
+
+    public static LongMessageCombiner max() {
+        return Reduction.MAX;
+    }
+
+    public enum Reduction implements LongMessageCombiner {
+        SUM {
+            @Override
+            public long combine(final long messageA, final long messageB) {
+                return messageA + messageB;
+            }
+        },
+        MIN {
+            @Override
+            public long combine(final long messageA, final long messageB) {
+                return Math.min(messageA, messageB);
+            }
+        },
+        MAX {
+            @Override
+            public long combine(final long messageA, final long messageB) {
+                return Math.max(messageA, messageB);
+            }
+        }
+    }
+}
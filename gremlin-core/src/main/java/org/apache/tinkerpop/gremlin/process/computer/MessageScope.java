@@ -91,11 +91,13 @@ public abstract class MessageScope {
      * @param <M> The {@link VertexProgram} message class
      */
     public final static class Local<M> extends MessageScope {
+        private static final BiFunction<Object, Edge, Object> IDENTITY_EDGE_FUNCTION = (final Object m, final Edge e) -> m;
+
         public final Supplier<? extends Traversal<Vertex, Edge>> incidentTraversal;
         public final BiFunction<M, Edge, M> edgeFunction;
 
         private Local(final Supplier<? extends Traversal<Vertex, Edge>> incidentTraversal) {
-            this(incidentTraversal, (final M m, final Edge e) -> m); // the default is an identity function
+            this(incidentTraversal, (BiFunction) IDENTITY_EDGE_FUNCTION); // the default is an identity function
         }
 
         private Local(final Supplier<? extends Traversal<Vertex, Edge>> incidentTraversal, final BiFunction<M, Edge, M> edgeFunction) {
@@ -115,6 +117,14 @@ public abstract class MessageScope {
             return this.edgeFunction;
         }
 
+        /**
+         * Determines whether messages are passed along the edges as they are, in which case a {@link Messenger} need
+         * not apply the edge function.
+         */
+        public boolean hasIdentityEdgeFunction() {
+            return IDENTITY_EDGE_FUNCTION == this.edgeFunction;
+        }
+
         public Supplier<? extends Traversal<Vertex, Edge>> getIncidentTraversal() {
             return this.incidentTraversal;
         }
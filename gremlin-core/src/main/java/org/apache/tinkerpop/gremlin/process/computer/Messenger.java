@@ -46,4 +46,13 @@ public interface Messenger<M> {
      */
     public void sendMessage(final MessageScope messageScope, final M message);
 
+    /**
+     * Marks the currently executing vertex as active in the next iteration even if it receives no messages. This is
+     * only meaningful when the {@link VertexProgram} executes active vertices only, see
+     * {@link VertexProgram#executeActiveVerticesOnly(Memory)}. The default implementation is a no-op.
+     */
+    public default void wakeUp() {
+
+    }
+
 }
@@ -172,6 +172,22 @@ public interface VertexProgram<M> extends Cloneable {
      */
     public Set<MessageScope> getMessageScopes(final Memory memory);
 
+    /**
+     * Determines whether the {@link GraphComputer} may skip the vertices that are not active in the coming iteration.
+     * A vertex is active if it received messages from the previous iteration or if it called {@link Messenger#wakeUp()}
+     * during the previous iteration. A vertex program should only return {@code true} if executing an inactive
+     * vertex would neither mutate its compute keys, add to the memory nor send messages, as is typical of programs
+     * that converge in a long tail where only a few vertices change per iteration. The initial iteration always
+     * executes all vertices and a {@link GraphComputer} that does not track activity may execute all vertices anyway.
+     * The default is {@code false}.
+     *
+     * @param memory an immutable form of the {@link Memory}
+     * @return whether only the active vertices need to be executed in said vertex program iteration
+     */
+    public default boolean executeActiveVerticesOnly(final Memory memory) {
+        return false;
+    }
+
     /**
      * The set of {@link MapReduce} jobs that are associated with the {@link VertexProgram}.
      * This is not necessarily the exhaustive list over the life of the {@link GraphComputer}.
@@ -24,6 +24,7 @@ import org.apache.commons.configuration2.ConfigurationUtils;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
@@ -48,6 +49,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -184,11 +186,22 @@ public class ConnectedComponentVertexProgram implements VertexProgram<String> {
         }
     }
 
+    @Override
+    public Optional<MessageCombiner<String>> getMessageCombiner() {
+        return (Optional) ConnectedComponentMessageCombiner.instance();
+    }
+
     @Override
     public Set<MessageScope> getMessageScopes(final Memory memory) {
         return scopes;
     }
 
+    @Override
+    public boolean executeActiveVerticesOnly(final Memory memory) {
+        // after the first pass a vertex can only change its component when it hears of a lesser one
+        return true;
+    }
+
     @Override
     public GraphComputer.ResultGraph getPreferredResultGraph() {
         return GraphComputer.ResultGraph.NEW;
@@ -61,6 +61,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
 
     public static final String CLUSTER = "gremlin.peerPressureVertexProgram.cluster";
     private static final String VOTE_STRENGTH = "gremlin.peerPressureVertexProgram.voteStrength";
+    private static final String VOTE_TALLY = "gremlin.peerPressureVertexProgram.voteTally";
     private static final String INITIAL_VOTE_STRENGTH_TRAVERSAL = "gremlin.pageRankVertexProgram.initialVoteStrengthTraversal";
     private static final String PROPERTY = "gremlin.peerPressureVertexProgram.property";
     private static final String MAX_ITERATIONS = "gremlin.peerPressureVertexProgram.maxIterations";
@@ -108,7 +109,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
 
     @Override
     public Set<VertexComputeKey> getVertexComputeKeys() {
-        return new HashSet<>(Arrays.asList(VertexComputeKey.of(this.property, false), VertexComputeKey.of(VOTE_STRENGTH, true)));
+        return new HashSet<>(Arrays.asList(VertexComputeKey.of(this.property, false), VertexComputeKey.of(VOTE_STRENGTH, true), VertexComputeKey.of(VOTE_TALLY, true)));
     }
 
     @Override
@@ -162,17 +163,37 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
             messenger.sendMessage(this.voteScope, new Pair<>((Serializable) vertex.id(), voteStrength));
             memory.add(VOTE_TO_HALT, false);
         } else {
-            final Map<Serializable, Double> votes = new HashMap<>();
-            votes.put(vertex.value(this.property), vertex.<Double>value(VOTE_STRENGTH));
-            messenger.receiveMessages().forEachRemaining(message -> MapHelper.incr(votes, message.getValue0(), message.getValue1()));
+            // the votes of adjacent vertices are tallied on the vertex and a vertex only messages the change to its
+            // vote, so a vertex that hears of no change would come to the same cluster and need not be executed
+            final Map<Serializable, Double> tally = vertex.<Map<Serializable, Double>>property(VOTE_TALLY).orElseGet(HashMap::new);
+            messenger.receiveMessages().forEachRemaining(message -> {
+                MapHelper.incr(tally, message.getValue0(), message.getValue1());
+                if (tally.get(message.getValue0()) <= 0.0d)
+                    tally.remove(message.getValue0());
+            });
+            vertex.property(VertexProperty.Cardinality.single, VOTE_TALLY, tally);
+            final Serializable currentCluster = vertex.value(this.property);
+            final double voteStrength = vertex.<Double>value(VOTE_STRENGTH);
+            final Map<Serializable, Double> votes = new HashMap<>(tally);
+            MapHelper.incr(votes, currentCluster, voteStrength);
             Serializable cluster = PeerPressureVertexProgram.largestCount(votes);
             if (null == cluster) cluster = (Serializable) vertex.id();
-            memory.add(VOTE_TO_HALT, vertex.value(this.property).equals(cluster));
-            vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
-            messenger.sendMessage(this.voteScope, new Pair<>(cluster, vertex.<Double>value(VOTE_STRENGTH)));
+            final boolean voteToHalt = currentCluster.equals(cluster);
+            memory.add(VOTE_TO_HALT, voteToHalt);
+            if (!voteToHalt) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
+                messenger.sendMessage(this.voteScope, new Pair<>(currentCluster, -voteStrength));
+                messenger.sendMessage(this.voteScope, new Pair<>(cluster, voteStrength));
+            }
         }
     }
 
+    @Override
+    public boolean executeActiveVerticesOnly(final Memory memory) {
+        // every vertex must cast its first vote, which happens after the counting iteration when distributing votes
+        return !(this.distributeVote && 1 == memory.getIteration());
+    }
+
     @Override
     public boolean terminate(final Memory memory) {
         final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT) || memory.getIteration() >= (this.distributeVote ? this.maxIterations + 1 : this.maxIterations);
@@ -18,14 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
-import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.DoubleMessageCombiner;
 
 import java.util.Optional;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PageRankMessageCombiner implements MessageCombiner<Double> {
+public class PageRankMessageCombiner implements DoubleMessageCombiner {
 
     private static final Optional<PageRankMessageCombiner> INSTANCE = Optional.of(new PageRankMessageCombiner());
 
@@ -34,7 +34,7 @@ public class PageRankMessageCombiner implements MessageCombiner<Double> {
     }
 
     @Override
-    public Double combine(final Double messageA, final Double messageB) {
+    public double combine(final double messageA, final double messageB) {
         return messageA + messageB;
     }
 
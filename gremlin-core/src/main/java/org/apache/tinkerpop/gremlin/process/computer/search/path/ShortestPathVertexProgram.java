@@ -193,6 +193,13 @@ public class ShortestPathVertexProgram implements VertexProgram<Triplet<Path, Ed
         return Collections.emptySet();
     }
 
+    @Override
+    public boolean executeActiveVerticesOnly(final Memory memory) {
+        // while searching, only the vertices that were sent paths can find new ones. collecting paths and updating
+        // halted traversers need every vertex.
+        return memory.<Integer>get(STATE) == SEARCH;
+    }
+
     @Override
     public VertexProgram<Triplet<Path, Edge, Number>> clone() {
         try {
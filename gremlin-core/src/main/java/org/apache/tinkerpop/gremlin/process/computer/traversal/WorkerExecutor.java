@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.SynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.IndexedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMatrix;
@@ -117,7 +118,7 @@ final class WorkerExecutor {
             IteratorUtils.removeOnNext(messages.next().iterator()).forEachRemaining(traverser -> {
                 if (traverser.isHalted()) {
                     if (returnHaltedTraversers)
-                        memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new TraverserSet<>(haltedTraverserStrategy.halt(traverser)));
+                        memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new SynchronizedTraverserSet<>(haltedTraverserStrategy.halt(traverser)));
                     else
                         haltedTraversers.add(traverser); // the traverser has already been detached so no need to detach it again
                 } else {
@@ -202,7 +203,7 @@ final class WorkerExecutor {
                                         (!(traverser.get() instanceof Element) && !(traverser.get() instanceof Property)) ||
                                         Host.getHostingVertex(traverser.get()).equals(vertex))) {
                             if (returnHaltedTraversers)
-                                memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new TraverserSet<>(haltedTraverserStrategy.halt(traverser)));
+                                memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new SynchronizedTraverserSet<>(haltedTraverserStrategy.halt(traverser)));
                             else
                                 haltedTraversers.add(traverser.detach());
                         } else
@@ -225,7 +226,7 @@ final class WorkerExecutor {
                                 (!(traverser.get() instanceof Element) && !(traverser.get() instanceof Property)) ||
                                 Host.getHostingVertex(traverser.get()).equals(vertex))) {
                     if (returnHaltedTraversers)
-                        memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new TraverserSet<>(haltedTraverserStrategy.halt(traverser)));
+                        memory.add(TraversalVertexProgram.HALTED_TRAVERSERS, new SynchronizedTraverserSet<>(haltedTraverserStrategy.halt(traverser)));
                     else
                         haltedTraversers.add(traverser.detach());
                 } else {
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
@@ -36,7 +37,9 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -46,13 +49,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, AutoCloseable {
+
+    private static final int SPILL_PARTITIONS = 16;
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -63,6 +69,18 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
 
+    /**
+     * The number of keys to deduplicate on the heap before the traversers with keys that have not been seen are
+     * hash partitioned to disk, which is resolved when the step is first iterated.
+     */
+    private int spillThreshold = -1;
+    private transient Kryo kryo;
+    private transient SpillFile[] spilledKeys;
+    private transient SpillFile[] spilledTraversers;
+    private transient int drainPartition;
+    private transient Set<Object> drainKeys;
+    private transient Iterator<Object> drainIterator;
+
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
         this.dedupLabels = dedupLabels.length == 0 ? null : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(dedupLabels)));
@@ -72,13 +90,97 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
+        final Object object;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            object = TraversalUtil.applyNullable(traverser, this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getSafeScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            object = objects;
+        }
+        if (null != this.spilledTraversers)
+            return this.spill(object, traverser);
+        if (!this.duplicateSet.add(object))
+            return false;
+        if (this.spillThreshold > 0 && this.duplicateSet.size() >= this.spillThreshold) {
+            this.kryo = SpillFile.createKryo(this.getTraversal());
+            this.spilledKeys = new SpillFile[SPILL_PARTITIONS];
+            this.spilledTraversers = new SpillFile[SPILL_PARTITIONS];
+            final File directory = SpillFile.getDirectory(this.getTraversal());
+            for (int i = 0; i < SPILL_PARTITIONS; i++) {
+                this.spilledKeys[i] = new SpillFile(directory, this.kryo);
+                this.spilledTraversers[i] = new SpillFile(directory, this.kryo);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Once the heap holds {@link #spillThreshold} keys, a traverser with a key that is not among them is written to the
+     * partition of its key so that it can be deduplicated against the rest of that partition when the starts are
+     * exhausted. A key of the partition that is being drained at the time can be decided right away.
+     */
+    private boolean spill(final Object object, final Traverser.Admin<S> traverser) {
+        if (this.duplicateSet.contains(object))
+            return false;
+        final Object key = ReferenceFactory.detach(object);
+        final int partition = (Objects.hashCode(key) & Integer.MAX_VALUE) % SPILL_PARTITIONS;
+        if (null != this.drainIterator && partition == this.drainPartition) {
+            if (!this.drainKeys.add(key))
+                return false;
+            this.spilledKeys[partition].write(key);
+            return true;
+        }
+        this.spilledTraversers[partition].write(key);
+        this.spilledTraversers[partition].write(SpillFile.detach(traverser));
+        return false;
+    }
+
+    /**
+     * Gets the next traverser of the spilled partitions with a key that has not been seen before or {@code null} if
+     * all of the partitions have been drained.
+     */
+    private Traverser.Admin<S> nextSpilled() {
+        while (true) {
+            if (null != this.drainIterator) {
+                while (this.drainIterator.hasNext()) {
+                    final Object key = this.drainIterator.next();
+                    final Traverser.Admin<S> traverser = (Traverser.Admin<S>) this.drainIterator.next();
+                    if (this.drainKeys.add(key)) {
+                        this.spilledKeys[this.drainPartition].write(key);
+                        return SpillFile.attach(traverser, this.getTraversal());
+                    }
+                }
+                this.spilledTraversers[this.drainPartition].clear();
+                this.drainIterator = null;
+                this.drainKeys = null;
+                this.drainPartition++;
+            }
+            if (SPILL_PARTITIONS == this.drainPartition) {
+                this.drainPartition = 0;
+                return null;
+            }
+            if (this.spilledTraversers[this.drainPartition].size() > 0) {
+                this.drainKeys = new HashSet<>();
+                this.spilledKeys[this.drainPartition].iterator().forEachRemaining(this.drainKeys::add);
+                this.drainIterator = this.spilledTraversers[this.drainPartition].iterator();
+            } else
+                this.drainPartition++;
+        }
+    }
+
+    private void closeSpill() {
+        if (null != this.spilledTraversers) {
+            for (int i = 0; i < SPILL_PARTITIONS; i++) {
+                this.spilledKeys[i].close();
+                this.spilledTraversers[i].close();
+            }
+            this.spilledKeys = null;
+            this.spilledTraversers = null;
         }
+        this.drainPartition = 0;
+        this.drainKeys = null;
+        this.drainIterator = null;
     }
 
     @Override
@@ -93,6 +195,8 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
+        if (this.spillThreshold < 0)
+            this.spillThreshold = this.onGraphComputer ? 0 : SpillFile.getThreshold(this.getTraversal());
         if (null != this.barrier) {
             this.barrierIterator = this.barrier.entrySet().iterator();
             this.barrier = null;
@@ -104,7 +208,21 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            if (this.filter(traverser))
+                return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+        }
+        if (null != this.spilledTraversers) {
+            final Traverser.Admin<S> traverser = this.nextSpilled();
+            if (null != traverser)
+                return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+            // the starts of a child traversal may be refilled, e.g. by repeat(), and deduplicated against the spilled
+            // keys, so only the root traversal is done with them at this point
+            if (this.getTraversal().isRoot())
+                this.closeSpill();
+        }
+        throw FastNoSuchElementException.instance();
     }
 
     @Override
@@ -121,6 +239,11 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.kryo = null;
+        clone.spilledKeys = null;
+        clone.spilledTraversers = null;
+        clone.drainKeys = null;
+        clone.drainIterator = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -148,6 +271,13 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.closeSpill();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeSpill();
+        TraversalParent.super.close();
     }
 
     @Override
@@ -18,23 +18,28 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
@@ -43,12 +48,19 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -814,4 +826,96 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that does not start blind. Before execution, the multiplicity of each pattern is
+     * estimated from the {@link Graph.Statistics} of the graph, so that the most selective patterns are tried first.
+     * Each estimate is replaced by the counts observed once its pattern has produced results. If the graph does
+     * not provide statistics then this algorithm behaves as the {@link CountMatchAlgorithm}.
+     */
+    public static class CostMatchAlgorithm extends CountMatchAlgorithm {
+
+        /**
+         * The fraction of elements assumed to pass an equality filter whose value count is not known.
+         */
+        public static final double EQUALITY_SELECTIVITY = 0.1d;
+
+        /**
+         * The fraction of elements assumed to pass any other filter.
+         */
+        public static final double FILTER_SELECTIVITY = 1.0d / 3.0d;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            final Optional<Graph.Statistics> statistics = traversals.isEmpty() ?
+                    Optional.empty() :
+                    TraversalHelper.getRootTraversal(traversals.get(0)).getGraph().flatMap(Graph::statistics);
+            if (statistics.isPresent()) {
+                for (final Bundle bundle : this.bundles) {
+                    bundle.multiplicity = estimateMultiplicity(bundle.traversal, statistics.get());
+                }
+                Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+            }
+        }
+
+        /**
+         * Estimates the number of results that a pattern produces for each traverser that enters it.
+         */
+        public static double estimateMultiplicity(final Traversal.Admin<?, ?> traversal, final Graph.Statistics statistics) {
+            double multiplicity = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    final String[] edgeLabels = vertexStep.getEdgeLabels();
+                    double degree = 0.0d;
+                    if (0 == edgeLabels.length)
+                        degree = statistics.averageDegree(null, vertexStep.getDirection());
+                    else {
+                        for (final String edgeLabel : edgeLabels) {
+                            degree = degree + statistics.averageDegree(edgeLabel, vertexStep.getDirection());
+                        }
+                    }
+                    multiplicity = multiplicity * degree;
+                    elementClass = vertexStep.returnsVertex() ? Vertex.class : Edge.class;
+                } else if (step instanceof EdgeVertexStep) {
+                    if (((EdgeVertexStep) step).getDirection() == Direction.BOTH)
+                        multiplicity = multiplicity * 2.0d;
+                    elementClass = Vertex.class;
+                } else if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        multiplicity = multiplicity * estimateSelectivity(hasContainer, elementClass, statistics);
+                    }
+                } else if (step instanceof FilterStep) {
+                    multiplicity = multiplicity * FILTER_SELECTIVITY;
+                }
+            }
+            return multiplicity;
+        }
+
+        private static double estimateSelectivity(final HasContainer hasContainer, final Class<? extends Element> elementClass,
+                                                  final Graph.Statistics statistics) {
+            final boolean equality = hasContainer.getBiPredicate() == Compare.eq;
+            if (!equality && hasContainer.getBiPredicate() != Contains.within)
+                return FILTER_SELECTIVITY;
+
+            final long total = statistics.count(elementClass, null);
+            if (0 == total) return 0.0d;
+
+            final Collection<?> values = equality ?
+                    Collections.singletonList(hasContainer.getValue()) :
+                    (Collection<?>) hasContainer.getValue();
+            double selectivity = 0.0d;
+            for (final Object value : values) {
+                if (hasContainer.getKey().equals(T.label.getAccessor()))
+                    selectivity = selectivity + (double) statistics.count(elementClass, String.valueOf(value)) / total;
+                else {
+                    final Optional<Long> count = statistics.count(elementClass, hasContainer.getKey(), value);
+                    selectivity = selectivity + (count.isPresent() ? (double) count.get() / total : EQUALITY_SELECTIVITY);
+                }
+            }
+            return Math.min(1.0d, selectivity);
+        }
+    }
 }
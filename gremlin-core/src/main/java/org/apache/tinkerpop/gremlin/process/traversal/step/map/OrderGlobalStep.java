@@ -27,12 +27,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.javatuples.Pair;
 
 import java.io.Serializable;
@@ -41,6 +43,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
@@ -48,12 +51,28 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, AutoCloseable {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
 
+    /**
+     * The number of traversers to sort on the heap before a sorted run of them is spilled to disk, which is resolved
+     * when the step is first iterated so that the barriers of a {@code GraphComputer} never spill.
+     */
+    private int spillThreshold = -1;
+
+    /**
+     * The number of runs that are merged at once, so that many small runs do not open a file for each of them. Runs
+     * beyond it are merged into longer runs first.
+     */
+    private static final int MAX_MERGE_RUNS = 64;
+
+    private transient Kryo kryo;
+    private transient List<SpillFile> spilledRuns;
+    private transient Iterator<Traverser.Admin<S>> mergedRuns;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -64,7 +83,14 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         //
         if (this.multiComparator.isShuffle())
             traverserSet.shuffle();
-        else
+        else if (null != this.spilledRuns) {
+            this.spillRun();
+            while (this.spilledRuns.size() > MAX_MERGE_RUNS) {
+                this.mergePass();
+            }
+            this.mergedRuns = this.mergeRuns(this.spilledRuns);
+            this.nextMergedChunk();
+        } else
             traverserSet.sort((Comparator) this.multiComparator);
     }
 
@@ -72,9 +98,35 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     public void processAllStarts() {
         while (this.starts.hasNext()) {
             this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+            if (this.spillThreshold > 0 && this.traverserSet.size() >= this.spillThreshold)
+                this.spillRun();
         }
     }
 
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (this.spillThreshold < 0) {
+            if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+            // a shuffle has no order to merge spilled runs by
+            this.spillThreshold = this.multiComparator.isShuffle() ? 0 : SpillFile.getThreshold(this.getTraversal());
+        }
+        if (null != this.mergedRuns && this.traverserSet.isEmpty())
+            this.nextMergedChunk();
+        return super.processNextStart();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeRuns();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeRuns();
+        TraversalParent.super.close();
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -130,6 +182,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     @Override
     public OrderGlobalStep<S, C> clone() {
         final OrderGlobalStep<S, C> clone = (OrderGlobalStep<S, C>) super.clone();
+        clone.kryo = null;
+        clone.spilledRuns = null;
+        clone.mergedRuns = null;
         clone.comparators = new ArrayList<>();
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
@@ -165,6 +220,96 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return new MultiComparator<>(list);
     }
 
+    /**
+     * Sorts the traversers on the heap and writes them to a new run on disk.
+     */
+    private void spillRun() {
+        if (this.traverserSet.isEmpty())
+            return;
+        if (null == this.spilledRuns) {
+            this.spilledRuns = new ArrayList<>();
+            this.kryo = SpillFile.createKryo(this.getTraversal());
+        }
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        final SpillFile run = new SpillFile(SpillFile.getDirectory(this.getTraversal()), this.kryo);
+        this.spilledRuns.add(run);
+        for (final Traverser.Admin<S> traverser : this.traverserSet) {
+            run.write(SpillFile.detach(traverser));
+        }
+        this.traverserSet.clear();
+    }
+
+    /**
+     * Merges each {@link #MAX_MERGE_RUNS} consecutive runs into one, which keeps the runs in order so that the sort
+     * remains stable.
+     */
+    private void mergePass() {
+        final List<SpillFile> merged = new ArrayList<>();
+        for (int from = 0; from < this.spilledRuns.size(); from += MAX_MERGE_RUNS) {
+            final List<SpillFile> group = this.spilledRuns.subList(from, Math.min(from + MAX_MERGE_RUNS, this.spilledRuns.size()));
+            if (1 == group.size()) {
+                merged.add(group.get(0));
+                continue;
+            }
+            final SpillFile run = new SpillFile(SpillFile.getDirectory(this.getTraversal()), this.kryo);
+            merged.add(run);
+            this.mergeRuns(group).forEachRemaining(run::write);
+            group.forEach(SpillFile::close);
+        }
+        this.spilledRuns = merged;
+    }
+
+    /**
+     * Merges the sorted runs where traversers that compare equally are kept in the order of the runs that hold them
+     * so that the sort remains stable.
+     */
+    private Iterator<Traverser.Admin<S>> mergeRuns(final List<SpillFile> spilledRuns) {
+        final PriorityQueue<Pair<Traverser.Admin<S>, Integer>> heads = new PriorityQueue<>(spilledRuns.size(), (a, b) -> {
+            final int comparison = ((Comparator) this.multiComparator).compare(a.getValue0(), b.getValue0());
+            return 0 != comparison ? comparison : Integer.compare(a.getValue1(), b.getValue1());
+        });
+        final List<Iterator<Traverser.Admin<S>>> runs = new ArrayList<>(spilledRuns.size());
+        for (int i = 0; i < spilledRuns.size(); i++) {
+            runs.add(spilledRuns.get(i).iterator());
+            if (runs.get(i).hasNext())
+                heads.add(new Pair<>(runs.get(i).next(), i));
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Pair<Traverser.Admin<S>, Integer> head = heads.remove();
+                final Iterator<Traverser.Admin<S>> run = runs.get(head.getValue1());
+                if (run.hasNext())
+                    heads.add(new Pair<>(run.next(), head.getValue1()));
+                return head.getValue0();
+            }
+        };
+    }
+
+    /**
+     * Moves the next {@link #spillThreshold} merged traversers back onto the heap for the step to emit.
+     */
+    private void nextMergedChunk() {
+        while (this.traverserSet.size() < this.spillThreshold && this.mergedRuns.hasNext()) {
+            this.traverserSet.add(SpillFile.attach(this.mergedRuns.next(), this.getTraversal()));
+        }
+        if (!this.mergedRuns.hasNext())
+            this.closeRuns();
+    }
+
+    private void closeRuns() {
+        if (null != this.spilledRuns) {
+            this.spilledRuns.forEach(SpillFile::close);
+            this.spilledRuns = null;
+        }
+        this.mergedRuns = null;
+    }
+
     ////////////////
 
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
@@ -18,20 +18,19 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
+import org.apache.tinkerpop.gremlin.util.LinkedObjectLongHashMap;
+
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
@@ -40,7 +39,7 @@ import java.util.stream.Collectors;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+    private final LinkedObjectLongHashMap<S> map = new LinkedObjectLongHashMap<>();
 
     @Override
     public int size() {
@@ -52,7 +51,7 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        return this.map.sumOfValues();
     }
 
     @Override
@@ -81,32 +80,24 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public void forEach(final BiConsumer<S, Long> consumer) {
-        this.map.forEach(consumer);
+        this.map.forEach(consumer::accept);
     }
 
     public Map<S, Long> asBulk() {
-        return Collections.unmodifiableMap(map);
+        return this.map.asMap();
     }
 
     public boolean add(final S s, final long bulk) {
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
-            return false;
-        } else {
-            this.map.put(s, bulk);
-            return true;
-        }
+        return this.map.addTo(s, bulk);
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        return this.map.get(s, 0L);
     }
 
     @Override
     public boolean remove(final Object s) {
-        return this.map.remove(s) != null;
+        return this.map.remove(s);
     }
 
     @Override
@@ -124,7 +115,7 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
         Objects.requireNonNull(collection);
         boolean modified = false;
         for (final Object object : collection) {
-            if (null != this.map.remove(object))
+            if (this.map.remove(object))
                 modified = true;
         }
         return modified;
@@ -132,17 +123,31 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
 
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        // same as the hashCode() of a Map<S,Long> holding the bulks
+        final int[] hashCode = {0};
+        this.map.forEach((k, v) -> hashCode[0] = hashCode[0] + (Objects.hashCode(k) ^ Long.hashCode(v)));
+        return hashCode[0];
     }
 
     @Override
     public boolean equals(final Object object) {
-        return object instanceof BulkSet && this.map.equals(((BulkSet) object).map);
+        if (this == object)
+            return true;
+        if (!(object instanceof BulkSet) || ((BulkSet) object).map.size() != this.map.size())
+            return false;
+        final LinkedObjectLongHashMap<?> other = ((BulkSet) object).map;
+        final Iterator<S> iterator = this.map.keyIterator();
+        while (iterator.hasNext()) {
+            final S s = iterator.next();
+            if (!other.containsKey(s) || other.get(s, 0L) != this.map.get(s, 0L))
+                return false;
+        }
+        return true;
     }
 
     @Override
     public String toString() {
-        return this.map.toString();
+        return this.map.asMap().toString();
     }
 
     private List<S> toList() {
@@ -158,12 +163,12 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public Iterator<S> iterator() {
         return new Iterator<S>() {
-            final Iterator<Map.Entry<S, Long>> entryIterator = map.entrySet().iterator();
+            final Iterator<S> keyIterator = map.keyIterator();
             S lastObject = null;
             long lastCount = 0l;
 
             public boolean hasNext() {
-                return this.lastCount > 0l || this.entryIterator.hasNext();
+                return this.lastCount > 0l || this.keyIterator.hasNext();
             }
 
             @Override
@@ -172,12 +177,13 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
                     this.lastCount--;
                     return this.lastObject;
                 }
-                final Map.Entry<S, Long> entry = entryIterator.next();
-                if (entry.getValue() == 1) {
-                    return entry.getKey();
+                final S s = this.keyIterator.next();
+                final long bulk = map.get(s, 0L);
+                if (bulk == 1) {
+                    return s;
                 } else {
-                    this.lastObject = entry.getKey();
-                    this.lastCount = entry.getValue() - 1;
+                    this.lastObject = s;
+                    this.lastCount = bulk - 1;
                     return this.lastObject;
                 }
             }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A local temporary file that a barrier step writes objects to once it holds more than the configured
+ * {@link #SPILL_THRESHOLD} of them on the heap, so that a large barrier slows down rather than exhausting the heap.
+ * Objects are written with the Gryo {@code Kryo} of the traversal's {@link Graph} and are read back in the order they
+ * were written, thus traversers should be detached with {@link #detach(Traverser.Admin)} before they are written and
+ * attached again with {@link #attach(Traverser.Admin, Traversal.Admin)} once they are read.
+ *
+ * @author agent
+ */
+public final class SpillFile implements AutoCloseable {
+
+    /**
+     * The {@link OptionsStrategy} key for the number of traversers (or keys) that a barrier step may hold on the heap
+     * before it spills to disk. Spilling is disabled when it is not set.
+     */
+    public static final String SPILL_THRESHOLD = "barrierSpillThreshold";
+
+    /**
+     * The {@link OptionsStrategy} key for the directory that spill files are written to. It defaults to the
+     * {@code java.io.tmpdir} system property.
+     */
+    public static final String SPILL_DIRECTORY = "barrierSpillDirectory";
+
+    private final Kryo kryo;
+    private final File file;
+    private Output output;
+    private Input input;
+    private long size = 0L;
+
+    public SpillFile(final File directory, final Kryo kryo) {
+        this.kryo = kryo;
+        try {
+            this.file = File.createTempFile("gremlin-spill-", ".bin", directory);
+            this.output = new Output(new FileOutputStream(this.file));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not create a spill file in " + directory, e);
+        }
+    }
+
+    /**
+     * Gets the number of objects in the file.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    public void write(final Object object) {
+        this.kryo.writeClassAndObject(this.output, object);
+        this.size++;
+    }
+
+    /**
+     * Reads the objects of the file in the order they were written. Objects written while the iterator is open are
+     * not read by it.
+     */
+    public <T> Iterator<T> iterator() {
+        this.output.flush();
+        this.closeInput();
+        try {
+            this.input = new Input(new FileInputStream(this.file));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not read the spill file " + this.file, e);
+        }
+        final Input input = this.input;
+        final long size = this.size;
+        return new Iterator<T>() {
+            private long read = 0L;
+
+            @Override
+            public boolean hasNext() {
+                return this.read < size;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                final T object = (T) kryo.readClassAndObject(input);
+                if (++this.read == size)
+                    input.close();
+                return object;
+            }
+        };
+    }
+
+    /**
+     * Removes all the objects from the file.
+     */
+    public void clear() {
+        this.closeInput();
+        this.output.close();
+        try {
+            this.output = new Output(new FileOutputStream(this.file));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not truncate the spill file " + this.file, e);
+        }
+        this.size = 0L;
+    }
+
+    /**
+     * Closes the file and deletes it.
+     */
+    @Override
+    public void close() {
+        this.closeInput();
+        this.output.close();
+        this.file.delete();
+    }
+
+    private void closeInput() {
+        if (null != this.input) {
+            this.input.close();
+            this.input = null;
+        }
+    }
+
+    /**
+     * Gets the {@link #SPILL_THRESHOLD} configured for the traversal or {@code Integer.MAX_VALUE} if it is not set.
+     */
+    public static int getThreshold(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Object> threshold = getOption(traversal, SPILL_THRESHOLD);
+        if (!threshold.isPresent())
+            return Integer.MAX_VALUE;
+        final int value = threshold.get() instanceof Number ?
+                ((Number) threshold.get()).intValue() :
+                Integer.parseInt(threshold.get().toString());
+        if (value < 1)
+            throw new IllegalArgumentException("The " + SPILL_THRESHOLD + " option must be greater than zero: " + value);
+        return value;
+    }
+
+    /**
+     * Gets the {@link #SPILL_DIRECTORY} configured for the traversal.
+     */
+    public static File getDirectory(final Traversal.Admin<?, ?> traversal) {
+        return new File(getOption(traversal, SPILL_DIRECTORY).map(Object::toString).orElse(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates a {@code Kryo} instance that can write the objects of the traversal's {@link Graph}.
+     */
+    public static Kryo createKryo(final Traversal.Admin<?, ?> traversal) {
+        final Graph graph = traversal.getGraph().orElse(EmptyGraph.instance());
+        return graph.io(IoCore.gryo()).mapper().create().createMapper();
+    }
+
+    /**
+     * Detaches a traverser to be written to a spill file, including the objects of its path.
+     */
+    public static <S> Traverser.Admin<S> detach(final Traverser.Admin<S> traverser) {
+        traverser.detach();
+        // a path that was detached before is not detached again, yet its objects were attached when it was read
+        final Path path = traverser.path();
+        if (path instanceof MutablePath) {
+            final List<Object> objects = ((MutablePath) path).objects;
+            objects.replaceAll(ReferenceFactory::detach);
+        }
+        return traverser;
+    }
+
+    /**
+     * Attaches a traverser read from a spill file to the traversal's {@link Graph} and side-effects, including the
+     * objects of its path.
+     */
+    public static <S> Traverser.Admin<S> attach(final Traverser.Admin<S> traverser, final Traversal.Admin<?, ?> traversal) {
+        traversal.getGraph().ifPresent(graph -> {
+            if (!(graph instanceof EmptyGraph)) {
+                traverser.attach(Attachable.Method.get(graph));
+                // the traverser does not attach its path, as on a GraphComputer it may hold objects of other vertices
+                final Path path = traverser.path();
+                if (path instanceof MutablePath) {
+                    final List<Object> objects = ((MutablePath) path).objects;
+                    objects.replaceAll(object -> object instanceof Attachable ?
+                            ((Attachable<Object>) object).attach(Attachable.Method.get(graph)) : object);
+                }
+            }
+        });
+        traverser.setSideEffects(traversal.getSideEffects());
+        return traverser;
+    }
+
+    private static Optional<Object> getOption(final Traversal.Admin<?, ?> traversal, final String key) {
+        // child traversals do not carry the strategies of the root traversal
+        return TraversalHelper.getRootTraversal(traversal).getStrategies().getStrategy(OptionsStrategy.class)
+                .map(strategy -> strategy.getOptions().get(key));
+    }
+}
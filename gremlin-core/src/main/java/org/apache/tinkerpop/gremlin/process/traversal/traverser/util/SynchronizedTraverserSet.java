@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * A {@link TraverserSet} whose operations are synchronized on the set itself. It is used for the sets that a
+ * {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} shares between its workers (e.g. through
+ * {@link org.apache.tinkerpop.gremlin.process.computer.Memory}). As with {@code Collections.synchronizedSet()}, the
+ * set must be manually synchronized on when it is iterated.
+ *
+ * @author agent
+ */
+public class SynchronizedTraverserSet<S> extends TraverserSet<S> {
+
+    public SynchronizedTraverserSet() {
+        super();
+    }
+
+    public SynchronizedTraverserSet(final Traverser.Admin<S> traverser) {
+        super(traverser);
+    }
+
+    @Override
+    public synchronized Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
+        return super.get(traverser);
+    }
+
+    @Override
+    public synchronized int size() {
+        return super.size();
+    }
+
+    @Override
+    public synchronized long bulkSize() {
+        return super.bulkSize();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return super.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean contains(final Object traverser) {
+        return super.contains(traverser);
+    }
+
+    @Override
+    public synchronized boolean add(final Traverser.Admin<S> traverser) {
+        return super.add(traverser);
+    }
+
+    @Override
+    public synchronized boolean addAll(final Collection<? extends Traverser.Admin<S>> traversers) {
+        return super.addAll(traversers);
+    }
+
+    @Override
+    public synchronized Traverser.Admin<S> remove() {
+        return super.remove();
+    }
+
+    @Override
+    public synchronized Traverser.Admin<S> poll() {
+        return super.poll();
+    }
+
+    @Override
+    public synchronized Traverser.Admin<S> element() {
+        return super.element();
+    }
+
+    @Override
+    public synchronized Traverser.Admin<S> peek() {
+        return super.peek();
+    }
+
+    @Override
+    public synchronized boolean remove(final Object traverser) {
+        return super.remove(traverser);
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return super.toString();
+    }
+
+    @Override
+    public synchronized void sort(final Comparator<Traverser<S>> comparator) {
+        super.sort(comparator);
+    }
+
+    @Override
+    public synchronized void shuffle() {
+        super.shuffle();
+    }
+}
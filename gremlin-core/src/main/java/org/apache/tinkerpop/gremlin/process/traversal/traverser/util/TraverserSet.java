@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.util.LinkedObjectLongHashMap;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
@@ -28,19 +29,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A {@link Set} of traversers that merges the bulk of equal traversers as they are added. It is backed by an
+ * insertion-ordered open-addressed table and is not thread-safe, as the traversers of a step are only ever touched by
+ * the thread iterating it. Use {@link SynchronizedTraverserSet} where a set is shared between workers.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final LinkedObjectLongHashMap<Traverser.Admin<S>> map = new LinkedObjectLongHashMap<>();
 
     public TraverserSet() {
 
@@ -48,16 +52,16 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
         if (traverser != null)
-            this.map.put(traverser, traverser);
+            this.map.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return this.map.keyIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        return this.map.getKey(traverser);
     }
 
     @Override
@@ -67,8 +71,9 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        final Iterator<Traverser.Admin<S>> iterator = this.map.keyIterator();
+        while (iterator.hasNext()) {
+            bulk = bulk + iterator.next().bulk();
         }
         return bulk;
     }
@@ -85,9 +90,9 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
+        final Traverser.Admin<S> existing = this.map.getKey(traverser);
         if (null == existing) {
-            this.map.put(traverser, traverser);
+            this.map.add(traverser);
             return true;
         } else {
             existing.merge(traverser);
@@ -102,17 +107,14 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (this.map.isEmpty())
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
-        return next;
+        return this.map.removeFirst();
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return this.map.isEmpty() ? null : this.map.removeFirst();
     }
 
     @Override
@@ -122,12 +124,12 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return this.map.isEmpty() ? null : this.map.firstKey();
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        return this.map.remove(traverser);
     }
 
     @Override
@@ -137,28 +139,34 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
     }
 
     @Override
     public String toString() {
-        return this.map.values().toString();
+        final StringBuilder builder = new StringBuilder("[");
+        final Iterator<Traverser.Admin<S>> iterator = this.map.keyIterator();
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) builder.append(", ");
+        }
+        return builder.append("]").toString();
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
         final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        IteratorUtils.removeOnNext(this.map.keyIterator()).forEachRemaining(list::add);
         Collections.sort(list, comparator);
         this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(this.map::add);
     }
 
     public void shuffle() {
         final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        IteratorUtils.removeOnNext(this.map.keyIterator()).forEachRemaining(list::add);
         Collections.shuffle(list);
         this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(this.map::add);
     }
 
 }
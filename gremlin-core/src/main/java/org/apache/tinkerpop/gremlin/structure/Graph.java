@@ -326,6 +326,14 @@ public interface Graph extends AutoCloseable, Host {
      */
     public Configuration configuration();
 
+    /**
+     * Gets the {@link Statistics} that describe the data in the graph so that traversals can be planned by cost.
+     * Graphs that do not keep statistics return an empty {@code Optional}, which is the default.
+     */
+    public default Optional<Statistics> statistics() {
+        return Optional.empty();
+    }
+
     /**
      * Graph variables are a set of key/value pairs associated with the graph. The keys are String and the values
      * are Objects.
@@ -390,6 +398,32 @@ public interface Graph extends AutoCloseable, Host {
 
     }
 
+    /**
+     * Estimates of the shape of the data in a graph which are cheap enough to consult when planning a traversal. The
+     * values need not be exact, but they should reflect the relative sizes of labels and values.
+     */
+    public interface Statistics {
+
+        /**
+         * Gets the number of vertices or edges with the label or of all of them if the label is {@code null}.
+         */
+        public long count(final Class<? extends Element> elementClass, final String label);
+
+        /**
+         * Gets the average number of edges with the label, or with any label if it is {@code null}, that are
+         * incident to a vertex in the direction.
+         */
+        public double averageDegree(final String edgeLabel, final Direction direction);
+
+        /**
+         * Gets the number of vertices or edges that have the value for the property key. If the graph does not know
+         * the number, as the key is not indexed for example, an empty {@code Optional} is returned.
+         */
+        public default Optional<Long> count(final Class<? extends Element> elementClass, final String key, final Object value) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Gets the {@link Features} exposed by the underlying {@code Graph} implementation.
      */
@@ -77,6 +77,22 @@ public class GraphBinaryReader {
         return serializer.readValue(buffer, this, nullable);
     }
 
+    /**
+     * Advances the buffer past a value for an specific type in the format that
+     * {@link #readValue(Buffer, Class, boolean)} expects, without deserializing it where the {@link TypeSerializer}
+     * allows.
+     */
+    public <T> void skipValue(final Buffer buffer, final Class<T> type, final boolean nullable) throws IOException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("input cannot be null.");
+        } else if (type == null) {
+            throw new IllegalArgumentException("type cannot be null.");
+        }
+
+        final TypeSerializer<T> serializer = registry.getSerializer(type);
+        serializer.skipValue(buffer, this, nullable);
+    }
+
     /**
      * Reads the type code, information and value of a given buffer with fully-qualified format.
      */
@@ -105,4 +121,28 @@ public class GraphBinaryReader {
 
         return serializer.read(buffer, this);
     }
+
+    /**
+     * Advances the buffer past a value with fully-qualified format, without deserializing it where the
+     * {@link TypeSerializer} allows.
+     */
+    public void skip(final Buffer buffer) throws IOException {
+        final DataType type = DataType.get(Byte.toUnsignedInt(buffer.readByte()));
+
+        if (type == DataType.UNSPECIFIED_NULL) {
+            // the value_flag
+            buffer.readByte();
+            return;
+        }
+
+        final TypeSerializer<?> serializer;
+        if (type != DataType.CUSTOM) {
+            serializer = registry.getSerializer(type);
+        } else {
+            final String customTypeName = this.readValue(buffer, String.class, false);
+            serializer = registry.getSerializerForCustomType(customTypeName);
+        }
+
+        serializer.skip(buffer, this);
+    }
 }
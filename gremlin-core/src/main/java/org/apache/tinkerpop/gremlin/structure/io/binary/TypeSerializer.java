@@ -46,6 +46,22 @@ public interface TypeSerializer<T> {
      */
     T readValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException;
 
+    /**
+     * Advances the buffer past the type information and value that {@link #read(Buffer, GraphBinaryReader)} would
+     * read. The default implementation reads the value and discards it.
+     */
+    default void skip(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        read(buffer, context);
+    }
+
+    /**
+     * Advances the buffer past the value that {@link #readValue(Buffer, GraphBinaryReader, boolean)} would read. The
+     * default implementation reads the value and discards it.
+     */
+    default void skipValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException {
+        readValue(buffer, context, nullable);
+    }
+
     /**
      * Writes the type code, information and value to a buffer using the provided allocator.
      */
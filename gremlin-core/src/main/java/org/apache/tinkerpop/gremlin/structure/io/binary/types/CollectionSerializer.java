@@ -44,6 +44,15 @@ class CollectionSerializer extends SimpleTypeSerializer<Collection> {
         return result;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = buffer.readInt();
+
+        for (int i = 0; i < length; i++) {
+            context.skip(buffer);
+        }
+    }
+
     @Override
     protected void writeValue(final Collection value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         buffer.writeInt(value.size());
@@ -57,6 +57,17 @@ public class EdgeSerializer extends SimpleTypeSerializer<Edge> {
         return new ReferenceEdge(id, label, inV, outV);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        // the id and label of the edge, then of the in and out vertices, followed by the parent and properties
+        for (int i = 0; i < 3; i++) {
+            context.skip(buffer);
+            context.skipValue(buffer, String.class, false);
+        }
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final Edge value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
 
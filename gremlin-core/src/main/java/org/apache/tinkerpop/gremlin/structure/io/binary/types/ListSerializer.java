@@ -39,6 +39,11 @@ public class ListSerializer extends SimpleTypeSerializer<List> {
         return (List) collectionSerializer.readValue(buffer, context);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        collectionSerializer.skipValue(buffer, context);
+    }
+
     @Override
     protected void writeValue(final List value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         collectionSerializer.writeValue(value, buffer, context);
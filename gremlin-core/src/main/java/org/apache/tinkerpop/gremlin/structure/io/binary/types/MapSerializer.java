@@ -45,6 +45,16 @@ public class MapSerializer extends SimpleTypeSerializer<Map> {
         return result;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = buffer.readInt();
+
+        for (int i = 0; i < length; i++) {
+            context.skip(buffer);
+            context.skip(buffer);
+        }
+    }
+
     @Override
     protected void writeValue(final Map value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         buffer.writeInt(value.size());
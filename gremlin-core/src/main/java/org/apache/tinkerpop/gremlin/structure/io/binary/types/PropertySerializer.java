@@ -45,6 +45,13 @@ public class PropertySerializer extends SimpleTypeSerializer<Property> {
         return p;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skipValue(buffer, String.class, false);
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final Property value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.writeValue(value.key(), buffer, false);
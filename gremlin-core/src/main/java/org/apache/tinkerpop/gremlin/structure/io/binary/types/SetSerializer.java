@@ -39,6 +39,11 @@ public class SetSerializer extends SimpleTypeSerializer<Set>{
         return new HashSet<>(collectionSerializer.readValue(buffer, context));
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        collectionSerializer.skipValue(buffer, context);
+    }
+
     @Override
     protected void writeValue(final Set value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         collectionSerializer.writeValue(value, buffer, context);
@@ -68,6 +68,34 @@ public abstract class SimpleTypeSerializer<T> implements TypeSerializer<T> {
      */
     protected abstract T readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException;
 
+    @Override
+    public void skip(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        skipValue(buffer, context, true);
+    }
+
+    @Override
+    public void skipValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException {
+        if (nullable) {
+            final byte valueFlag = buffer.readByte();
+            if ((valueFlag & 1) == 1) {
+                return;
+            }
+        }
+
+        skipValue(buffer, context);
+    }
+
+    /**
+     * Advances the buffer past a non-nullable value according to the type format. The default implementation reads
+     * the value and discards it, so types that can be passed over more cheaply should override it.
+     * @param buffer A buffer which reader index has been set to the beginning of the {value}.
+     * @param context The binary reader.
+     * @throws IOException
+     */
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        readValue(buffer, context);
+    }
+
     @Override
     public void write(final T value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         writeValue(value, buffer, context, true);
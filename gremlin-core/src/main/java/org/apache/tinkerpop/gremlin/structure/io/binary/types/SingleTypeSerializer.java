@@ -33,28 +33,30 @@ import java.util.function.Function;
  */
 public class SingleTypeSerializer<T> extends SimpleTypeSerializer<T> {
     public static final SingleTypeSerializer<Integer> IntSerializer =
-            new SingleTypeSerializer<>(DataType.INT, Buffer::readInt, (v, b) -> b.writeInt(v));
+            new SingleTypeSerializer<>(DataType.INT, Integer.BYTES, Buffer::readInt, (v, b) -> b.writeInt(v));
     public static final SingleTypeSerializer<Long> LongSerializer =
-            new SingleTypeSerializer<>(DataType.LONG, Buffer::readLong, (v, b) -> b.writeLong(v));
+            new SingleTypeSerializer<>(DataType.LONG, Long.BYTES, Buffer::readLong, (v, b) -> b.writeLong(v));
     public static final SingleTypeSerializer<Double> DoubleSerializer =
-            new SingleTypeSerializer<>(DataType.DOUBLE, Buffer::readDouble, (v, b) -> b.writeDouble(v));
+            new SingleTypeSerializer<>(DataType.DOUBLE, Double.BYTES, Buffer::readDouble, (v, b) -> b.writeDouble(v));
     public static final SingleTypeSerializer<Float> FloatSerializer =
-            new SingleTypeSerializer<>(DataType.FLOAT, Buffer::readFloat, (v, b) -> b.writeFloat(v));
+            new SingleTypeSerializer<>(DataType.FLOAT, Float.BYTES, Buffer::readFloat, (v, b) -> b.writeFloat(v));
     public static final SingleTypeSerializer<Short> ShortSerializer =
-            new SingleTypeSerializer<>(DataType.SHORT, Buffer::readShort, (v, b) -> b.writeShort(v));
+            new SingleTypeSerializer<>(DataType.SHORT, Short.BYTES, Buffer::readShort, (v, b) -> b.writeShort(v));
     public static final SingleTypeSerializer<Boolean> BooleanSerializer =
-            new SingleTypeSerializer<>(DataType.BOOLEAN, Buffer::readBoolean, (v, b) -> b.writeBoolean(v));
+            new SingleTypeSerializer<>(DataType.BOOLEAN, 1, Buffer::readBoolean, (v, b) -> b.writeBoolean(v));
     public static final SingleTypeSerializer<Byte> ByteSerializer =
-            new SingleTypeSerializer<>(DataType.BYTE, Buffer::readByte, (v, b) -> b.writeByte(v));
+            new SingleTypeSerializer<>(DataType.BYTE, Byte.BYTES, Buffer::readByte, (v, b) -> b.writeByte(v));
     public static final SingleTypeSerializer<Year> YearSerializer =
-            new SingleTypeSerializer<>(DataType.YEAR, bb -> Year.of(bb.readInt()), (v, b) -> b.writeInt(v.getValue()));
+            new SingleTypeSerializer<>(DataType.YEAR, Integer.BYTES, bb -> Year.of(bb.readInt()), (v, b) -> b.writeInt(v.getValue()));
 
+    private final int size;
     private final Function<Buffer, T> readFunc;
     private final BiConsumer<T, Buffer> writeFunc;
 
-    private SingleTypeSerializer(final DataType dataType, final Function<Buffer, T> readFunc,
+    private SingleTypeSerializer(final DataType dataType, final int size, final Function<Buffer, T> readFunc,
                                  final BiConsumer<T, Buffer> writeFunc) {
         super(dataType);
+        this.size = size;
         this.readFunc = readFunc;
         this.writeFunc = writeFunc;
     }
@@ -64,6 +66,11 @@ public class SingleTypeSerializer<T> extends SimpleTypeSerializer<T> {
         return readFunc.apply(buffer);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) {
+        buffer.readerIndex(buffer.readerIndex() + size);
+    }
+
     @Override
     protected void writeValue(final T value, final Buffer buffer, final GraphBinaryWriter context) {
         writeFunc.accept(value, buffer);
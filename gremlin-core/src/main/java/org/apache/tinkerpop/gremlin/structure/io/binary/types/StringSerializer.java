@@ -38,6 +38,12 @@ public class StringSerializer extends SimpleTypeSerializer<String> {
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) {
+        final int length = buffer.readInt();
+        buffer.readerIndex(buffer.readerIndex() + length);
+    }
+
     @Override
     protected void writeValue(final String value, final Buffer buffer, final GraphBinaryWriter context) {
         final byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
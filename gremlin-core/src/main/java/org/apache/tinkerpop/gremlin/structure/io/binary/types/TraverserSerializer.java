@@ -43,6 +43,12 @@ public class TraverserSerializer extends SimpleTypeSerializer<Traverser> {
         return new DefaultRemoteTraverser<>(v, bulk);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skipValue(buffer, Long.class, false);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final Traverser value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.writeValue(value.bulk(), buffer, false);
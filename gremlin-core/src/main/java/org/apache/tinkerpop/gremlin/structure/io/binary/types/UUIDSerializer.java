@@ -35,6 +35,11 @@ public class UUIDSerializer extends SimpleTypeSerializer<UUID> {
         return new UUID(buffer.readLong(), buffer.readLong());
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) {
+        buffer.readerIndex(buffer.readerIndex() + 2 * Long.BYTES);
+    }
+
     @Override
     protected void writeValue(final UUID value, final Buffer buffer, final GraphBinaryWriter context) {
         buffer.writeLong(value.getMostSignificantBits()).writeLong(value.getLeastSignificantBits());
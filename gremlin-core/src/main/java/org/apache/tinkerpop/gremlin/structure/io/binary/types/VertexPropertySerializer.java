@@ -51,6 +51,15 @@ public class VertexPropertySerializer extends SimpleTypeSerializer<VertexPropert
         return v;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skip(buffer);
+        context.skipValue(buffer, String.class, false);
+        context.skip(buffer);
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final VertexProperty value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.id(), buffer);
@@ -46,6 +46,13 @@ public class VertexSerializer extends SimpleTypeSerializer<Vertex> {
         return v;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skip(buffer);
+        context.skipValue(buffer, String.class, false);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final Vertex value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.id(), buffer);
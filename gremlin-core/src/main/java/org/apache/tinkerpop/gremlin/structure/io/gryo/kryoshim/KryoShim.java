@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim;
 
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.util.function.Consumer;
+
 /**
  * A minimal {@link Kryo}-like abstraction.  See that class for method documentation.
  *
@@ -39,4 +41,39 @@ public interface KryoShim<I extends InputShim, O extends OutputShim> {
     public <T> T readObjectOrNull(final I input, final Class<T> type);
 
     public void writeObjectOrNull(final O output, final Object object, final Class type);
+
+    /**
+     * Determines if this shim writes blocks that can be skipped with {@link #skipBlock(InputShim)}. Serializers fall
+     * back to the formats they wrote before blocks existed for a shim that does not, which is the default.
+     */
+    public default boolean supportsBlocks() {
+        return false;
+    }
+
+    /**
+     * Writes whatever the {@code block} writes prefixed by its length in bytes so that a reader may pass over it with
+     * {@link #skipBlock(InputShim)} rather than deserialize it. Objects within the block are written without
+     * references so that skipping it does not shift the references of the objects that follow. Classes that are
+     * not registered should not be first written within a block as their names would be skipped with it. By default,
+     * the block is written in place without its length, which {@link #supportsBlocks()} reports.
+     */
+    public default void writeBlock(final O output, final Consumer<O> block) {
+        block.accept(output);
+    }
+
+    /**
+     * Reads a block written by {@link #writeBlock(OutputShim, Consumer)}. By default, the block is read in place as
+     * the default {@link #writeBlock(OutputShim, Consumer)} writes it.
+     */
+    public default void readBlock(final I input, final Consumer<I> block) {
+        block.accept(input);
+    }
+
+    /**
+     * Passes over a block written by {@link #writeBlock(OutputShim, Consumer)} without deserializing it. By default,
+     * blocks are not supported and this throws an {@code UnsupportedOperationException}.
+     */
+    public default void skipBlock(final I input) {
+        throw new UnsupportedOperationException(String.format("%s does not support blocks", getClass().getName()));
+    }
 }
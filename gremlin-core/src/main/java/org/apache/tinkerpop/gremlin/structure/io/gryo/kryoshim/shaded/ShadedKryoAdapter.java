@@ -20,9 +20,15 @@ package org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.shaded;
 
 import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.util.function.Consumer;
 
 public class ShadedKryoAdapter implements KryoShim<ShadedInputAdapter, ShadedOutputAdapter> {
 
+    private static final int BLOCK_BUFFER_SIZE = 256;
+
     private final Kryo shadedKryo;
 
     public ShadedKryoAdapter(final Kryo shadedKryo) {
@@ -58,4 +64,41 @@ public class ShadedKryoAdapter implements KryoShim<ShadedInputAdapter, ShadedOut
     public void writeObjectOrNull(final ShadedOutputAdapter output, final Object object, final Class type) {
         shadedKryo.writeObjectOrNull(output.getShadedOutput(), object, type);
     }
+
+    @Override
+    public boolean supportsBlocks() {
+        return true;
+    }
+
+    @Override
+    public void writeBlock(final ShadedOutputAdapter output, final Consumer<ShadedOutputAdapter> block) {
+        final Output blockOutput = new Output(BLOCK_BUFFER_SIZE, -1);
+        final boolean references = shadedKryo.getReferences();
+        shadedKryo.setReferences(false);
+        try {
+            block.accept(new ShadedOutputAdapter(blockOutput));
+        } finally {
+            shadedKryo.setReferences(references);
+        }
+        output.getShadedOutput().writeVarInt(blockOutput.position(), true);
+        output.getShadedOutput().writeBytes(blockOutput.getBuffer(), 0, blockOutput.position());
+    }
+
+    @Override
+    public void readBlock(final ShadedInputAdapter input, final Consumer<ShadedInputAdapter> block) {
+        input.getShadedInput().readVarInt(true);
+        final boolean references = shadedKryo.getReferences();
+        shadedKryo.setReferences(false);
+        try {
+            block.accept(input);
+        } finally {
+            shadedKryo.setReferences(references);
+        }
+    }
+
+    @Override
+    public void skipBlock(final ShadedInputAdapter input) {
+        final Input shadedInput = input.getShadedInput();
+        shadedInput.skip(shadedInput.readVarInt(true));
+    }
 }
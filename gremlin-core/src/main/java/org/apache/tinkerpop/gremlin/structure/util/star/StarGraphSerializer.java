@@ -38,6 +38,11 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.SerializerShim;
  * the correct deserialization mechanism.  The limitation is that this versioning won't help with backward
  * compatibility for custom serializers from providers.  Providers should be encouraged to write their serializers
  * with backward compatibility in mind.
+ * <p/>
+ * Version 2 writes the vertex properties ahead of the edges and writes the edges of each label, along with their
+ * properties, as a length-prefixed block. When reading with a {@link GraphFilter}, the edges of a vertex that the
+ * vertex filter rejects and the edges whose label the edge filter rejects are skipped without being deserialized.
+ * Version 1 is still written with a {@link KryoShim} that does not {@link KryoShim#supportsBlocks() support blocks}.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -48,6 +53,7 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
     private GraphFilter graphFilter;
 
     private final static byte VERSION_1 = Byte.MIN_VALUE;
+    private final static byte VERSION_2 = Byte.MIN_VALUE + 1;
 
     public StarGraphSerializer(final Direction edgeDirectionToSerialize, final GraphFilter graphFilter) {
         this.edgeDirectionToSerialize = edgeDirectionToSerialize;
@@ -56,13 +62,14 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
 
     @Override
     public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph) {
-        output.writeByte(VERSION_1);
-        kryo.writeObjectOrNull(output, starGraph.edgeProperties, HashMap.class);
-        kryo.writeObjectOrNull(output, starGraph.metaProperties, HashMap.class);
+        if (!kryo.supportsBlocks()) {
+            writeVersion1(kryo, output, starGraph);
+            return;
+        }
+
+        output.writeByte(VERSION_2);
         kryo.writeClassAndObject(output, starGraph.starVertex.id);
         kryo.writeObject(output, starGraph.starVertex.label);
-        writeEdges(kryo, output, starGraph, Direction.IN);
-        writeEdges(kryo, output, starGraph, Direction.OUT);
         kryo.writeObject(output, null != starGraph.starVertex.vertexProperties);
         if (null != starGraph.starVertex.vertexProperties) {
             kryo.writeObject(output, starGraph.starVertex.vertexProperties.size());
@@ -72,9 +79,12 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
                 for (final VertexProperty vertexProperty : vertexProperties.getValue()) {
                     kryo.writeClassAndObject(output, vertexProperty.id());
                     kryo.writeClassAndObject(output, vertexProperty.value());
+                    kryo.writeObjectOrNull(output, null == starGraph.metaProperties ? null : starGraph.metaProperties.get(vertexProperty.id()), HashMap.class);
                 }
             }
         }
+        writeEdges(kryo, output, starGraph, Direction.IN);
+        writeEdges(kryo, output, starGraph, Direction.OUT);
     }
 
     /**
@@ -82,13 +92,73 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
      */
     @Override
     public <I extends InputShim> StarGraph read(final KryoShim<I, ?> kryo, final I input, final Class<StarGraph> clazz) {
+        final byte version = input.readByte();
+        if (VERSION_1 == version)
+            return readVersion1(kryo, input);
+        if (!kryo.supportsBlocks())
+            throw new IllegalStateException(String.format(
+                    "The StarGraph was written with edge blocks which %s does not support", kryo.getClass().getName()));
+
         final StarGraph starGraph = StarGraph.open();
-        input.readByte();  // version field ignored for now - for future use with backward compatibility
-        starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
-        starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
         starGraph.addVertex(T.id, kryo.readClassAndObject(input), T.label, kryo.readObject(input, String.class));
+        if (kryo.readObject(input, Boolean.class)) {
+            final int numberOfUniqueKeys = kryo.readObject(input, Integer.class);
+            for (int i = 0; i < numberOfUniqueKeys; i++) {
+                final String vertexPropertyKey = kryo.readObject(input, String.class);
+                final int numberOfVertexPropertiesWithKey = kryo.readObject(input, Integer.class);
+                for (int j = 0; j < numberOfVertexPropertiesWithKey; j++) {
+                    final Object id = kryo.readClassAndObject(input);
+                    final Object value = kryo.readClassAndObject(input);
+                    starGraph.starVertex.property(VertexProperty.Cardinality.list, vertexPropertyKey, value, T.id, id);
+                    final HashMap<String, Object> metaProperties = kryo.readObjectOrNull(input, HashMap.class);
+                    if (null != metaProperties) {
+                        if (null == starGraph.metaProperties)
+                            starGraph.metaProperties = new HashMap<>();
+                        starGraph.metaProperties.put(id, metaProperties);
+                    }
+                }
+            }
+        }
+        // the vertex filter may only access the vertex and its properties so the edges need not be read to apply it
+        if (this.graphFilter.hasVertexFilter() && !this.graphFilter.legalVertex(starGraph.starVertex)) {
+            skipEdges(kryo, input);
+            skipEdges(kryo, input);
+            return null;
+        }
         readEdges(kryo, input, starGraph, Direction.IN);
         readEdges(kryo, input, starGraph, Direction.OUT);
+        return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter).orElse(null) : starGraph;
+    }
+
+    private <O extends OutputShim> void writeVersion1(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph) {
+        output.writeByte(VERSION_1);
+        kryo.writeObjectOrNull(output, starGraph.edgeProperties, HashMap.class);
+        kryo.writeObjectOrNull(output, starGraph.metaProperties, HashMap.class);
+        kryo.writeClassAndObject(output, starGraph.starVertex.id);
+        kryo.writeObject(output, starGraph.starVertex.label);
+        writeEdgesVersion1(kryo, output, starGraph, Direction.IN);
+        writeEdgesVersion1(kryo, output, starGraph, Direction.OUT);
+        kryo.writeObject(output, null != starGraph.starVertex.vertexProperties);
+        if (null != starGraph.starVertex.vertexProperties) {
+            kryo.writeObject(output, starGraph.starVertex.vertexProperties.size());
+            for (final Map.Entry<String, List<VertexProperty>> vertexProperties : starGraph.starVertex.vertexProperties.entrySet()) {
+                kryo.writeObject(output, vertexProperties.getKey());
+                kryo.writeObject(output, vertexProperties.getValue().size());
+                for (final VertexProperty vertexProperty : vertexProperties.getValue()) {
+                    kryo.writeClassAndObject(output, vertexProperty.id());
+                    kryo.writeClassAndObject(output, vertexProperty.value());
+                }
+            }
+        }
+    }
+
+    private <I extends InputShim> StarGraph readVersion1(final KryoShim<I, ?> kryo, final I input) {
+        final StarGraph starGraph = StarGraph.open();
+        starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
+        starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
+        starGraph.addVertex(T.id, kryo.readClassAndObject(input), T.label, kryo.readObject(input, String.class));
+        readEdgesVersion1(kryo, input, starGraph, Direction.IN);
+        readEdgesVersion1(kryo, input, starGraph, Direction.OUT);
         if (kryo.readObject(input, Boolean.class)) {
             final int numberOfUniqueKeys = kryo.readObject(input, Integer.class);
             for (int i = 0; i < numberOfUniqueKeys; i++) {
@@ -107,6 +177,67 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
     private <O extends OutputShim> void writeEdges(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph, final Direction direction) {
         // only write edges if there are some AND if the user requested them to be serialized AND if they match
         // the direction being serialized by the format
+        final Map<String, List<Edge>> starEdges = direction.equals(Direction.OUT) ? starGraph.starVertex.outEdges : starGraph.starVertex.inEdges;
+        final boolean writeEdges = null != starEdges && edgeDirectionToSerialize != null
+                && (edgeDirectionToSerialize == direction || edgeDirectionToSerialize == Direction.BOTH);
+        kryo.writeObject(output, writeEdges);
+        if (writeEdges) {
+            kryo.writeObject(output, starEdges.size());
+            for (final Map.Entry<String, List<Edge>> edges : starEdges.entrySet()) {
+                kryo.writeObject(output, edges.getKey());
+                kryo.writeBlock(output, block -> {
+                    kryo.writeObject(block, edges.getValue().size());
+                    for (final Edge edge : edges.getValue()) {
+                        kryo.writeClassAndObject(block, edge.id());
+                        kryo.writeClassAndObject(block, direction.equals(Direction.OUT) ? edge.inVertex().id() : edge.outVertex().id());
+                        kryo.writeObjectOrNull(block, null == starGraph.edgeProperties ? null : starGraph.edgeProperties.get(edge.id()), HashMap.class);
+                    }
+                });
+            }
+        }
+    }
+
+    private <I extends InputShim> void readEdges(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph, final Direction direction) {
+        if (kryo.readObject(input, Boolean.class)) {
+            final int numberOfUniqueLabels = kryo.readObject(input, Integer.class);
+            for (int i = 0; i < numberOfUniqueLabels; i++) {
+                final String edgeLabel = kryo.readObject(input, String.class);
+                if (this.graphFilter.checkEdgeLegality(direction, edgeLabel).negative()) {
+                    kryo.skipBlock(input);
+                    continue;
+                }
+                kryo.readBlock(input, block -> {
+                    final int numberOfEdgesWithLabel = kryo.readObject(block, Integer.class);
+                    for (int j = 0; j < numberOfEdgesWithLabel; j++) {
+                        final Object edgeId = kryo.readClassAndObject(block);
+                        final Object adjacentVertexId = kryo.readClassAndObject(block);
+                        final HashMap<String, Object> edgeProperties = kryo.readObjectOrNull(block, HashMap.class);
+                        if (direction.equals(Direction.OUT))
+                            starGraph.starVertex.addOutEdge(edgeLabel, starGraph.addVertex(T.id, adjacentVertexId), T.id, edgeId);
+                        else
+                            starGraph.starVertex.addInEdge(edgeLabel, starGraph.addVertex(T.id, adjacentVertexId), T.id, edgeId);
+                        if (null != edgeProperties) {
+                            if (null == starGraph.edgeProperties)
+                                starGraph.edgeProperties = new HashMap<>();
+                            starGraph.edgeProperties.put(edgeId, edgeProperties);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private <I extends InputShim> void skipEdges(final KryoShim<I, ?> kryo, final I input) {
+        if (kryo.readObject(input, Boolean.class)) {
+            final int numberOfUniqueLabels = kryo.readObject(input, Integer.class);
+            for (int i = 0; i < numberOfUniqueLabels; i++) {
+                kryo.readObject(input, String.class);
+                kryo.skipBlock(input);
+            }
+        }
+    }
+
+    private <O extends OutputShim> void writeEdgesVersion1(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph, final Direction direction) {
         final Map<String, List<Edge>> starEdges = direction.equals(Direction.OUT) ? starGraph.starVertex.outEdges : starGraph.starVertex.inEdges;
         final boolean writeEdges = null != starEdges && edgeDirectionToSerialize != null
                 && (edgeDirectionToSerialize == direction || edgeDirectionToSerialize == Direction.BOTH);
@@ -124,7 +255,7 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
         }
     }
 
-    private <I extends InputShim> void readEdges(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph, final Direction direction) {
+    private <I extends InputShim> void readEdgesVersion1(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph, final Direction direction) {
         if (kryo.readObject(input, Boolean.class)) {
             final int numberOfUniqueLabels = kryo.readObject(input, Integer.class);
             for (int i = 0; i < numberOfUniqueLabels; i++) {
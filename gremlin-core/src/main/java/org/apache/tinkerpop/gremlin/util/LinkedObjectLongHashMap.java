@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * An insertion-ordered map from objects to primitive {@code long} values that is backed by open addressing rather than
+ * by an entry object per key, which makes it considerably cheaper than a {@code LinkedHashMap<K,Long>} for the
+ * barrier collections of a traversal. Keys are kept densely in insertion order and an open-addressed table of
+ * positions into that order is used to find them, so removing the first key (as a queue does) is constant time.
+ * <p/>
+ * The {@code long} values are only allocated once a value is written, so the map may also be used as an ordered set
+ * that can hand back the instance it holds for an equal key. This class is not thread-safe.
+ *
+ * @author agent
+ */
+public final class LinkedObjectLongHashMap<K> implements Serializable {
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object REMOVED = new Object();
+    private static final int MIN_CAPACITY = 4;
+
+    /**
+     * The keys in insertion order where removed keys are left behind as {@link #REMOVED} until the next rebuild.
+     */
+    private transient Object[] keys;
+    private transient long[] values;
+
+    /**
+     * Positions in {@link #keys} plus one, where {@code 0} marks a free slot and {@code -1} a slot whose key was
+     * removed and which must be probed past.
+     */
+    private transient int[] table;
+    private transient int head;
+    private transient int end;
+    private transient int size;
+    private transient int modCount;
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public boolean containsKey(final Object key) {
+        return this.indexOf(mask(key)) >= 0;
+    }
+
+    /**
+     * Gets the key held by the map that is equal to the specified one or {@code null} if there is no such key.
+     */
+    public K getKey(final Object key) {
+        final int index = this.indexOf(mask(key));
+        return index < 0 ? null : unmask(this.keys[index]);
+    }
+
+    public long get(final Object key, final long defaultValue) {
+        final int index = this.indexOf(mask(key));
+        return index < 0 ? defaultValue : null == this.values ? 0L : this.values[index];
+    }
+
+    /**
+     * Adds the key with a value of {@code 0} if it is not already present.
+     *
+     * @return {@code true} if the key was added
+     */
+    public boolean add(final K key) {
+        return this.insert(mask(key)) < 0;
+    }
+
+    /**
+     * Adds the delta to the value of the key, adding the key with the delta as its value if it is not present.
+     *
+     * @return {@code true} if the key was added
+     */
+    public boolean addTo(final K key, final long delta) {
+        final int index = this.insert(mask(key));
+        if (null == this.values) this.values = new long[this.keys.length];
+        if (index < 0) {
+            this.values[-index - 1] = delta;
+            return true;
+        } else {
+            this.values[index] = this.values[index] + delta;
+            return false;
+        }
+    }
+
+    public void put(final K key, final long value) {
+        final int index = this.insert(mask(key));
+        if (null == this.values) this.values = new long[this.keys.length];
+        this.values[index < 0 ? -index - 1 : index] = value;
+    }
+
+    public boolean remove(final Object key) {
+        if (null == this.table) return false;
+        final Object k = mask(key);
+        final int mask = this.table.length - 1;
+        int slot = hash(k) & mask;
+        int position;
+        while ((position = this.table[slot]) != 0) {
+            if (position > 0 && k.equals(this.keys[position - 1])) {
+                this.removeAt(position - 1, slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the oldest key of the map.
+     *
+     * @throws NoSuchElementException if the map is empty
+     */
+    public K firstKey() {
+        if (0 == this.size) throw new NoSuchElementException();
+        this.skipRemoved();
+        return unmask(this.keys[this.head]);
+    }
+
+    /**
+     * Removes the oldest key of the map and returns it.
+     *
+     * @throws NoSuchElementException if the map is empty
+     */
+    public K removeFirst() {
+        final K key = this.firstKey();
+        this.removeAt(this.head, this.slotOf(this.head));
+        return key;
+    }
+
+    public void clear() {
+        this.keys = null;
+        this.values = null;
+        this.table = null;
+        this.head = 0;
+        this.end = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    public long sumOfValues() {
+        long sum = 0L;
+        if (null != this.values) {
+            for (int i = this.head; i < this.end; i++) {
+                if (this.keys[i] != REMOVED)
+                    sum = sum + this.values[i];
+            }
+        }
+        return sum;
+    }
+
+    public void forEach(final ObjLongConsumer<? super K> consumer) {
+        final int expectedModCount = this.modCount;
+        for (int i = this.head; i < this.end; i++) {
+            if (this.keys[i] != REMOVED)
+                consumer.accept(unmask(this.keys[i]), null == this.values ? 0L : this.values[i]);
+            if (expectedModCount != this.modCount) throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Iterates the keys in insertion order. The iterator supports {@code remove()}.
+     */
+    public Iterator<K> keyIterator() {
+        return new Iterator<K>() {
+            private int next = head;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                while (this.next < end && keys[this.next] == REMOVED) {
+                    this.next++;
+                }
+                return this.next < end;
+            }
+
+            @Override
+            public K next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (!this.hasNext()) throw new NoSuchElementException();
+                this.last = this.next++;
+                return unmask(keys[this.last]);
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(this.last, slotOf(this.last));
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Gets an unmodifiable {@code Map} view of this map where the values are boxed as they are read.
+     */
+    public Map<K, Long> asMap() {
+        return new AbstractMap<K, Long>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean containsKey(final Object key) {
+                return LinkedObjectLongHashMap.this.containsKey(key);
+            }
+
+            @Override
+            public Long get(final Object key) {
+                final int index = indexOf(mask(key));
+                return index < 0 ? null : null == values ? 0L : values[index];
+            }
+
+            @Override
+            public Set<Entry<K, Long>> entrySet() {
+                return new AbstractSet<Entry<K, Long>>() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public Iterator<Entry<K, Long>> iterator() {
+                        final Iterator<K> keyIterator = keyIterator();
+                        return new Iterator<Entry<K, Long>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return keyIterator.hasNext();
+                            }
+
+                            @Override
+                            public Entry<K, Long> next() {
+                                final K key = keyIterator.next();
+                                return new SimpleImmutableEntry<>(key, get(key));
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    private int indexOf(final Object k) {
+        if (null == this.table) return -1;
+        final int mask = this.table.length - 1;
+        int slot = hash(k) & mask;
+        int position;
+        while ((position = this.table[slot]) != 0) {
+            if (position > 0 && k.equals(this.keys[position - 1]))
+                return position - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the key or appends it.
+     *
+     * @return the position of the key if it was present and {@code -(position + 1)} if it was added
+     */
+    private int insert(final Object k) {
+        if (null == this.keys)
+            this.rebuild(MIN_CAPACITY);
+        else if (this.end == this.keys.length)
+            this.rebuild(this.size < this.keys.length / 2 ? this.keys.length : this.keys.length * 2);
+
+        final int mask = this.table.length - 1;
+        int slot = hash(k) & mask;
+        int free = -1;
+        int position;
+        while ((position = this.table[slot]) != 0) {
+            if (position > 0) {
+                if (k.equals(this.keys[position - 1]))
+                    return position - 1;
+            } else if (free < 0) {
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        final int index = this.end++;
+        this.keys[index] = k;
+        this.table[free < 0 ? slot : free] = index + 1;
+        this.size++;
+        this.modCount++;
+        return -index - 1;
+    }
+
+    private int slotOf(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = hash(this.keys[index]) & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeAt(final int index, final int slot) {
+        this.table[slot] = -1;
+        this.keys[index] = REMOVED;
+        if (null != this.values) this.values[index] = 0L;
+        this.size--;
+        this.modCount++;
+        if (index == this.head) this.skipRemoved();
+    }
+
+    private void skipRemoved() {
+        while (this.head < this.end && this.keys[this.head] == REMOVED) {
+            this.head++;
+        }
+    }
+
+    /**
+     * Compacts the live keys to the front of arrays of the specified capacity and rebuilds the table, which is kept
+     * at least twice that capacity so that probing always finds a free slot.
+     */
+    private void rebuild(final int capacity) {
+        final Object[] newKeys = new Object[capacity];
+        final long[] newValues = null == this.values ? null : new long[capacity];
+        final int[] newTable = new int[Integer.highestOneBit(capacity * 4 - 1)];
+        final int mask = newTable.length - 1;
+        int index = 0;
+        for (int i = this.head; i < this.end; i++) {
+            final Object k = this.keys[i];
+            if (k == REMOVED) continue;
+            newKeys[index] = k;
+            if (null != newValues) newValues[index] = this.values[i];
+            int slot = hash(k) & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = ++index;
+        }
+        this.keys = newKeys;
+        this.values = newValues;
+        this.table = newTable;
+        this.head = 0;
+        this.end = index;
+    }
+
+    private static int hash(final Object k) {
+        final int h = k.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object mask(final Object key) {
+        return null == key ? NULL_KEY : key;
+    }
+
+    private static <K> K unmask(final Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+        out.writeBoolean(null != this.values);
+        for (int i = this.head; i < this.end; i++) {
+            if (this.keys[i] == REMOVED) continue;
+            out.writeObject(unmask(this.keys[i]));
+            if (null != this.values) out.writeLong(this.values[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int size = in.readInt();
+        final boolean hasValues = in.readBoolean();
+        for (int i = 0; i < size; i++) {
+            final K key = (K) in.readObject();
+            if (hasValues)
+                this.put(key, in.readLong());
+            else
+                this.add(key);
+        }
+    }
+}
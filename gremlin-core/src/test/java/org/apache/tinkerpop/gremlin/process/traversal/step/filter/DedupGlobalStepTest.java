@@ -20,10 +20,21 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -37,4 +48,47 @@ public class DedupGlobalStepTest extends StepTest {
                 __.dedup().by("name")
         );
     }
+
+    @Test
+    public void shouldSpillPartitionsAndDeduplicateThem() throws Exception {
+        final File directory = Files.createTempDirectory("spill").toFile();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().
+                with(SpillFile.SPILL_THRESHOLD, 50).
+                with(SpillFile.SPILL_DIRECTORY, directory.getAbsolutePath());
+        final Random random = new Random(123456789l);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(random.nextInt(1000));
+        }
+
+        final List<Object> deduped = g.inject(list).unfold().dedup().toList();
+        assertEquals(new HashSet<>(list).size(), deduped.size());
+        assertEquals(new HashSet<>(list), new HashSet<>(deduped));
+        assertEquals(100, g.inject(list).unfold().dedup().by(__.math("_ % 100")).toList().size());
+        assertEquals(0, directory.list().length);
+        directory.delete();
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesOnceExhausted() throws Exception {
+        final File directory = Files.createTempDirectory("spill").toFile();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().
+                with(SpillFile.SPILL_THRESHOLD, 50).
+                with(SpillFile.SPILL_DIRECTORY, directory.getAbsolutePath());
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 500);
+        }
+
+        final Traversal<?, Object> traversal = g.inject(list).unfold().dedup();
+        int count = 0;
+        while (traversal.hasNext()) {
+            traversal.next();
+            count++;
+        }
+        assertEquals(500, count);
+        assertEquals(0, directory.list().length);
+        traversal.close();
+        directory.delete();
+    }
 }
@@ -30,13 +30,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
@@ -396,6 +401,67 @@ public class MatchStepTest extends StepTest {
         traverser.addLabels(Collections.singleton("d"));
     }
 
+    @Test
+    public void testCostMatchAlgorithm() {
+        final Graph.Statistics statistics = new Graph.Statistics() {
+            @Override
+            public long count(final Class<? extends Element> elementClass, final String label) {
+                return null == label ? 100 : label.equals("person") ? 90 : 10;
+            }
+
+            @Override
+            public double averageDegree(final String edgeLabel, final Direction direction) {
+                return edgeLabel.equals("knows") ? 5.0d : 0.5d;
+            }
+
+            @Override
+            public Optional<Long> count(final Class<? extends Element> elementClass, final String key, final Object value) {
+                return key.equals("name") ? Optional.of(1L) : Optional.empty();
+            }
+        };
+        final Graph graph = Mockito.mock(Graph.class);
+        Mockito.when(graph.statistics()).thenReturn(Optional.of(statistics));
+
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").out("knows").as("b"),
+                as("a").out("created").as("c"),
+                as("a").has("name", "marko")).asAdmin();
+        traversal.setGraph(graph);
+        final Traversal.Admin<Object, Object> firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        final Traversal.Admin<Object, Object> secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        final Traversal.Admin<Object, Object> thirdPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(2);
+        assertEquals(5.0d, MatchStep.CostMatchAlgorithm.estimateMultiplicity(firstPattern, statistics), 0.001d);
+        assertEquals(0.5d, MatchStep.CostMatchAlgorithm.estimateMultiplicity(secondPattern, statistics), 0.001d);
+        assertEquals(0.01d, MatchStep.CostMatchAlgorithm.estimateMultiplicity(thirdPattern, statistics), 0.001d);
+        assertEquals(5.0d / 30.0d, MatchStep.CostMatchAlgorithm.estimateMultiplicity(
+                as("a").out("knows").has("age", P.gt(30)).has(T.label, "software").as("b").asAdmin(), statistics), 0.001d);
+
+        // THE MOST SELECTIVE PATTERNS GO FIRST BEFORE ANY RESULTS ARE RETURNED
+        final MatchStep.CostMatchAlgorithm costMatchAlgorithm = new MatchStep.CostMatchAlgorithm();
+        costMatchAlgorithm.initialize(false, ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren());
+        assertEquals(thirdPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(2).traversal);
+
+        // OBSERVED COUNTS REPLACE THE ESTIMATES
+        costMatchAlgorithm.recordStart(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        assertEquals(6.0d, costMatchAlgorithm.getBundle(secondPattern).multiplicity, 0.001d);
+        assertEquals(thirdPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(2).traversal);
+
+        // WITHOUT STATISTICS THE PATTERNS KEEP THEIR ORDER
+        final MatchStep.CostMatchAlgorithm blindMatchAlgorithm = new MatchStep.CostMatchAlgorithm();
+        blindMatchAlgorithm.initialize(false, ((MatchStep<?, ?>) __.match(as("a").out("knows").as("b"), as("a").has("name", "marko")).asAdmin().getStartStep()).getGlobalChildren());
+        blindMatchAlgorithm.bundles.forEach(bundle -> assertEquals(0.0d, bundle.multiplicity, 0.0d));
+    }
+
     @Test
     public void shouldCalculateStartLabelCorrectly() {
         Traversal.Admin<?, ?> traversal = match(
@@ -21,14 +21,22 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +72,47 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldSpillSortedRunsAndMergeThem() throws Exception {
+        final File directory = Files.createTempDirectory("spill").toFile();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().
+                with(SpillFile.SPILL_THRESHOLD, 100).
+                with(SpillFile.SPILL_DIRECTORY, directory.getAbsolutePath());
+        final Random random = new Random(123456789l);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            list.add(random.nextInt(1000));
+        }
+        final List<Integer> expected = new ArrayList<>(list);
+        Collections.sort(expected, Collections.reverseOrder());
+
+        assertEquals(expected, g.inject(list).unfold().order().by(Order.desc).toList());
+        assertEquals(expected.size(), g.inject(list).unfold().order().by(Order.desc).count().next().intValue());
+        assertEquals(0, directory.list().length);
+        directory.delete();
+    }
+
+    @Test
+    public void shouldMergeManyRunsInPassesAndDeleteThem() throws Exception {
+        final File directory = Files.createTempDirectory("spill").toFile();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().
+                with(SpillFile.SPILL_THRESHOLD, 10).
+                with(SpillFile.SPILL_DIRECTORY, directory.getAbsolutePath());
+        final Random random = new Random(123456789l);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            list.add(random.nextInt(1000));
+        }
+        final List<Integer> expected = new ArrayList<>(list);
+        Collections.sort(expected);
+
+        assertEquals(expected, g.inject(list).unfold().order().toList());
+        assertEquals(0, directory.list().length);
+
+        // the runs of the child are only released when the traversal is closed
+        assertEquals(expected.subList(0, 5), g.inject(list).local(__.unfold().order().limit(5)).toList());
+        assertEquals(0, directory.list().length);
+        directory.delete();
+    }
 }
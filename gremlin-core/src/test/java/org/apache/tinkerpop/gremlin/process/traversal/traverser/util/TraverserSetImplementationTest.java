@@ -43,6 +43,7 @@ public class TraverserSetImplementationTest {
     public static Iterable<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {TraverserSet.class.getSimpleName(), (Supplier) TraverserSet::new},
+                {SynchronizedTraverserSet.class.getSimpleName(), (Supplier) SynchronizedTraverserSet::new},
                 {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))}});
     }
 
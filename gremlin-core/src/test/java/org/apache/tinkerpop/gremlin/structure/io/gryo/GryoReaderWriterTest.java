@@ -18,18 +18,37 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.gryo;
 
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.shaded.ShadedInputAdapter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.shaded.ShadedKryoAdapter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.shaded.ShadedOutputAdapter;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraphSerializer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -100,4 +119,114 @@ public class GryoReaderWriterTest {
         assertTrue(assertProcess2.get());
         assertTrue(assertProcess3.get());
     }
+
+    @Test
+    public void shouldSkipEdgesAndVerticesThatAreNotLegalForTheGraphFilter() throws Exception {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex marko = starGraph.addVertex(T.id, 1, T.label, "person", "name", "marko");
+        marko.property("location", "santa fe", "startTime", 2005);
+        marko.addEdge("knows", starGraph.addVertex(T.id, 2), T.id, 7, "weight", 0.5d);
+        marko.addEdge("created", starGraph.addVertex(T.id, 3), T.id, 9, "weight", 0.4d);
+        marko.addEdge("uses", starGraph.addVertex(T.id, 10), T.id, 13, "skill", 4);
+        marko.addEdge("knows", starGraph.addVertex(T.id, 4), T.id, 8, "weight", 1.0d);
+        starGraph.addVertex(T.id, 6).addEdge("knows", marko, T.id, 14, "weight", 0.2d);
+        starGraph.addVertex(T.id, 5).addEdge("created", marko, T.id, 15, "weight", 0.1d);
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        GryoWriter.build().create().writeVertex(os, marko, Direction.BOTH);
+        final byte[] bytes = os.toByteArray();
+        final GryoReader reader = GryoReader.build().create();
+
+        final GraphFilter outKnows = new GraphFilter();
+        outKnows.setEdgeFilter(__.outE("knows"));
+        final Vertex vertex = reader.readVertex(new ByteArrayInputStream(bytes), outKnows).get();
+        assertEquals("marko", vertex.value("name"));
+        assertEquals(2005, (int) vertex.property("location").value("startTime"));
+        assertFalse(vertex.edges(Direction.IN).hasNext());
+        final List<Edge> edges = IteratorUtils.list(vertex.edges(Direction.OUT));
+        assertEquals(2, edges.size());
+        for (final Edge edge : edges) {
+            assertEquals("knows", edge.label());
+            assertEquals(7 == (int) edge.id() ? 0.5d : 1.0d, edge.value("weight"), 0.0d);
+        }
+
+        final GraphFilter bothWeighted = new GraphFilter();
+        bothWeighted.setEdgeFilter(__.bothE("knows", "created"));
+        final Vertex weighted = reader.readVertex(new ByteArrayInputStream(bytes), bothWeighted).get();
+        assertEquals(5, IteratorUtils.count(weighted.edges(Direction.BOTH)));
+        weighted.edges(Direction.BOTH).forEachRemaining(edge -> assertTrue(edge.property("weight").isPresent()));
+
+        final GraphFilter software = new GraphFilter();
+        software.setVertexFilter(__.hasLabel("software"));
+        final Optional<Vertex> filtered = reader.readVertex(new ByteArrayInputStream(bytes), software);
+        assertFalse(filtered.isPresent());
+
+        final Vertex all = reader.readVertex(new ByteArrayInputStream(bytes), new GraphFilter()).get();
+        assertEquals(4, IteratorUtils.count(all.edges(Direction.OUT)));
+        assertEquals(2, IteratorUtils.count(all.edges(Direction.IN)));
+        assertEquals(4, (int) all.edges(Direction.OUT, "uses").next().value("skill"));
+    }
+
+    @Test
+    public void shouldWriteStarGraphVersion1WithKryoShimThatDoesNotSupportBlocks() {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex marko = starGraph.addVertex(T.id, 1, T.label, "person", "name", "marko");
+        marko.addEdge("knows", starGraph.addVertex(T.id, 2), T.id, 7, "weight", 0.5d);
+        starGraph.addVertex(T.id, 6).addEdge("created", marko, T.id, 14, "weight", 0.2d);
+
+        final ShadedKryoAdapter blocks = new ShadedKryoAdapter(GryoMapper.build().create().createMapper());
+        final KryoShim<ShadedInputAdapter, ShadedOutputAdapter> noBlocks = new NoBlocksKryoShim(blocks);
+        final StarGraphSerializer serializer = new StarGraphSerializer(Direction.BOTH, new GraphFilter());
+
+        final Output output = new Output(256, -1);
+        serializer.write(noBlocks, new ShadedOutputAdapter(output), starGraph);
+        final byte[] bytes = output.toBytes();
+        assertEquals(Byte.MIN_VALUE, bytes[0]);
+
+        for (final KryoShim<ShadedInputAdapter, ?> kryo : Arrays.asList(noBlocks, blocks)) {
+            final StarGraph read = serializer.read(kryo, new ShadedInputAdapter(new Input(bytes)), StarGraph.class);
+            final Vertex vertex = read.getStarVertex();
+            assertEquals("marko", vertex.value("name"));
+            assertEquals(0.5d, vertex.edges(Direction.OUT, "knows").next().value("weight"), 0.0d);
+            assertEquals(0.2d, vertex.edges(Direction.IN, "created").next().value("weight"), 0.0d);
+        }
+    }
+
+    private static class NoBlocksKryoShim implements KryoShim<ShadedInputAdapter, ShadedOutputAdapter> {
+        private final ShadedKryoAdapter kryo;
+
+        private NoBlocksKryoShim(final ShadedKryoAdapter kryo) {
+            this.kryo = kryo;
+        }
+
+        @Override
+        public <T> T readObject(final ShadedInputAdapter input, final Class<T> type) {
+            return kryo.readObject(input, type);
+        }
+
+        @Override
+        public Object readClassAndObject(final ShadedInputAdapter input) {
+            return kryo.readClassAndObject(input);
+        }
+
+        @Override
+        public void writeObject(final ShadedOutputAdapter output, final Object object) {
+            kryo.writeObject(output, object);
+        }
+
+        @Override
+        public void writeClassAndObject(final ShadedOutputAdapter output, final Object object) {
+            kryo.writeClassAndObject(output, object);
+        }
+
+        @Override
+        public <T> T readObjectOrNull(final ShadedInputAdapter input, final Class<T> type) {
+            return kryo.readObjectOrNull(input, type);
+        }
+
+        @Override
+        public void writeObjectOrNull(final ShadedOutputAdapter output, final Object object, final Class type) {
+            kryo.writeObjectOrNull(output, object, type);
+        }
+    }
 }
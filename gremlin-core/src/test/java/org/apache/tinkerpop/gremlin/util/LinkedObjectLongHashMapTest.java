@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class LinkedObjectLongHashMapTest {
+
+    @Test
+    public void shouldAddAndAccumulateInInsertionOrder() {
+        final LinkedObjectLongHashMap<String> map = new LinkedObjectLongHashMap<>();
+        assertTrue(map.addTo("b", 2));
+        assertTrue(map.addTo("a", 1));
+        assertFalse(map.addTo("b", 3));
+        assertTrue(map.addTo(null, 7));
+
+        assertEquals(3, map.size());
+        assertEquals(5, map.get("b", -1));
+        assertEquals(1, map.get("a", -1));
+        assertEquals(7, map.get(null, -1));
+        assertEquals(-1, map.get("c", -1));
+        assertEquals(13, map.sumOfValues());
+        assertEquals(Arrays.asList("b", "a", null), toList(map.keyIterator()));
+    }
+
+    @Test
+    public void shouldReturnHeldKey() {
+        final LinkedObjectLongHashMap<String> map = new LinkedObjectLongHashMap<>();
+        final String key = new String("key");
+        map.add(key);
+        assertSame(key, map.getKey(new String("key")));
+        assertNull(map.getKey("other"));
+        assertEquals(0, map.get("key", -1));
+    }
+
+    @Test
+    public void shouldRemoveFirstAsQueue() {
+        final LinkedObjectLongHashMap<Integer> map = new LinkedObjectLongHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.add(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.firstKey().intValue());
+            assertEquals(i, map.removeFirst().intValue());
+            map.add(i + 1000);
+        }
+        assertEquals(1000, map.size());
+        assertEquals(1000, map.firstKey().intValue());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldThrowOnRemoveFirstWhenEmpty() {
+        new LinkedObjectLongHashMap<>().removeFirst();
+    }
+
+    @Test
+    public void shouldBehaveLikeLinkedHashMap() {
+        final Random random = new Random(123456789l);
+        final LinkedObjectLongHashMap<Integer> map = new LinkedObjectLongHashMap<>();
+        final Map<Integer, Long> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final Integer key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(null != expected.remove(key), map.remove(key));
+            } else {
+                map.addTo(key, 2);
+                expected.merge(key, 2l, Long::sum);
+            }
+        }
+        assertEquals(expected, map.asMap());
+        assertEquals(new ArrayList<>(expected.keySet()), toList(map.keyIterator()));
+    }
+
+    @Test
+    public void shouldRemoveWithIterator() {
+        final LinkedObjectLongHashMap<Integer> map = new LinkedObjectLongHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        final Iterator<Integer> iterator = map.keyIterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9), toList(map.keyIterator()));
+        assertEquals(25, map.sumOfValues());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void shouldFailFastOnModificationDuringIteration() {
+        final LinkedObjectLongHashMap<Integer> map = new LinkedObjectLongHashMap<>();
+        map.add(1);
+        map.add(2);
+        final Iterator<Integer> iterator = map.keyIterator();
+        iterator.next();
+        map.add(3);
+        iterator.next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotModifyMapView() {
+        final LinkedObjectLongHashMap<String> map = new LinkedObjectLongHashMap<>();
+        map.addTo("a", 1);
+        map.asMap().put("b", 1l);
+    }
+
+    @Test
+    public void shouldSerialize() {
+        final LinkedObjectLongHashMap<String> map = new LinkedObjectLongHashMap<>();
+        map.addTo("a", 1);
+        map.addTo("b", 10);
+        map.remove("a");
+        map.addTo("c", 100);
+        final LinkedObjectLongHashMap<String> copy = SerializationUtils.clone(map);
+        assertEquals(map.asMap(), copy.asMap());
+        assertEquals(Arrays.asList("b", "c"), toList(copy.keyIterator()));
+        assertEquals(Collections.emptyMap(), SerializationUtils.clone(new LinkedObjectLongHashMap<>()).asMap());
+    }
+
+    private static <T> List<T> toList(final Iterator<T> iterator) {
+        final List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -189,6 +190,17 @@ public abstract class Client {
         throw new UnsupportedOperationException("This implementation does not support Traversal submission - use a sessionless Client created with from the alias() method");
     }
 
+    /**
+     * Submits a list of {@link Bytecode} to the server as one {@link Tokens#OPS_BATCH} request, which the server
+     * iterates as a single unit of work. The {@link ResultSet} has one {@link Result} per traversal in the order they
+     * were given, each holding the {@code List} of {@link Traverser} instances that the traversal produced, and the
+     * errors of the traversals that did not succeed in its {@link Tokens#STATUS_ATTRIBUTE_BATCH_ERRORS} status
+     * attribute. The {@link TraversalBatcher} offers a more convenient way to submit batches.
+     */
+    public CompletableFuture<ResultSet> submitBatchAsync(final List<Bytecode> bytecodes, final RequestOptions options) {
+        throw new UnsupportedOperationException("This implementation does not support Traversal submission - use a sessionless Client created with from the alias() method");
+    }
+
     /**
      * Initializes the client which typically means that a connection is established to the server.  Depending on the
      * implementation and configuration this blocking call may take some time.  This method will be called
@@ -345,6 +357,8 @@ public abstract class Client {
         options.getAliases().ifPresent(aliases -> request.addArg(Tokens.ARGS_ALIASES, aliases));
         options.getOverrideRequestId().ifPresent(request::overrideRequestId);
         options.getUserAgent().ifPresent(userAgent -> request.addArg(Tokens.ARGS_USER_AGENT, userAgent));
+        if (options.getTimings()) request.addArg(Tokens.ARGS_TIMINGS, true);
+        addCredits(request, options);
 
         return submitAsync(request.create());
     }
@@ -402,6 +416,15 @@ public abstract class Client {
         return cluster;
     }
 
+    /**
+     * Puts the request under flow control when the {@link RequestOptions} or the {@link Cluster} configuration of
+     * {@link Cluster.Builder#creditsPerRequest(int)} ask for it.
+     */
+    protected void addCredits(final RequestMessage.Builder request, final RequestOptions options) {
+        final int credits = options.getCredits().orElse(cluster.connectionPoolSettings().creditsPerRequest);
+        if (credits > 0) request.add(Tokens.ARGS_CREDITS, credits);
+    }
+
     protected Map<String,String> makeDefaultAliasMap(final String graphOrTraversalSource) {
         final Map<String,String> aliases = new HashMap<>();
         aliases.put("g", graphOrTraversalSource);
@@ -567,6 +590,26 @@ public abstract class Client {
                 options.getTimeout().ifPresent(timeout -> request.add(Tokens.ARGS_EVAL_TIMEOUT, timeout));
                 options.getOverrideRequestId().ifPresent(request::overrideRequestId);
                 options.getUserAgent().ifPresent(userAgent -> request.add(Tokens.ARGS_USER_AGENT, userAgent));
+                if (options.getTimings()) request.add(Tokens.ARGS_TIMINGS, true);
+                addCredits(request, options);
+
+                return submitAsync(request.create());
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public CompletableFuture<ResultSet> submitBatchAsync(final List<Bytecode> bytecodes, final RequestOptions options) {
+            try {
+                final RequestMessage.Builder request = buildMessage(RequestMessage.build(Tokens.OPS_BATCH)
+                                                                                  .processor("traversal")
+                                                                                  .addArg(Tokens.ARGS_GREMLIN, new ArrayList<>(bytecodes)));
+
+                options.getTimeout().ifPresent(timeout -> request.add(Tokens.ARGS_EVAL_TIMEOUT, timeout));
+                options.getOverrideRequestId().ifPresent(request::overrideRequestId);
+                options.getUserAgent().ifPresent(userAgent -> request.add(Tokens.ARGS_USER_AGENT, userAgent));
+                if (options.getTimings()) request.add(Tokens.ARGS_TIMINGS, true);
 
                 return submitAsync(request.create());
             } catch (Exception ex) {
@@ -195,6 +195,7 @@ public final class Cluster {
                 .workerPoolSize(settings.workerPoolSize)
                 .reconnectInterval(settings.connectionPool.reconnectInterval)
                 .resultIterationBatchSize(settings.connectionPool.resultIterationBatchSize)
+                .creditsPerRequest(settings.connectionPool.creditsPerRequest)
                 .channelizer(settings.connectionPool.channelizer)
                 .maxContentLength(settings.connectionPool.maxContentLength)
                 .maxWaitForConnection(settings.connectionPool.maxWaitForConnection)
@@ -386,6 +387,13 @@ public final class Cluster {
         return manager.connectionPoolSettings.resultIterationBatchSize;
     }
 
+    /**
+     * Gets the number of result batches the server may send for a request before the client has to ask for more.
+     */
+    public int getCreditsPerRequest() {
+        return manager.connectionPoolSettings.creditsPerRequest;
+    }
+
     /**
      * Gets the maximum amount of time to wait for a connection to be borrowed from the connection pool.
      */
@@ -561,6 +569,7 @@ public final class Cluster {
         private int maxContentLength = Connection.MAX_CONTENT_LENGTH;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int creditsPerRequest = Connection.CREDITS_PER_REQUEST;
         private long keepAliveInterval = Connection.KEEP_ALIVE_INTERVAL;
         private String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         private boolean enableSsl = false;
@@ -817,6 +826,17 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * The number of result batches the server may send for a request before it waits for the client to take
+         * them from the {@link ResultSet}, which bounds the memory a large result uses on both ends and keeps it from
+         * crowding out the other requests on the same connection. The default of 0 disables this flow control, which
+         * has to be supported by the server.
+         */
+        public Builder creditsPerRequest(final int credits) {
+            this.creditsPerRequest = credits;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -1023,6 +1043,7 @@ public final class Cluster {
             connectionPoolSettings.maxContentLength = builder.maxContentLength;
             connectionPoolSettings.reconnectInterval = builder.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = builder.resultIterationBatchSize;
+            connectionPoolSettings.creditsPerRequest = builder.creditsPerRequest;
             connectionPoolSettings.enableSsl = builder.enableSsl;
             connectionPoolSettings.keyStore = builder.keyStore;
             connectionPoolSettings.keyStorePassword = builder.keyStorePassword;
@@ -1097,6 +1118,9 @@ public final class Cluster {
             if (builder.resultIterationBatchSize < 1)
                 throw new IllegalArgumentException("resultIterationBatchSize must be greater than zero");
 
+            if (builder.creditsPerRequest < 0)
+                throw new IllegalArgumentException("creditsPerRequest must be greater than or equal to zero");
+
             if (builder.nioPoolSize < 1)
                 throw new IllegalArgumentException("nioPoolSize must be greater than zero");
 
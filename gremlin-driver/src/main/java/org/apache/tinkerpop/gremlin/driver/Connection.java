@@ -67,6 +67,7 @@ final class Connection {
 
     public static final int RECONNECT_INTERVAL = 1000;
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    public static final int CREDITS_PER_REQUEST = 0;
     public static final long KEEP_ALIVE_INTERVAL = 180000;
 
     /**
@@ -202,6 +203,7 @@ final class Connection {
         // once there is a completed write, then create a traverser for the result set and complete
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
+        final long sent = System.nanoTime();
 
         final ChannelPromise requestPromise = channel.newPromise()
                 .addListener(f -> {
@@ -216,6 +218,11 @@ final class Connection {
                         final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
 
+                        // the host tracks the requests it is serving and how long they take so that the
+                        // LoadBalancingStrategy can favor the hosts that are responding quickest
+                        pool.host.requestSent();
+                        readCompleted.whenComplete((v, t) -> pool.host.requestCompleted(System.nanoTime() - sent));
+
                         // the callback for when the read was successful, meaning that ResultQueue.markComplete()
                         // was called
                         readCompleted.thenAcceptAsync(v -> {
@@ -238,7 +245,8 @@ final class Connection {
                             return null;
                         });
 
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted,
+                                getCredits(requestMessage), credits -> grant(requestMessage.getRequestId(), credits));
                         pending.put(requestMessage.getRequestId(), handler);
                         cluster.executor().submit(() -> future.complete(
                                 new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
@@ -251,6 +259,25 @@ final class Connection {
         return requestPromise;
     }
 
+    private static int getCredits(final RequestMessage requestMessage) {
+        final Object credits = requestMessage.getArgs().get(Tokens.ARGS_CREDITS);
+        return credits instanceof Number ? Math.max(0, ((Number) credits).intValue()) : 0;
+    }
+
+    /**
+     * Lets the server send more batches of the results of a request under flow control. The grant has a request id of
+     * its own and its answer is not waited on. It is dropped if the channel has closed as the request is then failed
+     * anyway.
+     */
+    private void grant(final UUID requestId, final int credits) {
+        if (!channel.isActive()) return;
+
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_CREDIT)
+                .add(Tokens.ARGS_TARGET_REQUEST_ID, requestId)
+                .add(Tokens.ARGS_CREDITS, credits).create();
+        channel.writeAndFlush(msg);
+    }
+
     private void scheduleKeepAlive() {
         final Connection thisConnection = this;
         // try to keep the connection alive if the channel allows such things - websockets will
@@ -187,8 +187,9 @@ final class ConnectionPool {
             // isn't busy. replace a connection that has a low available in process count which likely means that
             // it's backing up with requests that might never have returned. consider the maxPoolSize in this condition
             // because if it is equal to 1 (which it is for a session) then there is no need to replace the connection
-            // as it will be responsible for every single request. if neither of these scenarios are met then let the
-            // world know the connection is available.
+            // as it will be responsible for every single request. requests under flow control are expected to wait on
+            // the client to consume their results so a connection they back up is not replaced. if neither of these
+            // scenarios are met then let the world know the connection is available.
             final int poolSize = connections.size();
             final int availableInProcess = connection.availableInProcess();
             if (poolSize > minPoolSize && borrowed <= minSimultaneousUsagePerConnection) {
@@ -196,7 +197,7 @@ final class ConnectionPool {
                     logger.debug("On {} pool size of {} > minPoolSize {} and borrowed of {} <= minSimultaneousUsagePerConnection {} so destroy {}",
                             host, poolSize, minPoolSize, borrowed, minSimultaneousUsagePerConnection, connection.getConnectionInfo());
                 destroyConnection(connection);
-            } else if (availableInProcess < minInProcess && maxPoolSize > 1) {
+            } else if (availableInProcess < minInProcess && maxPoolSize > 1 && settings().creditsPerRequest == 0) {
                 if (logger.isDebugEnabled())
                     logger.debug("On {} availableInProcess {} < minInProcess {} so replace {}", host, availableInProcess, minInProcess, connection.getConnectionInfo());
                 replaceConnection(connection);
@@ -219,6 +219,14 @@ final class Handler {
             try {
                 final ResponseStatusCode statusCode = response.getStatus().getCode();
                 final ResultQueue queue = pending.get(response.getRequestId());
+
+                // the answer to a grant of credits is not waited on
+                if (null == queue) {
+                    if (statusCode != ResponseStatusCode.NO_CONTENT)
+                        logger.warn("Received a response with status {} for request {} which is not pending - {}",
+                                statusCode, response.getRequestId(), response.getStatus().getMessage());
+                    return;
+                }
                 if (statusCode == ResponseStatusCode.SUCCESS || statusCode == ResponseStatusCode.PARTIAL_CONTENT) {
                     final Object data = response.getResult().getData();
                     final Map<String,Object> meta = response.getResult().getMeta();
@@ -233,6 +241,9 @@ final class Handler {
                         // since this is not a list it can just be added to the queue
                         queue.add(new Result(response.getResult().getData()));
                     }
+
+                    // a batch ahead of the final one used a credit of a request under flow control
+                    if (statusCode == ResponseStatusCode.PARTIAL_CONTENT) queue.markBatch();
                 } else {
                     // this is a "success" but represents no results otherwise it is an error
                     if (statusCode != ResponseStatusCode.NO_CONTENT) {
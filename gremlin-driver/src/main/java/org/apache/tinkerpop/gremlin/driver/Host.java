@@ -26,6 +26,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -36,12 +37,22 @@ import java.util.function.Function;
  */
 public final class Host {
     private static final Logger logger = LoggerFactory.getLogger(Host.class);
+
+    /**
+     * The time over which the weight of an observed response time decays by a factor of e.
+     */
+    private static final long RESPONSE_TIME_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     private final InetSocketAddress address;
     private final URI hostUri;
     private volatile boolean isAvailable;
     private final Cluster cluster;
     private final String hostLabel;
 
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private double responseTime = 0;
+    private long responseTimeObserved = System.nanoTime();
+
     final AtomicReference<Boolean> retryInProgress = new AtomicReference<>(Boolean.FALSE);
     ScheduledFuture<?> retryThread = null;
 
@@ -64,6 +75,39 @@ public final class Host {
         return isAvailable;
     }
 
+    /**
+     * Gets the number of requests that were sent to this host and have not yet completed.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets an exponentially weighted average of the time in nanoseconds between a request being sent to this host
+     * and its response completing. The average takes the value of any slower response immediately and otherwise
+     * decays over time, so a host that was slow is retried once it has been left alone for a while.
+     */
+    public synchronized double getResponseTime() {
+        observeResponseTime(0);
+        return responseTime;
+    }
+
+    void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    synchronized void requestCompleted(final long nanos) {
+        inFlight.decrementAndGet();
+        observeResponseTime(nanos);
+    }
+
+    private void observeResponseTime(final long nanos) {
+        final long now = System.nanoTime();
+        final double weight = Math.exp(-(double) (now - responseTimeObserved) / RESPONSE_TIME_DECAY_NANOS);
+        responseTimeObserved = now;
+        responseTime = nanos > responseTime ? nanos : responseTime * weight + nanos * (1 - weight);
+    }
+
     void makeAvailable() {
         isAvailable = true;
     }
@@ -22,10 +22,12 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -116,4 +118,94 @@ public interface LoadBalancingStrategy extends Host.Listener {
             onUnavailable(host);
         }
     }
+
+    /**
+     * A strategy that favors the hosts that are least busy and responding quickest, by way of the number of requests
+     * in flight to each {@link Host} and an exponentially weighted average of its response times. Two available hosts
+     * are picked at random and the one with the lower cost, its response time multiplied by its requests in flight,
+     * is selected first, which spreads requests toward the faster hosts without every client piling onto the single
+     * best one. The remaining hosts follow in order of their cost.
+     */
+    public static class LatencyAware implements LoadBalancingStrategy {
+
+        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            this.availableHosts.addAll(hosts);
+        }
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            final List<Host> hosts = new ArrayList<>();
+
+            // a host could be marked as dead in which case we dont need to send messages to it - just skip it for
+            // now. it might come back online later
+            availableHosts.iterator().forEachRemaining(host -> {
+                if (host.isAvailable()) hosts.add(host);
+            });
+
+            if (hosts.size() < 2) return hosts.iterator();
+
+            // take the costs once as they change while the hosts are compared
+            final List<HostCost> costs = new ArrayList<>(hosts.size());
+            hosts.forEach(host -> costs.add(new HostCost(host)));
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(costs.size());
+            int second = random.nextInt(costs.size() - 1);
+            if (second >= first) second++;
+            final HostCost choice = costs.get(first).cost <= costs.get(second).cost ? costs.get(first) : costs.get(second);
+
+            costs.remove(choice);
+            costs.sort(Comparator.comparingDouble(c -> c.cost));
+
+            final List<Host> selected = new ArrayList<>(hosts.size());
+            selected.add(choice.host);
+            costs.forEach(c -> selected.add(c.host));
+            return selected.iterator();
+        }
+
+        @Override
+        public void onAvailable(final Host host) {
+            this.availableHosts.addIfAbsent(host);
+        }
+
+        @Override
+        public void onUnavailable(final Host host) {
+            this.availableHosts.remove(host);
+        }
+
+        @Override
+        public void onNew(final Host host) {
+            onAvailable(host);
+        }
+
+        @Override
+        public void onRemove(final Host host) {
+            onUnavailable(host);
+        }
+
+        private static final class HostCost {
+            /**
+             * The cost of a host that has requests in flight but no response time to rank it by, which puts it
+             * behind every host that has one until a response comes back from it.
+             */
+            private static final double PENALTY = (double) (Long.MAX_VALUE >> 16);
+
+            private final Host host;
+            private final double cost;
+
+            private HostCost(final Host host) {
+                this.host = host;
+                final double responseTime = host.getResponseTime();
+                final int inFlight = host.getInFlight();
+
+                // a new host, or one whose average has decayed away, would otherwise cost nothing no matter how
+                // many requests it is already holding and draw all of them. a host with nothing in flight is
+                // still ranked by how quick it has been, so a new host gets a single request to measure it by
+                this.cost = responseTime < 1 && inFlight > 0 ? PENALTY + inFlight : responseTime * (inFlight + 1);
+            }
+        }
+    }
 }
@@ -37,17 +37,21 @@ public final class RequestOptions {
     private final Map<String,String> aliases;
     private final Map<String, Object> parameters;
     private final Integer batchSize;
+    private final Integer credits;
     private final Long timeout;
     private final UUID overrideRequestId;
     private final String userAgent;
+    private final boolean timings;
 
     private RequestOptions(final Builder builder) {
         this.aliases = builder.aliases;
         this.parameters = builder.parameters;
         this.batchSize = builder.batchSize;
+        this.credits = builder.credits;
         this.timeout = builder.timeout;
         this.overrideRequestId = builder.overrideRequestId;
         this.userAgent = builder.userAgent;
+        this.timings = builder.timings;
     }
 
     public Optional<UUID> getOverrideRequestId() {
@@ -66,6 +70,10 @@ public final class RequestOptions {
         return Optional.ofNullable(batchSize);
     }
 
+    public Optional<Integer> getCredits() {
+        return Optional.ofNullable(credits);
+    }
+
     public Optional<Long> getTimeout() {
         return Optional.ofNullable(timeout);
     }
@@ -74,6 +82,10 @@ public final class RequestOptions {
         return Optional.ofNullable(userAgent);
     }
 
+    public boolean getTimings() {
+        return timings;
+    }
+
     public static Builder build() {
         return new Builder();
     }
@@ -82,9 +94,11 @@ public final class RequestOptions {
         private Map<String,String> aliases = null;
         private Map<String, Object> parameters = null;
         private Integer batchSize = null;
+        private Integer credits = null;
         private Long timeout = null;
         private UUID overrideRequestId = null;
         private String userAgent = null;
+        private boolean timings = false;
 
         /**
          * The aliases to set on the request.
@@ -126,6 +140,16 @@ public final class RequestOptions {
             return this;
         }
 
+        /**
+         * The per client request override for the {@link Cluster} configured {@code creditsPerRequest}, which is the
+         * number of result batches the server may send before it waits for the client to consume them. Set to 0 to
+         * send the request without flow control.
+         */
+        public Builder credits(final int credits) {
+            this.credits = credits;
+            return this;
+        }
+
         /**
          * The per client request override in milliseconds for the server configured {@code evaluationTimeout}.
          * If this value is not set, then the configuration for the server is used.
@@ -143,6 +167,15 @@ public final class RequestOptions {
             return this;
         }
 
+        /**
+         * Asks the server to return the time it spent on the request by phase in the
+         * {@link Tokens#STATUS_ATTRIBUTE_TIMINGS} status attribute of the final response.
+         */
+        public Builder timings(final boolean timings) {
+            this.timings = timings;
+            return this;
+        }
+
         public RequestOptions create() {
             return new RequestOptions(this);
         }
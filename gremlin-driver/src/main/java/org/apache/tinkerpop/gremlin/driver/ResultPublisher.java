@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Reactive Streams {@code Publisher} of the items of a {@link ResultSet}, which only takes from the
+ * {@link ResultSet} what its {@code Subscriber} has requested. When the request was submitted with
+ * {@link RequestOptions.Builder#credits(int)} or under the {@link Cluster.Builder#creditsPerRequest(int)}
+ * configuration, the server in turn only produces the batches of results that the demand calls for beyond those
+ * credits, so that the memory the result takes on either end is bounded by the demand rather than by its size.
+ * <p/>
+ * As a {@link ResultSet} is a forward-only stream, it may only be subscribed to once. The signals to the
+ * {@code Subscriber} are made on the executor of the {@link Cluster}. A cancelled subscription stops taking results but
+ * the server holds on to a request under flow control that it cannot finish until its {@code evaluationTimeout}.
+ * <p/>
+ * This class requires {@code org.reactivestreams:reactive-streams}, which is an optional dependency of the driver.
+ *
+ * @author agent
+ */
+public final class ResultPublisher implements Publisher<Result> {
+
+    private final ResultSet resultSet;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    public ResultPublisher(final ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super Result> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The ResultSet can only be subscribed to once as it is a forward-only stream"));
+            return;
+        }
+
+        subscriber.onSubscribe(new ResultSubscription(subscriber));
+    }
+
+    /**
+     * Takes results from the {@link ResultSet} in one fetch at a time, of no more than the outstanding demand, and
+     * only runs one signal to the {@code Subscriber} at a time as only the fetch or the drain that found nothing to
+     * fetch may signal it.
+     */
+    private final class ResultSubscription implements Subscription {
+        private final Subscriber<? super Result> subscriber;
+        private final AtomicLong demand = new AtomicLong(0);
+        private final AtomicInteger wip = new AtomicInteger(0);
+
+        private volatile boolean fetching = false;
+        private volatile boolean cancelled = false;
+        private volatile boolean done = false;
+        private volatile Throwable invalidRequest = null;
+
+        private ResultSubscription(final Subscriber<? super Result> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0)
+                invalidRequest = new IllegalArgumentException(String.format("The number of items requested must be greater than zero but was %s", n));
+            else
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+
+            do {
+                if (!fetching && !done && !cancelled) {
+                    if (null != invalidRequest) {
+                        error(invalidRequest);
+                    } else {
+                        try {
+                            // check for completion first as no results are added once it is complete
+                            final boolean complete = resultSet.allItemsAvailable();
+                            final int available = resultSet.getAvailableItemCount();
+                            if (complete && 0 == available) {
+                                done = true;
+                                subscriber.onComplete();
+                            } else if (demand.get() > 0) {
+                                // take what is already there or wait on the next item so that nothing is held back
+                                // until a larger fetch can be filled
+                                final int items = (int) Math.min(demand.get(), Math.max(1, available));
+                                fetching = true;
+                                resultSet.some(items).whenCompleteAsync((results, t) -> fetched(items, results, t),
+                                        resultSet.getExecutor());
+                            }
+                        } catch (Exception ex) {
+                            // the ResultSet wraps the error that the request ended with
+                            if (!done) error(null == ex.getCause() ? ex : ex.getCause());
+                        }
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void fetched(final int items, final List<Result> results, final Throwable t) {
+            if (null != t) {
+                fetching = false;
+                if (!done && !cancelled) error(t instanceof CompletionException && null != t.getCause() ? t.getCause() : t);
+                return;
+            }
+
+            for (Result result : results) {
+                if (cancelled || null != invalidRequest) break;
+                demand.decrementAndGet();
+                subscriber.onNext(result);
+            }
+
+            // the ResultSet only returns fewer items than were asked for once the stream is complete
+            if (results.size() < items && !cancelled && null == invalidRequest) {
+                done = true;
+                subscriber.onComplete();
+            }
+
+            fetching = false;
+            drain();
+        }
+
+        private void error(final Throwable t) {
+            done = true;
+            subscriber.onError(t);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.driver;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.javatuples.Pair;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,10 +32,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
  * A queue of incoming {@link Result} objects.  The queue is updated by the {@link Handler.GremlinResponseHandler}
  * until a response terminator is identified.
+ * <p/>
+ * When the request was sent with {@link Tokens#ARGS_CREDITS} the queue holds the server to that many batches that
+ * are not yet consumed, granting it another credit as the results of each batch are taken. If a consumer waits on
+ * more results than those batches hold, the queue grants one batch at a time beyond that so the wait can complete.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -53,9 +59,39 @@ final class ResultQueue {
 
     private Map<String,Object> statusAttributes = null;
 
+    /**
+     * The number of batches the server may send ahead of the consumer or 0 if the request is not under flow control.
+     */
+    private final int credits;
+    private final IntConsumer creditor;
+
+    /**
+     * The credits the server has been granted but not used, the count of results at the end of each batch that has
+     * not been fully taken and the counts of results that were added and taken.
+     */
+    private int outstanding;
+    private final Queue<Long> unconsumedBatches = new ArrayDeque<>();
+    private long added = 0;
+    private long taken = 0;
+    private boolean unbounded = false;
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
+        this(resultLinkedBlockingQueue, readComplete, 0, credit -> {});
+    }
+
+    /**
+     * Creates a queue for a request under flow control.
+     *
+     * @param credits the credits the request was sent with
+     * @param creditor sends a grant of more credits to the server
+     */
+    public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete,
+                       final int credits, final IntConsumer creditor) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
+        this.credits = credits;
+        this.creditor = creditor;
+        this.outstanding = credits;
     }
 
     /**
@@ -64,10 +100,32 @@ final class ResultQueue {
      * @param result a return value from the {@link Traversal} or script submitted for execution
      */
     public void add(final Result result) {
+        synchronized (this) {
+            added++;
+        }
         this.resultLinkedBlockingQueue.offer(result);
         tryDrainNextWaiting(false);
     }
 
+    /**
+     * Marks the end of a {@code PARTIAL_CONTENT} batch, which used one of the credits of the server.
+     */
+    synchronized void markBatch() {
+        if (credits == 0) return;
+        outstanding--;
+        unconsumedBatches.add(added);
+        replenish();
+    }
+
+    /**
+     * Grants the server all the credit it needs to send the rest of the results without waiting on the consumer.
+     */
+    synchronized void unbound() {
+        if (credits == 0 || unbounded || readComplete.isDone()) return;
+        unbounded = true;
+        creditor.accept(Integer.MAX_VALUE);
+    }
+
     private <V> V validate(final String aggregateTo, final Class<?> expected) {
         if (!(expected.isAssignableFrom(aggregatedResult.getClass())))
             throw new IllegalStateException(String.format("Side-effect \"%s\" contains the type %s that is not acceptable for %s",
@@ -101,7 +159,11 @@ final class ResultQueue {
 
     void drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
-        resultLinkedBlockingQueue.drainTo(collection);
+        final int drained = resultLinkedBlockingQueue.drainTo(collection);
+        synchronized (this) {
+            taken += drained;
+            replenish();
+        }
     }
 
     void markComplete(final Map<String,Object> statusAttributes) {
@@ -138,7 +200,7 @@ final class ResultQueue {
             final int items = nextWaiting.getValue1();
             final CompletableFuture<List<Result>> future = nextWaiting.getValue0();
             final List<Result> results = new ArrayList<>(items);
-            resultLinkedBlockingQueue.drainTo(results, items);
+            taken += resultLinkedBlockingQueue.drainTo(results, items);
 
             // it's important to check for error here because a future may have already been queued in "waiting" prior
             // to the first response back from the server. if that happens, any "waiting" futures should be completed
@@ -150,6 +212,29 @@ final class ResultQueue {
 
             waiting.remove(nextWaiting);
         }
+
+        replenish();
+    }
+
+    /**
+     * Grants the server the credits for the batches that have been consumed since the last grant, so that it may
+     * stay as many batches ahead of the consumer as the request allows. A consumer waiting on more results than that
+     * is granted one more batch once the server has used all of its credits.
+     */
+    private synchronized void replenish() {
+        if (credits == 0 || unbounded || readComplete.isDone()) return;
+
+        while (!unconsumedBatches.isEmpty() && unconsumedBatches.peek() <= taken) {
+            unconsumedBatches.poll();
+        }
+
+        int grant = credits - (outstanding + unconsumedBatches.size());
+        if (grant <= 0 && outstanding <= 0 && !waiting.isEmpty()) grant = 1;
+
+        if (grant > 0) {
+            outstanding += grant;
+            creditor.accept(grant);
+        }
     }
 
     /**
@@ -75,6 +75,10 @@ public final class ResultSet implements Iterable<Result> {
         return host;
     }
 
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
     /**
      * Returns a future that will complete when {@link #allItemsAvailable()} is {@code true} and will contain the
      * attributes from the response.
@@ -136,9 +140,12 @@ public final class ResultSet implements Iterable<Result> {
      * The returned {@link CompletableFuture} completes when all reads are complete for this request and the
      * entire result has been accounted for on the client. While this method is named "all" it really refers to
      * retrieving all remaining items in the set.  For large result sets it is preferred to use
-     * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once.
+     * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once. For a request under
+     * flow control this method lets the server send the remaining results without waiting on the client.
      */
     public CompletableFuture<List<Result>> all() {
+        // the results are all held in memory anyway so there is no point in making the server wait on them
+        resultQueue.unbound();
         return readCompleted.thenApplyAsync(it -> {
             final List<Result> list = new ArrayList<>();
             resultQueue.drainTo(list);
@@ -234,6 +234,9 @@ final class Settings {
             if (connectionPoolConf.containsKey("resultIterationBatchSize"))
                 cpSettings.resultIterationBatchSize = connectionPoolConf.getInt("resultIterationBatchSize");
 
+            if (connectionPoolConf.containsKey("creditsPerRequest"))
+                cpSettings.creditsPerRequest = connectionPoolConf.getInt("creditsPerRequest");
+
             if (connectionPoolConf.containsKey("keepAliveInterval"))
                 cpSettings.keepAliveInterval = connectionPoolConf.getLong("keepAliveInterval");
 
@@ -380,6 +383,13 @@ final class Settings {
          */
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
 
+        /**
+         * The number of result batches the server may send for a request before it waits for the client to consume
+         * them, which the client grants more of as the results are taken from the {@link ResultSet}. This value is
+         * set to 0 by default which disables the flow control, as it requires a server that supports it.
+         */
+        public int creditsPerRequest = Connection.CREDITS_PER_REQUEST;
+
         /**
          * The constructor for the channel that connects to the server. This value should be the fully qualified
          * class name of a Gremlin Driver {@link Channelizer} implementation.  By default this value is set to
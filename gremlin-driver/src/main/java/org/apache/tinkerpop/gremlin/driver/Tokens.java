@@ -27,15 +27,18 @@ public final class Tokens {
     private Tokens() {}
 
     public static final String OPS_AUTHENTICATION = "authentication";
+    public static final String OPS_BATCH = "batch";
     public static final String OPS_BYTECODE = "bytecode";
     public static final String OPS_EVAL = "eval";
     public static final String OPS_INVALID = "invalid";
     public static final String OPS_CLOSE = "close";
+    public static final String OPS_CREDIT = "credit";
 
     public static final String REQUEST_ID = "requestId";
 
     public static final String ARGS_BATCH_SIZE = "batchSize";
     public static final String ARGS_BINDINGS = "bindings";
+    public static final String ARGS_CREDITS = "credits";
     public static final String ARGS_ALIASES = "aliases";
     public static final String ARGS_FORCE = "force";
     public static final String ARGS_GREMLIN = "gremlin";
@@ -46,12 +49,27 @@ public final class Tokens {
     public static final String ARGS_MANAGE_TRANSACTION = "manageTransaction";
     public static final String ARGS_SASL = "sasl";
     public static final String ARGS_SASL_MECHANISM = "saslMechanism";
+    public static final String ARGS_TARGET_REQUEST_ID = "targetRequestId";
+    public static final String ARGS_TIMINGS = "timings";
     public static final String ARGS_USER_AGENT = "userAgent";
 
     public static final String VAL_TRAVERSAL_SOURCE_ALIAS = "g";
 
+    /**
+     * A {@link ResultSet#statusAttributes()} key of the response to a {@link #OPS_BATCH} which is only present if a
+     * traversal of the batch did not succeed. Its value is a {@link java.util.List} with an entry for each traversal in
+     * the order of the batch, which is {@code null} for a traversal that succeeded and its error message otherwise.
+     */
+    public static final String STATUS_ATTRIBUTE_BATCH_ERRORS = "batchErrors";
     public static final String STATUS_ATTRIBUTE_EXCEPTIONS = "exceptions";
     public static final String STATUS_ATTRIBUTE_STACK_TRACE = "stackTrace";
+    /**
+     * A {@link ResultSet#statusAttributes()} key that is present on the final response to a request that set
+     * {@link #ARGS_TIMINGS} to {@code true}. Its value is a {@link java.util.Map} of the phases the server processed
+     * the request in, like "queued", "compile", "strategies", "iterate" and "serialize", to the microseconds spent in
+     * each of them.
+     */
+    public static final String STATUS_ATTRIBUTE_TIMINGS = "timings";
     /**
      * A {@link ResultSet#statusAttributes()} key for user-facing warnings.
      * <p>
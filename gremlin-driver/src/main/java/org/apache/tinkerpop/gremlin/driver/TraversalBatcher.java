@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces many small traversals, like the {@code addV()}, {@code addE()} and {@code property()} traversals of a
+ * bulk load, into {@link Tokens#OPS_BATCH} requests so that they cost one round trip and, on a graph that supports
+ * transactions, one transaction per batch rather than per traversal. A batch is sent once it has
+ * {@link Builder#maxSize(int)} traversals or once its first traversal has waited {@link Builder#maxDelay(long)}
+ * milliseconds, whichever comes first.
+ * <p/>
+ * Each traversal gets its own future which completes with the {@link Result} items of the {@link Traverser} instances
+ * it produced, or completes exceptionally with a {@link ResponseException} if it failed. On a graph that supports
+ * transactions the batch succeeds or fails as a whole, so the failure of one traversal fails all the others.
+ * The {@link Client} must be one that supports {@link Bytecode} submission, such as one created with
+ * {@link Client#alias(String)}.
+ *
+ * @author agent
+ */
+public final class TraversalBatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TraversalBatcher.class);
+
+    private final Client client;
+    private final int maxSize;
+    private final long maxDelay;
+    private final RequestOptions options;
+
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed = false;
+
+    private TraversalBatcher(final Builder builder) {
+        this.client = builder.client;
+        this.maxSize = builder.maxSize;
+        this.maxDelay = builder.maxDelay;
+
+        final RequestOptions.Builder options = RequestOptions.build();
+        if (builder.timeout != null) options.timeout(builder.timeout);
+        if (builder.userAgent != null) options.userAgent(builder.userAgent);
+        this.options = options.create();
+    }
+
+    public static Builder build(final Client client) {
+        return new Builder(client);
+    }
+
+    /**
+     * Adds the traversal to the current batch.
+     */
+    public CompletableFuture<List<Result>> submit(final Traversal traversal) {
+        return submit(traversal.asAdmin().getBytecode());
+    }
+
+    /**
+     * Adds the {@link Bytecode} to the current batch.
+     */
+    public CompletableFuture<List<Result>> submit(final Bytecode bytecode) {
+        final Pending item = new Pending(bytecode);
+        final List<Pending> ready;
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("TraversalBatcher has been closed");
+
+            pending.add(item);
+            if (pending.size() >= maxSize) {
+                ready = drain();
+            } else {
+                if (1 == pending.size() && maxDelay > 0)
+                    scheduledFlush = client.getCluster().executor().schedule(this::flush, maxDelay, TimeUnit.MILLISECONDS);
+                ready = null;
+            }
+        }
+
+        // sending happens outside of the lock so that a slow connection borrow does not hold up other submitters
+        if (ready != null) send(ready);
+        return item.future;
+    }
+
+    /**
+     * Sends the current batch without waiting for it to fill up or for its delay to expire.
+     */
+    public void flush() {
+        final List<Pending> ready;
+        synchronized (this) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) send(ready);
+    }
+
+    /**
+     * Sends the current batch and prevents more traversals from being submitted. It does not wait for the responses
+     * to the batches that were sent.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    private List<Pending> drain() {
+        final List<Pending> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void send(final List<Pending> batch) {
+        final List<Bytecode> bytecodes = new ArrayList<>(batch.size());
+        batch.forEach(item -> bytecodes.add(item.bytecode));
+
+        final CompletableFuture<ResultSet> submitted;
+        try {
+            submitted = client.submitBatchAsync(bytecodes, options);
+        } catch (Exception ex) {
+            batch.forEach(item -> item.future.completeExceptionally(ex));
+            return;
+        }
+
+        // the status attributes are read once all results are in, as they never arrive for a request that failed
+        submitted.thenCompose(rs -> rs.all().thenAccept(results -> complete(batch, results, rs.statusAttributes().join())))
+                .exceptionally(t -> {
+                    final Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    logger.debug("A batch of {} traversals failed", batch.size(), cause);
+                    batch.forEach(item -> item.future.completeExceptionally(cause));
+                    return null;
+                });
+    }
+
+    private static void complete(final List<Pending> batch, final List<Result> results, final Map<String, Object> attributes) {
+        if (results.size() != batch.size()) {
+            final IllegalStateException ex = new IllegalStateException(String.format(
+                    "The server returned results for %s traversals for a batch of %s", results.size(), batch.size()));
+            batch.forEach(item -> item.future.completeExceptionally(ex));
+            return;
+        }
+
+        final List<?> errors = (List<?>) attributes.getOrDefault(Tokens.STATUS_ATTRIBUTE_BATCH_ERRORS, Collections.emptyList());
+        for (int ix = 0; ix < batch.size(); ix++) {
+            final Object error = ix < errors.size() ? errors.get(ix) : null;
+            if (error != null) {
+                batch.get(ix).future.completeExceptionally(new ResponseException(ResponseStatusCode.SERVER_ERROR, error.toString()));
+            } else {
+                final List<Result> itemResults = new ArrayList<>();
+                ((List<?>) results.get(ix).getObject()).forEach(o -> itemResults.add(new Result(o)));
+                batch.get(ix).future.complete(itemResults);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Bytecode bytecode;
+        private final CompletableFuture<List<Result>> future = new CompletableFuture<>();
+
+        private Pending(final Bytecode bytecode) {
+            this.bytecode = bytecode;
+        }
+    }
+
+    public final static class Builder {
+        private final Client client;
+        private int maxSize = 500;
+        private long maxDelay = 10;
+        private Long timeout = null;
+        private String userAgent = null;
+
+        private Builder(final Client client) {
+            this.client = client;
+        }
+
+        /**
+         * The number of traversals at which a batch is sent. The default is 500.
+         */
+        public Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * The time in milliseconds that the first traversal of a batch waits for the batch to fill up before it is
+         * sent anyway. Set to 0 to only send batches once they are full or on {@link TraversalBatcher#flush()}. The
+         * default is 10.
+         */
+        public Builder maxDelay(final long maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * The override in milliseconds for the server configured {@code evaluationTimeout} of each batch.
+         */
+        public Builder timeout(final long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the userAgent identifier to be sent on each batch.
+         */
+        public Builder userAgent(final String userAgent) {
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        public TraversalBatcher create() {
+            if (null == client) throw new IllegalArgumentException("client cannot be null");
+            if (maxSize < 1) throw new IllegalArgumentException("maxSize must be greater than zero");
+            if (maxDelay < 0) throw new IllegalArgumentException("maxDelay must be zero or greater");
+            return new TraversalBatcher(this);
+        }
+    }
+}
@@ -25,6 +25,9 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryIo;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.LazyFrame;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.LazyListSerializer;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.LazyMapSerializer;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.RequestMessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.ResponseMessageSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
@@ -47,12 +50,14 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer {
     public static final String TOKEN_CUSTOM = "custom";
     public static final String TOKEN_BUILDER = "builder";
     public static final String TOKEN_SERIALIZE_RESULT_TO_STRING = "serializeResultToString";
+    public static final String TOKEN_LAZY_RESULTS = "lazyResults";
 
     private static final String MIME_TYPE = SerTokens.MIME_GRAPHBINARY_V1D0;
     private static final String MIME_TYPE_STRINGD = SerTokens.MIME_GRAPHBINARY_V1D0 + "-stringd";
 
     private byte[] header = MIME_TYPE.getBytes(UTF_8);
     private boolean serializeToString = false;
+    private boolean lazyResults = false;
     private GraphBinaryReader reader;
     private GraphBinaryWriter writer;
     private RequestMessageSerializer requestSerializer;
@@ -115,6 +120,13 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer {
 
         addCustomClasses(config, builder);
 
+        // maps and lists are read without deserializing their values, which are then deserialized on access
+        this.lazyResults = Boolean.parseBoolean(config.getOrDefault(TOKEN_LAZY_RESULTS, "false").toString());
+        if (this.lazyResults) {
+            builder.add(Map.class, new LazyMapSerializer());
+            builder.add(List.class, new LazyListSerializer());
+        }
+
         this.serializeToString = Boolean.parseBoolean(config.getOrDefault(TOKEN_SERIALIZE_RESULT_TO_STRING, "false").toString());
         this.header = this.serializeToString ? MIME_TYPE_STRINGD.getBytes(UTF_8) : MIME_TYPE.getBytes(UTF_8);
 
@@ -169,7 +181,9 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer {
 
     @Override
     public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
-        return responseSerializer.readValue(msg, reader);
+        // the lazy maps and lists of a response read their values from one copy of the frame, which is released
+        // once the response is read
+        return responseSerializer.readValue(lazyResults ? LazyFrame.copyOf(msg) : msg, reader);
     }
 
     @Override
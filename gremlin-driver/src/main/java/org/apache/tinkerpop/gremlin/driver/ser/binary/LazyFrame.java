@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import org.apache.tinkerpop.gremlin.driver.ser.NettyBufferFactory;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The copy of a response that its {@link LazyMap} and {@link LazyList} instances read their values from. The frame
+ * that the response arrives in is released once it is read, so it is copied once and the lazy containers of the
+ * response, including the ones nested in other lazy containers, keep the offsets of their values in that one copy
+ * rather than each copying their own bytes. A container that is kept keeps the whole copy with it.
+ *
+ * @author agent
+ */
+public final class LazyFrame {
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    private LazyFrame() {}
+
+    /**
+     * Copies the readable bytes of a frame into a buffer that lazy containers read from, consuming them.
+     */
+    public static ByteBuf copyOf(final ByteBuf frame) {
+        final byte[] bytes = new byte[frame.readableBytes()];
+        frame.readBytes(bytes);
+        return new FrameByteBuf(bytes);
+    }
+
+    /**
+     * Gets the copy of the response that the buffer reads from, or {@code null} if it does not read from one.
+     * Offsets into the copy are the reader indices of the buffer.
+     */
+    static byte[] arrayOf(final Buffer buffer) {
+        final ByteBuf[] underlying = new ByteBuf[1];
+        NettyBufferFactory.readRaw(buffer, byteBuf -> underlying[0] = byteBuf);
+        return underlying[0] instanceof FrameByteBuf ? underlying[0].array() : null;
+    }
+
+    /**
+     * Deserializes the value at the offset of a copy of a response, which nests lazy containers in the same copy.
+     */
+    static Object read(final byte[] bytes, final int offset, final int end, final GraphBinaryReader context) {
+        try {
+            return context.read(bufferFactory.create(new FrameByteBuf(bytes).setIndex(offset, end)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Marks a buffer over a copy of a response, which is never reused and so may be referenced for as long as the
+     * lazy containers read from it.
+     */
+    private static final class FrameByteBuf extends UnpooledHeapByteBuf {
+        private FrameByteBuf(final byte[] bytes) {
+            super(UnpooledByteBufAllocator.DEFAULT, bytes, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable {@code List} read by the {@link LazyListSerializer} whose items are only deserialized from the
+ * {@link LazyFrame} of the response when they are first accessed, after which they are kept.
+ *
+ * @author agent
+ */
+final class LazyList extends AbstractList<Object> implements RandomAccess {
+    private static final Object UNREAD = new Object();
+
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final int end;
+    private final Object[] items;
+    private final GraphBinaryReader context;
+
+    LazyList(final byte[] bytes, final int[] offsets, final int end, final GraphBinaryReader context) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.end = end;
+        this.context = context;
+        this.items = new Object[offsets.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = UNREAD;
+        }
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    @Override
+    public Object get(final int index) {
+        if (index < 0 || index >= items.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + items.length);
+        return itemAt(index);
+    }
+
+    private synchronized Object itemAt(final int i) {
+        if (items[i] == UNREAD) {
+            items[i] = LazyFrame.read(bytes, offsets[i], end, context);
+        }
+        return items[i];
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.ListSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A {@link ListSerializer} that skips over the items of a list, keeping their offsets in the {@link LazyFrame} of the
+ * response so that they can be deserialized when they are accessed. The list is written like any other.
+ *
+ * @author agent
+ */
+public class LazyListSerializer extends ListSerializer {
+
+    @Override
+    protected List readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = buffer.readInt();
+        final int start = buffer.readerIndex();
+
+        final int[] offsets = new int[length];
+        for (int i = 0; i < length; i++) {
+            offsets[i] = buffer.readerIndex();
+            context.skip(buffer);
+        }
+
+        final byte[] frame = LazyFrame.arrayOf(buffer);
+        if (null != frame) return new LazyList(frame, offsets, buffer.readerIndex(), context);
+
+        // a buffer that is not a copy of the response is released once it is read so the items need a copy of their
+        // own, which the containers nested in them then read from
+        final byte[] bytes = new byte[buffer.readerIndex() - start];
+        buffer.getBytes(start, bytes);
+        for (int i = 0; i < length; i++) {
+            offsets[i] -= start;
+        }
+        return new LazyList(bytes, offsets, bytes.length, context);
+    }
+}
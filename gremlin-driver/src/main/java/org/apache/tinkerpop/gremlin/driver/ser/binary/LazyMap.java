@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable {@code Map} read by the {@link LazyMapSerializer} whose keys are deserialized up front but whose values
+ * are only deserialized from the {@link LazyFrame} of the response when they are first accessed, so that reading a
+ * few fields of a large map does not pay for the rest of it.
+ *
+ * @author agent
+ */
+final class LazyMap extends AbstractMap<Object, Object> {
+    private static final Object UNREAD = new Object();
+
+    /**
+     * Past this size a key lookup goes through a hash index rather than a scan of the keys.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    private final Object[] keys;
+    private final int[] valueOffsets;
+    private final Object[] values;
+    private final byte[] bytes;
+    private final int end;
+    private final GraphBinaryReader context;
+    private Map<Object, Integer> index;
+
+    LazyMap(final Object[] keys, final int[] valueOffsets, final byte[] bytes, final int end,
+            final GraphBinaryReader context) {
+        this.keys = keys;
+        this.valueOffsets = valueOffsets;
+        this.bytes = bytes;
+        this.end = end;
+        this.context = context;
+        this.values = new Object[keys.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UNREAD;
+        }
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        return new AbstractSet<Entry<Object, Object>>() {
+            @Override
+            public Iterator<Entry<Object, Object>> iterator() {
+                return new Iterator<Entry<Object, Object>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<Object, Object> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return new LazyEntry(next++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    private synchronized int indexOf(final Object key) {
+        if (keys.length <= INDEX_THRESHOLD) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Objects.equals(keys[i], key)) return i;
+            }
+            return -1;
+        }
+
+        if (null == index) {
+            index = new HashMap<>(keys.length * 2);
+            // keep the first position of a key as LinkedHashMap would have kept its first insertion
+            for (int i = keys.length - 1; i >= 0; i--) {
+                index.put(keys[i], i);
+            }
+        }
+        final Integer i = index.get(key);
+        return null == i ? -1 : i;
+    }
+
+    private synchronized Object valueAt(final int i) {
+        if (values[i] == UNREAD) {
+            values[i] = LazyFrame.read(bytes, valueOffsets[i], end, context);
+        }
+        return values[i];
+    }
+
+    private final class LazyEntry implements Entry<Object, Object> {
+        private final int i;
+
+        private LazyEntry(final int i) {
+            this.i = i;
+        }
+
+        @Override
+        public Object getKey() {
+            return keys[i];
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(i);
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) return false;
+            final Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.UUID;
 
@@ -53,13 +54,21 @@ public class ResponseMessageSerializer {
                     .statusMessage(context.readValue(buffer, String.class, true))
                     .statusAttributes(context.readValue(buffer, Map.class, false))
                     .responseMetaData(context.readValue(buffer, Map.class, false))
-                    .result(context.read(buffer))
+                    .result(eager(context.read(buffer)))
                     .create();
         } catch (IOException ex) {
             throw new SerializationException(ex);
         }
     }
 
+    /**
+     * The list of results is handed out item by item by the driver, which reads all of it anyway, so only the values
+     * nested in the results are left to be deserialized on access.
+     */
+    private static Object eager(final Object result) {
+        return result instanceof LazyList ? new ArrayList<>((LazyList) result) : result;
+    }
+
     public void writeValue(final ResponseMessage value, final ByteBuf byteBuf, final GraphBinaryWriter context) throws SerializationException {
         // Wrap netty's buffer
         final Buffer buffer = bufferFactory.create(byteBuf);
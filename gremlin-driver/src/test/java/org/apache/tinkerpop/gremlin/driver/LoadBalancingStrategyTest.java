@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class LoadBalancingStrategyTest {
+
+    private final RequestMessage msg = RequestMessage.build("eval").create();
+
+    @Test
+    public void shouldSelectFasterHostsWithLatencyAware() {
+        final Cluster cluster = Cluster.open();
+        final Host fast = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        final Host slow = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        final Host busy = new Host(new InetSocketAddress("localhost", 8184), cluster);
+        Arrays.asList(fast, slow, busy).forEach(Host::makeAvailable);
+
+        fast.requestSent();
+        fast.requestCompleted(TimeUnit.MILLISECONDS.toNanos(5));
+        slow.requestSent();
+        slow.requestCompleted(TimeUnit.MILLISECONDS.toNanos(500));
+        busy.requestSent();
+        busy.requestCompleted(TimeUnit.MILLISECONDS.toNanos(5));
+        for (int i = 0; i < 200; i++) {
+            busy.requestSent();
+        }
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(fast, slow, busy));
+
+        int fastFirst = 0;
+        for (int i = 0; i < 100; i++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(msg));
+            assertEquals(3, selected.size());
+            assertTrue(selected.contains(fast) && selected.contains(slow) && selected.contains(busy));
+            if (selected.get(0) == fast) fastFirst++;
+
+            // the slow host is only ever first when it was the better of the two random picks against the busy one
+            if (selected.get(0) == slow) assertEquals(fast, selected.get(1));
+        }
+
+        // the fast host wins whenever it is one of the two random picks, which is two out of three times
+        assertTrue(fastFirst > 40);
+    }
+
+    @Test
+    public void shouldNotFavorHostsWithoutResponseTimeThatHaveRequestsInFlightWithLatencyAware() {
+        final Cluster cluster = Cluster.open();
+        final Host measured = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        final Host pending = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        final Host idle = new Host(new InetSocketAddress("localhost", 8184), cluster);
+        Arrays.asList(measured, pending, idle).forEach(Host::makeAvailable);
+
+        measured.requestSent();
+        measured.requestCompleted(TimeUnit.MILLISECONDS.toNanos(500));
+        for (int i = 0; i < 10; i++) {
+            measured.requestSent();
+        }
+
+        // no response has come back from this host yet, so its response time is still zero
+        pending.requestSent();
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(measured, pending, idle));
+
+        for (int i = 0; i < 100; i++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(msg));
+            assertEquals(3, selected.size());
+
+            // the host with a request in flight and nothing to rank it by goes behind the others
+            assertEquals(pending, selected.get(2));
+            if (selected.get(0) == measured) assertEquals(idle, selected.get(1));
+        }
+    }
+
+    @Test
+    public void shouldSkipUnavailableHostsWithLatencyAware() {
+        final Cluster cluster = Cluster.open();
+        final Host available = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        final Host unavailable = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        available.makeAvailable();
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, Arrays.asList(available, unavailable));
+        assertEquals(Arrays.asList(available), IteratorUtils.list(strategy.select(msg)));
+
+        strategy.onUnavailable(available);
+        assertEquals(0, IteratorUtils.count(strategy.select(msg)));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent
+ */
+public class ResultPublisherTest extends AbstractResultQueueTest {
+
+    private ResultPublisher publisher;
+
+    @Before
+    public void setupThis() {
+        publisher = new ResultPublisher(new ResultSet(resultQueue, pool, readCompleted, RequestMessage.build("traversal").create(), null));
+    }
+
+    @Test
+    public void shouldOnlyPublishWhatIsRequested() throws Exception {
+        for (int ix = 0; ix < 10; ix++) {
+            resultQueue.add(new Result(ix));
+        }
+
+        final TestSubscriber subscriber = new TestSubscriber(3);
+        publisher.subscribe(subscriber);
+        assertThat(subscriber.awaitItems(3), is(true));
+
+        // give a wrong publisher the chance to push more than was requested
+        Thread.sleep(100);
+        assertEquals(3, subscriber.items.size());
+        assertEquals(7, resultQueue.size());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.awaitItems(10), is(true));
+        assertThat(subscriber.completed.getCount(), is(1L));
+
+        resultQueue.markComplete(Collections.emptyMap());
+        assertThat(subscriber.completed.await(10000, TimeUnit.MILLISECONDS), is(true));
+        for (int ix = 0; ix < 10; ix++) {
+            assertEquals(ix, subscriber.items.get(ix).getInt());
+        }
+    }
+
+    @Test
+    public void shouldPublishAsItemsArrive() throws Exception {
+        final Thread t = addToQueue(100, 1, true, true);
+        try {
+            final TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+            publisher.subscribe(subscriber);
+            assertThat(subscriber.completed.await(10000, TimeUnit.MILLISECONDS), is(true));
+            assertEquals(100, subscriber.items.size());
+            assertThat(subscriber.error, is((Throwable) null));
+        } finally {
+            t.interrupt();
+        }
+    }
+
+    @Test
+    public void shouldPublishError() throws Exception {
+        final TestSubscriber subscriber = new TestSubscriber(1);
+        publisher.subscribe(subscriber);
+
+        final Exception theProblem = new Exception();
+        resultQueue.markError(theProblem);
+        assertThat(subscriber.completed.await(10000, TimeUnit.MILLISECONDS), is(true));
+        assertEquals(theProblem, subscriber.error);
+    }
+
+    @Test
+    public void shouldOnlyBeSubscribedToOnce() throws Exception {
+        publisher.subscribe(new TestSubscriber(1));
+
+        final TestSubscriber subscriber = new TestSubscriber(1);
+        publisher.subscribe(subscriber);
+        assertThat(subscriber.completed.await(10000, TimeUnit.MILLISECONDS), is(true));
+        assertThat(subscriber.error, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void shouldErrorOnNonPositiveRequest() throws Exception {
+        final TestSubscriber subscriber = new TestSubscriber(0);
+        publisher.subscribe(subscriber);
+        assertThat(subscriber.completed.await(10000, TimeUnit.MILLISECONDS), is(true));
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+    }
+
+    private static class TestSubscriber implements Subscriber<Result> {
+        private final long initialRequest;
+        private final List<Result> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+
+        private TestSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        private boolean awaitItems(final int count) throws InterruptedException {
+            final long until = System.currentTimeMillis() + 10000;
+            while (items.size() < count && System.currentTimeMillis() < until) {
+                Thread.sleep(10);
+            }
+            return items.size() >= count;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(final Result result) {
+            items.add(result);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -22,11 +22,14 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -294,4 +297,64 @@ public class ResultQueueTest extends AbstractResultQueueTest {
             t.interrupt();
         }
     }
+
+    @Test
+    public void shouldGrantCreditAsBatchesAreConsumed() {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue queue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 2, grants::add);
+
+        addBatch(queue, 2);
+        addBatch(queue, 2);
+        assertThat(grants.isEmpty(), is(true));
+
+        // half a batch consumed is not enough to send another
+        assertEquals(1, queue.await(1).join().size());
+        assertThat(grants.isEmpty(), is(true));
+
+        assertEquals(2, queue.await(2).join().size());
+        assertEquals(Collections.singletonList(1), grants);
+
+        assertEquals(1, queue.await(1).join().size());
+        assertEquals(Arrays.asList(1, 1), grants);
+    }
+
+    @Test
+    public void shouldGrantCreditBeyondTheBatchesForAWaitingConsumer() {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue queue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 1, grants::add);
+
+        final CompletableFuture<List<Result>> future = queue.await(5);
+        addBatch(queue, 2);
+        assertEquals(Collections.singletonList(1), grants);
+
+        addBatch(queue, 2);
+        assertEquals(Arrays.asList(1, 1), grants);
+        assertThat(future.isDone(), is(false));
+
+        queue.add(new Result("last"));
+        queue.markComplete(ATTRIBUTES);
+        assertEquals(5, future.join().size());
+        assertEquals(Arrays.asList(1, 1), grants);
+    }
+
+    @Test
+    public void shouldGrantAllCreditOnUnbound() {
+        final List<Integer> grants = new ArrayList<>();
+        final ResultQueue queue = new ResultQueue(new LinkedBlockingQueue<>(), new CompletableFuture<>(), 1, grants::add);
+
+        addBatch(queue, 2);
+        queue.unbound();
+        queue.unbound();
+        assertEquals(Collections.singletonList(Integer.MAX_VALUE), grants);
+
+        assertEquals(2, queue.await(2).join().size());
+        assertEquals(Collections.singletonList(Integer.MAX_VALUE), grants);
+    }
+
+    private static void addBatch(final ResultQueue queue, final int size) {
+        for (int ix = 0; ix < size; ix++) {
+            queue.add(new Result("test-" + ix));
+        }
+        queue.markBatch();
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class TraversalBatcherTest {
+
+    private Cluster cluster;
+    private BatchClient client;
+
+    @Before
+    public void setup() {
+        cluster = Cluster.open();
+        client = new BatchClient(cluster);
+    }
+
+    @After
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    public void shouldFlushOnSize() throws Exception {
+        final TraversalBatcher batcher = TraversalBatcher.build(client).maxSize(3).maxDelay(0).create();
+        final List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 7; ix++) {
+            futures.add(batcher.submit(bytecode(ix)));
+        }
+
+        assertEquals(Arrays.asList(3, 3), client.batchSizes);
+        for (int ix = 0; ix < 6; ix++) {
+            assertEquals(ix, futures.get(ix).get(1000, TimeUnit.MILLISECONDS).get(0).getInt());
+        }
+        assertFalse(futures.get(6).isDone());
+
+        batcher.close();
+        assertEquals(Arrays.asList(3, 3, 1), client.batchSizes);
+        assertEquals(6, futures.get(6).get(1000, TimeUnit.MILLISECONDS).get(0).getInt());
+    }
+
+    @Test
+    public void shouldFlushOnTime() throws Exception {
+        final TraversalBatcher batcher = TraversalBatcher.build(client).maxSize(100).maxDelay(50).create();
+        final CompletableFuture<List<Result>> first = batcher.submit(bytecode(0));
+        final CompletableFuture<List<Result>> second = batcher.submit(bytecode(1));
+
+        assertEquals(1, second.get(10000, TimeUnit.MILLISECONDS).get(0).getInt());
+        assertEquals(0, first.get().get(0).getInt());
+        assertEquals(Collections.singletonList(2), client.batchSizes);
+    }
+
+    @Test
+    public void shouldFailOnlyTheItemsWithErrors() throws Exception {
+        client.failing = 1;
+        final TraversalBatcher batcher = TraversalBatcher.build(client).maxSize(3).maxDelay(0).create();
+        final CompletableFuture<List<Result>> first = batcher.submit(bytecode(0));
+        final CompletableFuture<List<Result>> second = batcher.submit(bytecode(1));
+        final CompletableFuture<List<Result>> third = batcher.submit(bytecode(2));
+
+        assertEquals(0, first.get(1000, TimeUnit.MILLISECONDS).get(0).getInt());
+        assertEquals(2, third.get(1000, TimeUnit.MILLISECONDS).get(0).getInt());
+        try {
+            second.get(1000, TimeUnit.MILLISECONDS);
+            fail("The second traversal of the batch should have failed");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause(), instanceOf(ResponseException.class));
+            assertEquals("boom", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void shouldFailAllItemsWhenTheRequestFails() throws Exception {
+        client.requestError = new ResponseException(ResponseStatusCode.SERVER_ERROR_TIMEOUT, "timeout");
+        final TraversalBatcher batcher = TraversalBatcher.build(client).maxSize(2).maxDelay(0).create();
+        final CompletableFuture<List<Result>> first = batcher.submit(bytecode(0));
+        final CompletableFuture<List<Result>> second = batcher.submit(bytecode(1));
+
+        for (CompletableFuture<List<Result>> future : Arrays.asList(first, second)) {
+            try {
+                future.get(1000, TimeUnit.MILLISECONDS);
+                fail("The request for the batch failed so its traversals should have failed");
+            } catch (ExecutionException ex) {
+                assertEquals(client.requestError, ex.getCause());
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSubmitAfterClose() {
+        final TraversalBatcher batcher = TraversalBatcher.build(client).create();
+        batcher.close();
+        batcher.submit(bytecode(0));
+    }
+
+    private static Bytecode bytecode(final int ix) {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("inject", ix);
+        return bytecode;
+    }
+
+    /**
+     * Answers each batch with the argument of the only step of each of its traversals.
+     */
+    private static class BatchClient extends Client {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile int failing = -1;
+        private volatile Exception requestError = null;
+
+        private BatchClient(final Cluster cluster) {
+            super(cluster, Client.Settings.build().create());
+        }
+
+        @Override
+        public CompletableFuture<ResultSet> submitBatchAsync(final List<Bytecode> bytecodes, final RequestOptions options) {
+            batchSizes.add(bytecodes.size());
+
+            final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
+            final ResultQueue queue = new ResultQueue(new LinkedBlockingQueue<>(), readCompleted);
+            if (requestError != null) {
+                queue.markError(requestError);
+            } else {
+                final List<String> errors = new ArrayList<>();
+                for (int ix = 0; ix < bytecodes.size(); ix++) {
+                    final boolean fails = ix == failing;
+                    queue.add(new Result(fails ? Collections.emptyList() :
+                            Collections.singletonList(bytecodes.get(ix).getStepInstructions().get(0).getArguments()[0])));
+                    errors.add(fails ? "boom" : null);
+                }
+
+                final Map<String, Object> attributes = new HashMap<>();
+                if (failing >= 0) attributes.put(Tokens.STATUS_ATTRIBUTE_BATCH_ERRORS, errors);
+                queue.markComplete(attributes);
+            }
+
+            return CompletableFuture.completedFuture(new ResultSet(queue, cluster.executor(), readCompleted,
+                    RequestMessage.build(Tokens.OPS_BATCH).create(), null));
+        }
+
+        @Override
+        protected void initializeImplementation() {
+        }
+
+        @Override
+        protected Connection chooseConnection(final RequestMessage msg) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> closeAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public boolean isClosing() {
+            return false;
+        }
+    }
+}
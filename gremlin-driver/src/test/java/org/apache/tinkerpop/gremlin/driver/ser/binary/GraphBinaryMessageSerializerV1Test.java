@@ -28,13 +28,18 @@ import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.tinkerpop.gremlin.driver.MockitoHamcrestMatcherAdapter.reflectionEquals;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
@@ -175,6 +180,82 @@ public class GraphBinaryMessageSerializerV1Test {
         assertEquals(java.awt.Color.RED.toString(), deserialized.getResult().getData());
     }
 
+    @Test
+    public void shouldDeserializeLazyResults() throws SerializationException {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final Map<String,Object> conf = new HashMap<String,Object>() {{
+            put(GraphBinaryMessageSerializerV1.TOKEN_LAZY_RESULTS, true);
+        }};
+        serializer.configure(conf, Collections.emptyMap());
+
+        final List<Object> data = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Map<String,Object> valueMap = new LinkedHashMap<>();
+            valueMap.put("name", Collections.singletonList("name" + i));
+            valueMap.put("age", Collections.singletonList(i));
+            for (int j = 0; j < 10; j++) {
+                valueMap.put("k" + j, Arrays.asList(j, "v" + j, UUID.randomUUID()));
+            }
+            data.add(valueMap);
+        }
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .statusAttribute("k1", 1)
+                .result(data)
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final ResponseMessage deserialized = serializer.deserializeResponse(buffer);
+        buffer.release();
+
+        final List<Object> result = (List<Object>) deserialized.getResult().getData();
+        assertEquals(20, result.size());
+        int i = 0;
+        for (Object item : result) {
+            final Map<String,Object> valueMap = (Map<String,Object>) item;
+            assertEquals(Collections.singletonList("name" + i), valueMap.get("name"));
+            assertEquals(Collections.singletonList(i), valueMap.get("age"));
+            assertThat(valueMap.containsKey("k9"), is(true));
+            assertThat(valueMap.containsKey("k10"), is(false));
+            i++;
+        }
+        assertEquals(data, result);
+        assertEquals(response.getStatus().getAttributes(), deserialized.getStatus().getAttributes());
+    }
+
+    @Test
+    public void shouldKeepNestedLazyResultsOnceDeserialized() throws SerializationException {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final Map<String,Object> conf = new HashMap<String,Object>() {{
+            put(GraphBinaryMessageSerializerV1.TOKEN_LAZY_RESULTS, true);
+        }};
+        serializer.configure(conf, Collections.emptyMap());
+
+        final Map<String,Object> inner = new LinkedHashMap<>();
+        inner.put("path", Arrays.asList(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2)));
+        final List<Object> data = Collections.singletonList(
+                Collections.singletonMap("outer", Arrays.asList(inner, Arrays.asList("a", Collections.singletonList("b")))));
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(data)
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        final ResponseMessage deserialized = serializer.deserializeResponse(buffer);
+        buffer.release();
+
+        final List<Object> result = (List<Object>) deserialized.getResult().getData();
+        assertThat(result instanceof ArrayList, is(true));
+        assertEquals(data, result);
+
+        final List<Object> outer = (List<Object>) ((Map<String,Object>) result.get(0)).get("outer");
+        assertThat(outer instanceof LazyList, is(true));
+        final Object first = outer.get(0);
+        assertThat(outer.iterator().next() == first, is(true));
+        assertThat(((Map<String,Object>) first).get("path") == ((Map<String,Object>) outer.get(0)).get("path"), is(true));
+        assertEquals(Collections.singletonList("b"), ((List<Object>) outer.get(1)).get(1));
+    }
+
     private static void assertResponseEquals(ResponseMessage expected, ResponseMessage actual) {
         assertEquals(expected.getRequestId(), actual.getRequestId());
         // Status
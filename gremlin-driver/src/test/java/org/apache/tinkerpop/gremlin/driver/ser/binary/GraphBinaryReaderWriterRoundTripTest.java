@@ -310,4 +310,14 @@ public class GraphBinaryReaderWriterRoundTripTest {
             Optional.ofNullable(assertion).orElse((Consumer) r -> assertEquals(value, r)).accept(result);
         }
     }
+
+    @Test
+    public void shouldSkip() throws Exception {
+        final Buffer buffer = bufferFactory.create(allocator.buffer());
+        writer.write(value, buffer);
+        writer.write("next", buffer);
+        buffer.readerIndex(0);
+        reader.skip(buffer);
+        assertEquals("next", reader.read(buffer));
+    }
 }
@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResponseCredits;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,16 +47,29 @@ public class Context {
     private final GremlinExecutor gremlinExecutor;
     private final ScheduledExecutorService scheduledExecutorService;
     private final AtomicBoolean finalResponseWritten = new AtomicBoolean();
+    private final RequestPhases requestPhases;
 
     public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                    final Settings settings, final GraphManager graphManager,
                    final GremlinExecutor gremlinExecutor, final ScheduledExecutorService scheduledExecutorService) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService,
+                new RequestPhases(requestMessage));
+    }
+
+    /**
+     * Creates a context for a request whose phases were started before it, when the request arrived.
+     */
+    public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                   final Settings settings, final GraphManager graphManager,
+                   final GremlinExecutor gremlinExecutor, final ScheduledExecutorService scheduledExecutorService,
+                   final RequestPhases requestPhases) {
         this.requestMessage = requestMessage;
         this.channelHandlerContext = ctx;
         this.settings = settings;
         this.graphManager = graphManager;
         this.gremlinExecutor = gremlinExecutor;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.requestPhases = requestPhases;
     }
 
     public ScheduledExecutorService getScheduledExecutorService() {
@@ -97,6 +112,14 @@ public class Context {
         return gremlinExecutor;
     }
 
+    /**
+     * Gets the breakdown of the time spent on the request so far, which is recorded once the final response is
+     * written.
+     */
+    public RequestPhases getRequestPhases() {
+        return requestPhases;
+    }
+
     /**
      * Writes a response message to the underlying channel while ensuring that at most one
      * {@link ResponseStatusCode#isFinalResponse() final} response is written.
@@ -122,6 +145,10 @@ public class Context {
         final boolean messageIsFinal = code.isFinalResponse();
         if(finalResponseWritten.compareAndSet(false, messageIsFinal)) {
             this.getChannelHandlerContext().writeAndFlush(responseMessage);
+            if (messageIsFinal) {
+                ResponseCredits.release(this.getChannelHandlerContext().channel(), this.requestMessage.getRequestId());
+                requestPhases.record();
+            }
         } else {
             if (responseMessage instanceof Frame) {
                 ((Frame) responseMessage).tryRelease();
@@ -26,12 +26,13 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.ReferenceCountUtil;
-import org.javatuples.Pair;
+import org.javatuples.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,7 +42,7 @@ import java.util.concurrent.ScheduledExecutorService;
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 @ChannelHandler.Sharable
-public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestMessage, ThrowingConsumer<Context>>> {
+public class OpExecutorHandler extends SimpleChannelInboundHandler<Triplet<RequestMessage, ThrowingConsumer<Context>, RequestPhases>> {
     private static final Logger logger = LoggerFactory.getLogger(OpExecutorHandler.class);
 
     private final Settings settings;
@@ -58,12 +59,15 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
     }
 
     @Override
-    protected void channelRead0(final ChannelHandlerContext ctx, final Pair<RequestMessage, ThrowingConsumer<Context>> objects) throws Exception {
+    protected void channelRead0(final ChannelHandlerContext ctx, final Triplet<RequestMessage, ThrowingConsumer<Context>, RequestPhases> objects) throws Exception {
         final RequestMessage msg = objects.getValue0();
         final ThrowingConsumer<Context> op = objects.getValue1();
         final Context gremlinServerContext = new Context(msg, ctx,
-                settings, graphManager, gremlinExecutor, scheduledExecutorService);
+                settings, graphManager, gremlinExecutor, scheduledExecutorService, objects.getValue2());
         try {
+            // the phases of the request were started when it was decoded and the time to get here from there is
+            // spent waiting, then each op marks where its own phases end
+            gremlinServerContext.getRequestPhases().lap(RequestPhases.Phase.QUEUED);
             op.accept(gremlinServerContext);
         } catch (OpProcessorException ope) {
             // Ops may choose to throw OpProcessorException or write the error ResponseMessage down the line
@@ -82,4 +86,18 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
             ReferenceCountUtil.release(objects);
         }
     }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        WritabilityNotifier.notifyListeners(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // results can no longer be written so release anything that was waiting to write them
+        WritabilityNotifier.notifyListeners(ctx.channel());
+        ResponseCredits.notifyListeners(ctx.channel());
+        super.channelInactive(ctx);
+    }
 }
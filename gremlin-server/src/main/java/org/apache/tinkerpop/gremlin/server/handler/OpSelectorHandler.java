@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
@@ -31,15 +32,18 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.OpLoader;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
-import org.javatuples.Pair;
+import org.javatuples.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -68,16 +72,30 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
     @Override
     protected void decode(final ChannelHandlerContext ctx, final RequestMessage msg,
                           final List<Object> objects) throws Exception {
+        // a credit message adds to the responses that may be sent for a request already in process on the channel
+        if (msg.getOp().equals(Tokens.OPS_CREDIT)) {
+            ctx.writeAndFlush(credit(ctx, msg));
+            return;
+        }
+
+        // the phases of the request are timed from its arrival so that the wait for a worker is counted in full
+        final RequestPhases phases = new RequestPhases(msg);
         final Context gremlinServerContext = new Context(msg, ctx, settings,
-                graphManager, gremlinExecutor, this.scheduledExecutorService);
+                graphManager, gremlinExecutor, this.scheduledExecutorService, phases);
         try {
             // choose a processor to do the work based on the request message.
             final Optional<OpProcessor> processor = OpLoader.getProcessor(msg.getProcessor());
 
-            if (processor.isPresent())
+            if (processor.isPresent()) {
                 // the processor is known so use it to evaluate the message
-                objects.add(Pair.with(msg, processor.get().select(gremlinServerContext)));
-            else {
+                final Triplet<RequestMessage, ThrowingConsumer<Context>, RequestPhases> selected =
+                        Triplet.with(msg, processor.get().select(gremlinServerContext), phases);
+
+                // flow control only starts once the request is sure to be processed as only its final response
+                // releases it
+                ResponseCredits.register(ctx.channel(), msg);
+                objects.add(selected);
+            } else {
                 // invalid op processor selected so write back an error by way of OpProcessorException.
                 final String errorMessage = String.format("Invalid OpProcessor requested [%s]", msg.getProcessor());
                 throw new OpProcessorException(errorMessage, ResponseMessage.build(msg)
@@ -90,6 +108,30 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
         }
     }
 
+    /**
+     * Grants the credits of a {@link Tokens#OPS_CREDIT} message to the request it names and answers it.
+     */
+    private static ResponseMessage credit(final ChannelHandlerContext ctx, final RequestMessage msg) {
+        final Object credits = msg.getArgs().get(Tokens.ARGS_CREDITS);
+        final Object target = msg.getArgs().get(Tokens.ARGS_TARGET_REQUEST_ID);
+        UUID targetRequestId = null;
+        try {
+            targetRequestId = target instanceof UUID ? (UUID) target : null == target ? null : UUID.fromString(target.toString());
+        } catch (IllegalArgumentException ignored) {
+            // the message is answered with an error below
+        }
+
+        if (!(credits instanceof Number) || null == targetRequestId) {
+            final String errorMessage = String.format("A %s message requires a numeric %s argument and the %s of a request",
+                    Tokens.OPS_CREDIT, Tokens.ARGS_CREDITS, Tokens.ARGS_TARGET_REQUEST_ID);
+            return ResponseMessage.build(msg).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                    .statusMessage(errorMessage).create();
+        }
+
+        ResponseCredits.grant(ctx.channel(), targetRequestId, ((Number) credits).intValue());
+        return ResponseMessage.build(msg).code(ResponseStatusCode.NO_CONTENT).create();
+    }
+
     @Override
     public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
         // only need to handle this event if the idle monitor is on
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The flow control of the responses to a request that many requests can share a channel with. A request that sets
+ * {@link Tokens#ARGS_CREDITS} may only be sent that many {@code PARTIAL_CONTENT} batches before it has to wait for
+ * the client to ask for more with a {@link Tokens#OPS_CREDIT} message, so that a large result is produced no faster
+ * than it is consumed and cannot fill the channel ahead of the other requests on it. The final batch of a response
+ * needs no credit. A request without {@link Tokens#ARGS_CREDITS} is only subject to the writability of the channel.
+ *
+ * @author agent
+ */
+public final class ResponseCredits {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCredits.class);
+
+    private final AtomicInteger credits;
+    private final Queue<Runnable> listeners = new ConcurrentLinkedQueue<>();
+
+    private ResponseCredits(final int credits) {
+        this.credits = new AtomicInteger(credits);
+    }
+
+    /**
+     * Starts the flow control of the responses to the request if it asks for it.
+     */
+    public static void register(final Channel channel, final RequestMessage msg) {
+        final Object credits = msg.getArgs().get(Tokens.ARGS_CREDITS);
+        if (!(credits instanceof Number)) return;
+
+        final int initial = ((Number) credits).intValue();
+        if (initial < 1) {
+            logger.warn("Ignoring the {} of {} on request {} as it must be greater than zero", Tokens.ARGS_CREDITS, initial, msg.getRequestId());
+            return;
+        }
+
+        getCredits(channel).put(msg.getRequestId(), new ResponseCredits(initial));
+    }
+
+    /**
+     * Adds to the batches that may be sent for the request and resumes the response writing that was waiting on them.
+     * A grant for a request that has completed or that is not under flow control is ignored.
+     */
+    public static void grant(final Channel channel, final UUID requestId, final int credits) {
+        final ResponseCredits responseCredits = get(channel, requestId);
+        if (null == responseCredits || credits < 1) return;
+
+        responseCredits.credits.accumulateAndGet(credits, (current, added) -> (int) Math.min(Integer.MAX_VALUE, (long) current + added));
+        runListeners(responseCredits.listeners);
+    }
+
+    /**
+     * Determines if a {@code PARTIAL_CONTENT} batch may be sent for the request.
+     */
+    public static boolean hasCredit(final Channel channel, final UUID requestId) {
+        final ResponseCredits responseCredits = get(channel, requestId);
+        return null == responseCredits || responseCredits.credits.get() > 0;
+    }
+
+    /**
+     * Uses one credit of the request for a {@code PARTIAL_CONTENT} batch that is about to be sent. Only the thread
+     * that iterates the results of a request should call this, after checking {@link #hasCredit(Channel, UUID)}.
+     */
+    public static void consume(final Channel channel, final UUID requestId) {
+        final ResponseCredits responseCredits = get(channel, requestId);
+        if (null != responseCredits) responseCredits.credits.decrementAndGet();
+    }
+
+    /**
+     * Runs the task once the request has credit or once the channel is inactive. The task runs right away on the
+     * calling thread if that is already the case and otherwise on the event loop of the channel, so it should do no
+     * more than hand the work back to a worker.
+     */
+    public static void whenGranted(final Channel channel, final UUID requestId, final Runnable task) {
+        final ResponseCredits responseCredits = get(channel, requestId);
+        if (null == responseCredits) {
+            task.run();
+            return;
+        }
+
+        responseCredits.listeners.add(task);
+
+        // the credit may have arrived between the check of the caller and the registration of the task in which
+        // case no grant will come to run it
+        if (!channel.isActive() || responseCredits.credits.get() > 0) runListeners(responseCredits.listeners);
+    }
+
+    /**
+     * Blocks the calling thread until the request has credit or the channel is inactive.
+     */
+    public static void awaitCredit(final Channel channel, final UUID requestId) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        whenGranted(channel, requestId, latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Ends the flow control of a request once its final response is written.
+     */
+    public static void release(final Channel channel, final UUID requestId) {
+        final Map<UUID, ResponseCredits> all = channel.attr(StateKey.RESPONSE_CREDITS).get();
+        if (null == all) return;
+
+        final ResponseCredits responseCredits = all.remove(requestId);
+        if (null != responseCredits) runListeners(responseCredits.listeners);
+    }
+
+    /**
+     * Runs the tasks of every request on the channel that is waiting on credit, which is done once the channel is
+     * inactive as no more credit will come.
+     */
+    public static void notifyListeners(final Channel channel) {
+        final Map<UUID, ResponseCredits> all = channel.attr(StateKey.RESPONSE_CREDITS).get();
+        if (null != all) all.values().forEach(responseCredits -> runListeners(responseCredits.listeners));
+    }
+
+    private static ResponseCredits get(final Channel channel, final UUID requestId) {
+        final Map<UUID, ResponseCredits> all = channel.attr(StateKey.RESPONSE_CREDITS).get();
+        return null == all ? null : all.get(requestId);
+    }
+
+    private static ConcurrentMap<UUID, ResponseCredits> getCredits(final Channel channel) {
+        final Attribute<ConcurrentMap<UUID, ResponseCredits>> attribute = channel.attr(StateKey.RESPONSE_CREDITS);
+        final ConcurrentMap<UUID, ResponseCredits> all = attribute.get();
+        if (null != all) return all;
+
+        final ConcurrentMap<UUID, ResponseCredits> created = new ConcurrentHashMap<>();
+        final ConcurrentMap<UUID, ResponseCredits> existing = attribute.setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    private static void runListeners(final Queue<Runnable> listeners) {
+        // polling ensures that each task is only run once even if the event loop and a worker drain concurrently
+        Runnable task;
+        while ((task = listeners.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.warn("A task waiting on credit for a response failed", ex);
+            }
+        }
+    }
+}
@@ -24,6 +24,10 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import io.netty.util.AttributeKey;
 
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Keys used in the various handlers to store state in the pipeline.
  *
@@ -57,4 +61,14 @@ public final class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the tasks waiting on the channel to become writable again.
+     */
+    public static final AttributeKey<Queue<Runnable>> WRITABILITY_LISTENERS = AttributeKey.valueOf("writabilityListeners");
+
+    /**
+     * The key for the {@link ResponseCredits} of the requests on the channel that are under flow control.
+     */
+    public static final AttributeKey<ConcurrentMap<UUID, ResponseCredits>> RESPONSE_CREDITS = AttributeKey.valueOf("responseCredits");
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Lets result iteration wait for a slow client to catch up without polling. Tasks are registered against the
+ * {@code Channel} and are run once it becomes writable again or once it becomes inactive, as there is then nothing
+ * left to wait for. The {@link OpExecutorHandler} notifies the tasks as it sees the writability of the channel change.
+ *
+ * @author agent
+ */
+public final class WritabilityNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(WritabilityNotifier.class);
+
+    private WritabilityNotifier() {}
+
+    /**
+     * Runs the task once the channel is writable or inactive. The task runs right away on the calling thread if
+     * that is already the case and otherwise on the event loop of the channel, so it should do no more than hand the
+     * work back to a worker.
+     */
+    public static void whenWritable(final Channel channel, final Runnable task) {
+        final Queue<Runnable> listeners = getListeners(channel);
+        listeners.add(task);
+
+        // the channel may have drained between the check of the caller and the registration of the task in which
+        // case no event will come to run it
+        if (isReady(channel)) runListeners(listeners);
+    }
+
+    /**
+     * Blocks the calling thread until the channel is writable or inactive.
+     */
+    public static void awaitWritable(final Channel channel) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        whenWritable(channel, latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Runs the waiting tasks if the channel is writable or inactive.
+     */
+    public static void notifyListeners(final Channel channel) {
+        final Queue<Runnable> listeners = channel.attr(StateKey.WRITABILITY_LISTENERS).get();
+        if (null != listeners && isReady(channel)) runListeners(listeners);
+    }
+
+    private static boolean isReady(final Channel channel) {
+        return !channel.isActive() || channel.isWritable();
+    }
+
+    private static Queue<Runnable> getListeners(final Channel channel) {
+        final Attribute<Queue<Runnable>> attribute = channel.attr(StateKey.WRITABILITY_LISTENERS);
+        final Queue<Runnable> listeners = attribute.get();
+        if (null != listeners) return listeners;
+
+        final Queue<Runnable> created = new ConcurrentLinkedQueue<>();
+        final Queue<Runnable> existing = attribute.setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    private static void runListeners(final Queue<Runnable> listeners) {
+        // polling ensures that each task is only run once even if the event loop and a worker drain concurrently
+        Runnable task;
+        while ((task = listeners.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.warn("A task waiting on the writability of the channel failed", ex);
+            }
+        }
+    }
+}
@@ -30,8 +30,11 @@ import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResponseCredits;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityNotifier;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,7 +45,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A base {@link OpProcessor} implementation that processes an {@code Iterator} of results in a generalized way while
@@ -74,6 +76,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final Settings settings = context.getSettings();
         final MessageSerializer serializer = nettyContext.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = nettyContext.channel().attr(StateKey.USE_BINARY).get();
+        final RequestPhases phases = context.getRequestPhases();
         boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
@@ -82,7 +85,8 @@ public abstract class AbstractOpProcessor implements OpProcessor {
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
-            final Map<String, Object> attributes = generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings);
+            phases.lap(RequestPhases.Phase.ITERATE);
+            final Map<String, Object> attributes = phases.addTo(generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings));
             // as there is nothing left to iterate if we are transaction managed then we should execute a
             // commit here before we send back a NO_CONTENT which implies success
             if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
@@ -133,18 +137,23 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             // executor threads waiting for watermark to clear which will not clear in these cases since client has
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+            //
+            // a request under flow control also needs credit from the client for every batch but the last
+            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()
+                    && (!itty.hasNext() || ResponseCredits.hasCredit(nettyContext.channel(), msg.getRequestId()))) {
                 if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                    phases.lap(RequestPhases.Phase.ITERATE);
 
                     // serialize here because in sessionless requests the serialization must occur in the same
                     // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     Frame frame = null;
                     try {
+                        final Map<String, Object> statusAttributes = generateStatusAttributes(nettyContext, msg, code, itty, settings);
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
                                 generateResultMetaData(nettyContext, msg, code, itty, settings),
-                                generateStatusAttributes(nettyContext, msg, code, itty, settings));
+                                code == ResponseStatusCode.SUCCESS ? phases.addTo(statusAttributes) : statusAttributes);
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -186,7 +195,10 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                         throw ex;
                     }
 
-                    if (!moreInIterator) iterateComplete(nettyContext, msg, itty);
+                    if (moreInIterator)
+                        ResponseCredits.consume(nettyContext.channel(), msg.getRequestId());
+                    else
+                        iterateComplete(nettyContext, msg, itty);
 
                     // the flush is called after the commit has potentially occurred.  in this way, if a commit was
                     // required then it will be 100% complete before the client receives it. the "frame" at this point
@@ -194,16 +206,30 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     // so a new one should not be opened on the flush down the netty pipeline
                     context.writeAndFlush(code, frame);
                 }
-            } else {
+            } else if (!nettyContext.channel().isActive()) {
+                // the client went away so there is no one left to write the rest of the results to
+                logger.warn("Abandoning response writing as the channel closed before all results were written for {}", msg);
+                if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                break;
+            } else if ((forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) && nettyContext.channel().isWritable()) {
+                // the batch is ready and the channel could take it but the client has not asked for more of this
+                // response yet. wait for its credit as the worker has to stay with the request.
+                phases.lap(RequestPhases.Phase.ITERATE);
+                ResponseCredits.awaitCredit(nettyContext.channel(), msg.getRequestId());
+                phases.skip();
+            } else if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
                 // don't keep triggering this warning over and over again for the same request
                 if (!warnOnce) {
                     logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
                     warnOnce = true;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // the batch is ready but the client is lagging so hold here until netty signals that the channel has
+                // drained. this isn't blocking the IO thread - just a worker, which has to stay with the request as
+                // a script or session may have bound a transaction to it.
+                phases.lap(RequestPhases.Phase.ITERATE);
+                WritabilityNotifier.awaitWritable(nettyContext.channel());
+                phases.skip();
             }
         }
     }
@@ -265,8 +291,9 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         try {
             final ChannelHandlerContext nettyContext = ctx.getChannelHandlerContext();
 
+            final Frame frame;
             if (useBinary) {
-                return new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
+                frame = new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
                         .code(code)
                         .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
@@ -275,12 +302,15 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
                 final MessageTextSerializer textSerializer = (MessageTextSerializer) serializer;
-                return new Frame(textSerializer.serializeResponseAsString(ResponseMessage.build(msg)
+                frame = new Frame(textSerializer.serializeResponseAsString(ResponseMessage.build(msg)
                         .code(code)
                         .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
                         .result(aggregate).create()));
             }
+
+            ctx.getRequestPhases().lap(RequestPhases.Phase.SERIALIZE);
+            return frame;
         } catch (Exception ex) {
             logger.warn("The result [{}] in the request {} could not be serialized and returned.", aggregate, msg.getRequestId(), ex);
             final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
@@ -18,17 +18,26 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import org.apache.commons.configuration2.ConfigurationConverter;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.server.Context;
@@ -37,16 +46,21 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResponseCredits;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityNotifier;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,13 +69,17 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -75,13 +93,60 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Meter traversalCacheHitMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "hits"));
+    public static final Meter traversalCacheMissMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "misses"));
+
+    static {
+        MetricManager.INSTANCE.getGuage(new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                final long hits = traversalCacheHitMeter.getCount();
+                return Ratio.of(hits, hits + traversalCacheMissMeter.getCount());
+            }
+        }, name(GremlinServer.class, "op", "traversal", "cache", "hitRatio"));
+    }
+
+    /**
+     * Configuration setting for the maximum number of compiled traversals to hold in the cache from which requests
+     * with the same {@link Bytecode} are served. Setting it to zero disables the cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_MAX_SIZE = "traversalCacheMaxSize";
+
+    /**
+     * Default size of the cache of compiled traversals.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_MAX_SIZE = 1000;
+
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
+        }};
+    }
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    /**
+     * Strategy-applied traversals keyed by the {@link TraversalSource} and the shape of the {@link Bytecode} they were
+     * compiled from as given by {@link #createCacheKey(Bytecode, Map)}. They are never iterated themselves but cloned
+     * for each request. A shape that is {@link TraversalTemplate#PINNED} has its traversals keyed by its bound values
+     * as well. It is {@code null} when the cache is disabled.
+     */
+    private Cache<Pair<TraversalSource, Object>, TraversalTemplate> traversalCache = createCache(DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
+
     public TraversalOpProcessor() {
         super(false);
     }
 
+    @Override
+    public void init(final Settings settings) {
+        final long maxSize = ((Number) settings.optionalProcessor(TraversalOpProcessor.class).orElse(DEFAULT_SETTINGS).config.
+                getOrDefault(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE)).longValue();
+        this.traversalCache = createCache(maxSize);
+    }
+
     @Override
     public String getName() {
         return OP_PROCESSOR_NAME;
@@ -89,7 +154,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     @Override
     public void close() throws Exception {
-        // do nothing = no resources to release
+        if (null != this.traversalCache) this.traversalCache.invalidateAll();
     }
 
     @Override
@@ -103,6 +168,10 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 validateTraversalSourceAlias(context, message, validateTraversalRequest(message));
                 op = this::iterateBytecodeTraversal;
                 break;
+            case Tokens.OPS_BATCH:
+                validateTraversalSourceAlias(context, message, validateBatchRequest(message));
+                op = this::iterateBytecodeBatch;
+                break;
             case Tokens.OPS_INVALID:
                 final String msgInvalid = String.format("Message could not be parsed.  Check the format of the request. [%s]", message);
                 throw new OpProcessorException(msgInvalid, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_MALFORMED_REQUEST).statusMessage(msgInvalid).create());
@@ -131,16 +200,26 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         return validatedAliases(message).get();
     }
 
+    private static Map<String, String> validateBatchRequest(final RequestMessage message) throws OpProcessorException {
+        final Optional<Object> gremlin = message.optionalArgs(Tokens.ARGS_GREMLIN);
+        if (!gremlin.isPresent() || !(gremlin.get() instanceof List) || ((List) gremlin.get()).isEmpty()) {
+            final String msg = String.format("A message with [%s] op code requires a [%s] argument that is a non-empty List of traversals.", Tokens.OPS_BATCH, Tokens.ARGS_GREMLIN);
+            throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
+        }
+
+        return validatedAliases(message).get();
+    }
+
     private static Optional<Map<String, String>> validatedAliases(final RequestMessage message) throws OpProcessorException {
         final Optional<Map<String, String>> aliases = message.optionalArgs(Tokens.ARGS_ALIASES);
         if (!aliases.isPresent()) {
-            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES);
+            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", message.getOp(), Tokens.ARGS_ALIASES);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
         if (aliases.get().size() != 1 || !aliases.get().containsKey(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS)) {
             final String msg = String.format("A message with [%s] op code requires the [%s] argument to be a Map containing one alias assignment named '%s'.",
-                    Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
+                    message.getOp(), Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
@@ -171,12 +250,34 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
         final Traversal.Admin<?, ?> traversal;
+        final Consumer<Traversal.Admin<?, ?>> onCompiled;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
-            else
-                traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
+            final Map<String, Object> bindings = new HashMap<>();
+            final Object bytecodeKey = null == this.traversalCache || lambdaLanguage.isPresent() ? null : createCacheKey(bytecode, bindings);
+            Pair<TraversalSource, Object> cacheKey = null == bytecodeKey ? null : Pair.with(g, bytecodeKey);
+            TraversalTemplate template = null == cacheKey ? null : this.traversalCache.getIfPresent(cacheKey);
+            final boolean pinned = null != template && template.isPinned();
+            if (pinned) {
+                // the strategies depend on the bound values so only requests with the same ones share a traversal
+                cacheKey = Pair.with(g, Pair.with(bytecodeKey, bindings));
+                template = this.traversalCache.getIfPresent(cacheKey);
+            }
+
+            if (null != template) {
+                traversalCacheHitMeter.mark();
+                traversal = template.bind(bindings);
+                onCompiled = null;
+            } else {
+                if (null != cacheKey) traversalCacheMissMeter.mark();
+                if (!lambdaLanguage.isPresent())
+                    traversal = JavaTranslator.of(g).translate(bytecode);
+                else
+                    traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
+
+                final Pair<TraversalSource, Object> key = cacheKey;
+                onCompiled = null == key ? null : compiled -> cacheTraversal(key, pinned, bytecode, bindings, compiled);
+            }
         } catch (ScriptException ex) {
             logger.error("Traversal contains a lambda that cannot be compiled", ex);
             throw new OpProcessorException("Traversal contains a lambda that cannot be compiled",
@@ -191,55 +292,306 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                             .statusAttributeException(ex).create());
         }
 
+        context.getRequestPhases().lap(RequestPhases.Phase.COMPILE);
+
         final Timer.Context timerContext = traversalOpTimer.time();
-        final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
-            final Graph graph = g.getGraph();
+        final TraversalIteration iteration = new TraversalIteration(context, traversal, g.getGraph(), timerContext, onCompiled);
+        iteration.submit();
+        if (seto > 0) {
+            // Schedule a timeout in the thread pool for future execution
+            context.getScheduledExecutorService().schedule(iteration::timeout, seto, TimeUnit.MILLISECONDS);
+        }
+    }
 
-            try {
-                beforeProcessing(graph, context);
+    /**
+     * Iterates a {@link Tokens#OPS_BATCH} of traversals one after the other in a single worker and returns the results
+     * of each as one item of a single response. On a graph that supports transactions the batch is one unit of work
+     * which is committed if every traversal succeeds and otherwise rolled back as a whole, while on other graphs the
+     * traversals that succeed keep their effects. The traversals that fail or that are rolled back have an empty list
+     * of results and their error in the {@link Tokens#STATUS_ATTRIBUTE_BATCH_ERRORS} status attribute.
+     */
+    private void iterateBytecodeBatch(final Context context) throws Exception {
+        final RequestMessage msg = context.getRequestMessage();
+        logger.debug("Traversal batch request {} for in thread {}", msg.getRequestId(), Thread.currentThread().getName());
 
-                try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
-                } catch (Exception ex) {
-                    Throwable t = ex;
-                    if (ex instanceof UndeclaredThrowableException)
-                        t = t.getCause();
+        // earlier validation in selection of this op method should free us to cast these without worry
+        final List<Object> items = (List<Object>) msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        final Map<String, String> aliases = (Map<String, String>) msg.optionalArgs(Tokens.ARGS_ALIASES).get();
 
-                    if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
-                        final String errorMessage = String.format("A timeout occurred during traversal evaluation of [%s] - consider increasing the limit given to evaluationTimeout", msg);
-                        logger.warn(errorMessage);
-                        context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
-                                                             .statusMessage(errorMessage)
-                                                             .statusAttributeException(ex).create());
-                        onError(graph, context);
-                    } else {
-                        logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
-                        context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
-                                                             .statusMessage(ex.getMessage())
-                                                             .statusAttributeException(ex).create());
-                        onError(graph, context);
-                    }
-                }
+        final Map<String, Object> args = msg.getArgs();
+        final long seto = args.containsKey(Tokens.ARGS_EVAL_TIMEOUT) ?
+                ((Number) args.get(Tokens.ARGS_EVAL_TIMEOUT)).longValue() : context.getSettings().getEvaluationTimeout();
+
+        final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
+        final TraversalSource g = context.getGraphManager().getTraversalSource(traversalSourceName);
+        final Graph graph = g.getGraph();
+
+        // whichever of the worker and the timeout claims the request first is the one to answer it, as a worker that
+        // was cancelled before it started would never do so
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        final Timer.Context timerContext = traversalOpTimer.time();
+        final Future<?> future = context.getGremlinExecutor().getExecutorService().submit(() -> {
+            if (!claimed.compareAndSet(false, true)) return;
+
+            context.getRequestPhases().lap(RequestPhases.Phase.QUEUED);
+            try {
+                iterateBatch(context, items, g, traversalSourceName);
             } catch (Exception ex) {
-                logger.warn(String.format("Exception processing a Traversal on request [%s].", msg.getRequestId()), ex);
-                context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
-                                                     .statusMessage(ex.getMessage())
-                                                     .statusAttributeException(ex).create());
+                Throwable t = ex;
+                if (ex instanceof UndeclaredThrowableException)
+                    t = t.getCause();
+
+                if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
+                    writeTimeout(context, ex);
+                } else {
+                    logger.warn(String.format("Exception processing a Traversal batch on request [%s].", msg.getRequestId()), ex);
+                    context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                                                         .statusMessage(ex.getMessage())
+                                                         .statusAttributeException(ex).create());
+                }
                 onError(graph, context);
             } finally {
                 timerContext.stop();
             }
-
-            return null;
         });
 
-        final Future<?> executionFuture = context.getGremlinExecutor().getExecutorService().submit(evalFuture);
         if (seto > 0) {
-            // Schedule a timeout in the thread pool for future execution
-            context.getScheduledExecutorService().schedule(() -> executionFuture.cancel(true), seto, TimeUnit.MILLISECONDS);
+            context.getScheduledExecutorService().schedule(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    timerContext.stop();
+                    writeTimeout(context, null);
+                } else {
+                    future.cancel(true);
+                }
+            }, seto, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void iterateBatch(final Context context, final List<Object> items, final TraversalSource g,
+                              final String traversalSourceName) throws Exception {
+        final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Graph graph = g.getGraph();
+        final boolean transactional = graph.features().graph().supportsTransactions();
+
+        beforeProcessing(graph, context);
+
+        final List<Object> results = new ArrayList<>(items.size());
+        final List<String> errors = new ArrayList<>(items.size());
+        int failed = -1;
+        for (int ix = 0; ix < items.size(); ix++) {
+            if (Thread.interrupted()) throw new InterruptedException();
+
+            // the rest of a transactional batch would only be rolled back with the one that failed
+            if (failed >= 0 && transactional) {
+                results.add(Collections.emptyList());
+                errors.add(String.format("Not applied as traversal %s of the batch failed", failed));
+                continue;
+            }
+
+            try {
+                results.add(iterateBatchItem(context, items.get(ix), g, traversalSourceName));
+                errors.add(null);
+            } catch (Exception ex) {
+                final Throwable t = ex instanceof UndeclaredThrowableException ? ex.getCause() : ex;
+                if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) throw ex;
+
+                logger.debug(String.format("Traversal %s of the batch on request [%s] failed", ix, msg.getRequestId()), ex);
+                results.add(Collections.emptyList());
+                errors.add(ExceptionHelper.getMessageFromExceptionOrCause(ex));
+                if (failed < 0) failed = ix;
+            }
+        }
+
+        if (failed >= 0 && transactional) {
+            for (int ix = 0; ix < failed; ix++) {
+                results.set(ix, Collections.emptyList());
+                errors.set(ix, String.format("Rolled back as traversal %s of the batch failed", failed));
+            }
+            onError(graph, context);
+        }
+
+        final Map<String, Object> attributes = new HashMap<>(generateStatusAttributes(nettyContext, msg,
+                ResponseStatusCode.SUCCESS, Collections.emptyIterator(), context.getSettings()));
+        if (failed >= 0) attributes.put(Tokens.STATUS_ATTRIBUTE_BATCH_ERRORS, errors);
+
+        final Frame frame;
+        try {
+            frame = makeFrame(context, msg, nettyContext.channel().attr(StateKey.SERIALIZER).get(),
+                    nettyContext.channel().attr(StateKey.USE_BINARY).get(), results, ResponseStatusCode.SUCCESS,
+                    Collections.emptyMap(), context.getRequestPhases().addTo(attributes));
+        } catch (Exception ex) {
+            // exception is handled in makeFrame() - serialization error gets written back to driver at that point
+            onError(graph, context);
+            return;
+        }
+
+        try {
+            // as with a single traversal, the commit happens before the client sees the results
+            onTraversalSuccess(graph, context);
+        } catch (Exception ex) {
+            frame.tryRelease();
+            throw ex;
+        }
+
+        context.writeAndFlush(ResponseStatusCode.SUCCESS, frame);
+    }
+
+    /**
+     * Compiles and fully iterates one traversal of a batch. The traversal cache is not consulted as the traversals of
+     * a bulk load rarely share their arguments and would only push the traversals of other requests out of it.
+     */
+    private List<Object> iterateBatchItem(final Context context, final Object bytecodeObj, final TraversalSource g,
+                                          final String traversalSourceName) throws Exception {
+        final Bytecode bytecode = bytecodeObj instanceof Bytecode ? (Bytecode) bytecodeObj :
+                mapper.readValue(bytecodeObj.toString(), Bytecode.class);
+
+        final RequestPhases phases = context.getRequestPhases();
+        final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
+        final Traversal.Admin<?, ?> traversal = !lambdaLanguage.isPresent() ?
+                JavaTranslator.of(g).translate(bytecode) :
+                context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
+        phases.lap(RequestPhases.Phase.COMPILE);
+        traversal.applyStrategies();
+        phases.lap(RequestPhases.Phase.STRATEGIES);
+
+        final List<Object> result = new ArrayList<>();
+        new TraverserIterator(traversal).forEachRemaining(result::add);
+        phases.lap(RequestPhases.Phase.ITERATE);
+        return result;
+    }
+
+    private static void writeTimeout(final Context context, final Exception ex) {
+        final RequestMessage msg = context.getRequestMessage();
+        final String errorMessage = String.format("A timeout occurred during traversal evaluation of [%s] - consider increasing the limit given to evaluationTimeout", msg);
+        logger.warn(errorMessage);
+        final ResponseMessage.Builder response = ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                .statusMessage(errorMessage);
+        if (null != ex) response.statusAttributeException(ex);
+        context.writeAndFlush(response.create());
+    }
+
+    private static Cache<Pair<TraversalSource, Object>, TraversalTemplate> createCache(final long maxSize) {
+        return maxSize > 0 ? Caffeine.newBuilder().maximumSize(maxSize).build() : null;
+    }
+
+    /**
+     * Puts the traversal compiled for a request that missed the cache into it. The first traversal of a shape with
+     * bound values becomes a {@link TraversalTemplate} for the other values of its bindings where that is possible,
+     * and otherwise the shape is pinned and the traversal is keyed by its bound values as well.
+     */
+    private void cacheTraversal(final Pair<TraversalSource, Object> cacheKey, final boolean pinned,
+                                final Bytecode bytecode, final Map<String, Object> bindings,
+                                final Traversal.Admin<?, ?> compiled) {
+        final Cache<Pair<TraversalSource, Object>, TraversalTemplate> cache = this.traversalCache;
+        if (null == cache) return;
+
+        if (pinned || bindings.isEmpty()) {
+            cache.put(cacheKey, TraversalTemplate.of(compiled.clone()));
+            return;
+        }
+
+        final TraversalSource g = cacheKey.getValue0();
+        final TraversalTemplate template = TraversalTemplate.create(compiled, bytecode, bindings, b -> {
+            final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(b);
+            traversal.applyStrategies();
+            return traversal;
+        });
+        cache.put(cacheKey, template);
+        if (template.isPinned())
+            cache.put(Pair.with(g, Pair.with(cacheKey.getValue1(), bindings)), TraversalTemplate.of(compiled.clone()));
+    }
+
+    /**
+     * Creates the key under which the traversal compiled from the {@link Bytecode} is cached or returns {@code null}
+     * if it cannot be shared. Side-effects and sacks are seeded with objects that the traversal may modify, so each
+     * request has to deserialize its own. Strategies are equal to any other strategy of the same class, so they are
+     * keyed by their configuration, which must only hold plain values to be compared reliably. An explicitly bound
+     * string or number is keyed by the name and type of its binding and its value is added to the bindings, so that
+     * requests that only differ in those values share the key.
+     */
+    private static Object createCacheKey(final Bytecode bytecode, final Map<String, Object> bindings) {
+        final List<Object> sourceKey = new ArrayList<>();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final String operator = instruction.getOperator();
+            if (operator.equals(TraversalSource.Symbols.withSideEffect) || operator.equals(TraversalSource.Symbols.withSack))
+                return null;
+
+            if (operator.equals(TraversalSource.Symbols.withStrategies)) {
+                for (final Object argument : instruction.getArguments()) {
+                    final TraversalStrategy<?> strategy = (TraversalStrategy<?>) argument;
+                    final Map<Object, Object> configuration = ConfigurationConverter.getMap(strategy.getConfiguration());
+                    if (!configuration.values().stream().allMatch(TraversalOpProcessor::isPlainValue))
+                        return null;
+
+                    final Class<?> strategyClass = strategy instanceof TraversalStrategyProxy ?
+                            ((TraversalStrategyProxy<?>) strategy).getStrategyClass() : strategy.getClass();
+                    sourceKey.add(Pair.with(strategyClass, new HashMap<>(configuration)));
+                }
+            } else {
+                final Object instructionKey = createInstructionKey(instruction, bindings);
+                if (null == instructionKey) return null;
+                sourceKey.add(instructionKey);
+            }
+        }
+
+        final List<Object> stepKey = createInstructionsKey(bytecode.getStepInstructions(), bindings);
+        return null == stepKey ? null : Pair.with(sourceKey, stepKey);
+    }
+
+    private static List<Object> createInstructionsKey(final List<Bytecode.Instruction> instructions,
+                                                      final Map<String, Object> bindings) {
+        final List<Object> key = new ArrayList<>(instructions.size());
+        for (final Bytecode.Instruction instruction : instructions) {
+            final Object instructionKey = createInstructionKey(instruction, bindings);
+            if (null == instructionKey) return null;
+            key.add(instructionKey);
         }
+        return key;
+    }
+
+    /**
+     * Keys an instruction by its operator and arguments or returns {@code null} if one name is bound to two values.
+     */
+    private static Object createInstructionKey(final Bytecode.Instruction instruction, final Map<String, Object> bindings) {
+        final Object[] arguments = instruction.getArguments();
+        if (null == arguments) return instruction;
+
+        final List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(instruction.getOperator());
+        for (final Object argument : arguments) {
+            if (argument instanceof Bytecode.Binding && isBindableValue(((Bytecode.Binding<?>) argument).value())) {
+                final Bytecode.Binding<?> binding = (Bytecode.Binding<?>) argument;
+                final Object bound = bindings.putIfAbsent(binding.variable(), binding.value());
+                if (null != bound && !bound.equals(binding.value())) return null;
+                key.add(Pair.with(binding.variable(), binding.value().getClass()));
+            } else if (argument instanceof Bytecode) {
+                final Bytecode child = (Bytecode) argument;
+                final List<Object> sourceKey = createInstructionsKey(child.getSourceInstructions(), bindings);
+                final List<Object> stepKey = createInstructionsKey(child.getStepInstructions(), bindings);
+                if (null == sourceKey || null == stepKey) return null;
+                key.add(Pair.with(sourceKey, stepKey));
+            } else {
+                key.add(argument);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Bound values of these types are swapped into a {@link TraversalTemplate} rather than keyed.
+     */
+    private static boolean isBindableValue(final Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long ||
+                value instanceof Double || value instanceof Float;
+    }
+
+    private static boolean isPlainValue(final Object value) {
+        if (value instanceof Collection)
+            return ((Collection<?>) value).stream().allMatch(TraversalOpProcessor::isPlainValue);
+        return null == value || value instanceof String || value instanceof Number || value instanceof Boolean ||
+                value instanceof Character || value instanceof Enum;
     }
 
     protected void beforeProcessing(final Graph graph, final Context ctx) {
@@ -261,16 +613,30 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     }
 
     protected void handleIterator(final Context context, final Iterator itty, final Graph graph) throws InterruptedException {
+        iterate(context, itty, graph, null);
+    }
+
+    /**
+     * Writes the results of the iterator back to the client. When the client lags behind or has not granted the
+     * credit for another batch, a {@link TraversalIteration} is suspended with the batch it has aggregated so far and
+     * this method returns, so that the worker is given back to the pool. Without one, the worker waits for the
+     * channel to drain or for the credit to arrive.
+     */
+    private void iterate(final Context context, final Iterator itty, final Graph graph,
+                         final TraversalIteration iteration) throws InterruptedException {
         final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
         final MessageSerializer serializer = nettyContext.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = nettyContext.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
+        final List<Object> resumed = null == iteration ? null : iteration.batch;
+        final RequestPhases phases = context.getRequestPhases();
+        boolean warnOnce = null != iteration && iteration.warned;
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
-        if (!itty.hasNext()) {
-            final Map<String, Object> attributes = generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings);
+        if (null == resumed && !itty.hasNext()) {
+            phases.lap(RequestPhases.Phase.ITERATE);
+            final Map<String, Object> attributes = phases.addTo(generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings));
 
             // as there is nothing left to iterate if we are transaction managed then we should execute a
             // commit here before we send back a NO_CONTENT which implies success
@@ -285,15 +651,15 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         // the batch size can be overridden by the request
         final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
                 .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        List<Object> aggregate = null == resumed ? new ArrayList<>(resultIterationBatchSize) : resumed;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
-        // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
+        // the loop on calls to hasNext(). a resumed iteration always has its aggregated batch left to write.
+        boolean hasMore = null != resumed || itty.hasNext();
 
         while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
+            if (Thread.interrupted() || (null != iteration && iteration.timedOut)) throw new InterruptedException();
 
             // check if an implementation needs to force flush the aggregated results before the iteration batch
             // size is reached.
@@ -322,15 +688,20 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             // executor threads waiting for watermark to clear which will not clear in these cases since client has
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+            //
+            // a request under flow control also needs credit from the client for every batch but the last
+            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()
+                    && (!itty.hasNext() || ResponseCredits.hasCredit(nettyContext.channel(), msg.getRequestId()))) {
                 if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                    phases.lap(RequestPhases.Phase.ITERATE);
 
                     // serialize here because in sessionless requests the serialization must occur in the same
                     // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     final Map<String, Object> metadata = generateResultMetaData(nettyContext, msg, code, itty, settings);
-                    final Map<String, Object> statusAttrb = generateStatusAttributes(nettyContext, msg, code, itty, settings);
+                    final Map<String, Object> generated = generateStatusAttributes(nettyContext, msg, code, itty, settings);
+                    final Map<String, Object> statusAttrb = code == ResponseStatusCode.SUCCESS ? phases.addTo(generated) : generated;
                     Frame frame = null;
                     try {
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
@@ -370,7 +741,10 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                         throw ex;
                     }
 
-                    if (!itty.hasNext()) iterateComplete(nettyContext, msg, itty);
+                    if (code == ResponseStatusCode.PARTIAL_CONTENT)
+                        ResponseCredits.consume(nettyContext.channel(), msg.getRequestId());
+                    else
+                        iterateComplete(nettyContext, msg, itty);
 
                     // the flush is called after the commit has potentially occurred.  in this way, if a commit was
                     // required then it will be 100% complete before the client receives it. the "frame" at this point
@@ -378,16 +752,202 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     // so a new one should not be opened on the flush down the netty pipeline
                     context.writeAndFlush(code, frame);
                 }
-            } else {
+            } else if (!nettyContext.channel().isActive()) {
+                // the client went away so there is no one left to write the rest of the results to
+                logger.warn("Abandoning response writing as the channel closed before all results were written for {}", msg);
+                onError(graph, context);
+                break;
+            } else if ((forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) && nettyContext.channel().isWritable()) {
+                // the batch is ready and the channel could take it but the client has not asked for more of this
+                // response yet so leave the rest of the iteration to be resumed once its credit arrives
+                phases.lap(RequestPhases.Phase.ITERATE);
+                if (null != iteration) {
+                    iteration.suspendForCredit(aggregate);
+                    return;
+                }
+
+                ResponseCredits.awaitCredit(nettyContext.channel(), msg.getRequestId());
+                phases.skip();
+            } else if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
                 // don't keep triggering this warning over and over again for the same request
                 if (!warnOnce) {
                     logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
                     warnOnce = true;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // the batch is ready but the client is lagging. rather than hold the worker, leave the rest of the
+                // iteration to be resumed once netty signals that the channel has drained
+                phases.lap(RequestPhases.Phase.ITERATE);
+                if (null != iteration) {
+                    iteration.suspend(aggregate);
+                    return;
+                }
+
+                WritabilityNotifier.awaitWritable(nettyContext.channel());
+                phases.skip();
+            }
+        }
+    }
+
+    /**
+     * The iteration of a single traversal request, which runs in the {@link GremlinExecutor} pool. A traversal over
+     * a graph without transactions holds no state that is bound to the worker thread, so when the client cannot
+     * keep up, the iteration is suspended and then resubmitted to the pool once the channel becomes writable again
+     * or once the client grants the {@link ResponseCredits} it waits on.
+     * A traversal over a graph with transactions keeps its worker until it is done as the transaction may be bound
+     * to that thread.
+     */
+    private class TraversalIteration implements Runnable {
+        private final Context context;
+        private final Traversal.Admin<?, ?> traversal;
+        private final Graph graph;
+        private final Timer.Context timerContext;
+        private final Consumer<Traversal.Admin<?, ?>> onCompiled;
+        private final boolean suspendable;
+
+        /**
+         * Set when the iteration is handed back to the {@link WritabilityNotifier} and cleared by whichever of the
+         * writability event and the timeout resumes it first.
+         */
+        private final AtomicBoolean parked = new AtomicBoolean(false);
+
+        /**
+         * Cleared each time the iteration is submitted and set by whichever of the worker and the timeout gets to it
+         * first, as a worker that was cancelled while still queued would never answer the request.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private volatile Future<?> future;
+        private volatile boolean timedOut = false;
+
+        private Iterator itty;
+        private List<Object> batch;
+        private boolean warned;
+        private boolean suspended;
+        private boolean awaitingCredit;
+
+        private TraversalIteration(final Context context, final Traversal.Admin<?, ?> traversal, final Graph graph,
+                                   final Timer.Context timerContext, final Consumer<Traversal.Admin<?, ?>> onCompiled) {
+            this.context = context;
+            this.traversal = traversal;
+            this.graph = graph;
+            this.timerContext = timerContext;
+            this.onCompiled = onCompiled;
+            this.suspendable = !graph.features().graph().supportsTransactions();
+        }
+
+        private void submit() {
+            this.claimed.set(false);
+            this.future = this.context.getGremlinExecutor().getExecutorService().submit(this);
+        }
+
+        private void timeout() {
+            this.timedOut = true;
+
+            // a suspended iteration has no thread to interrupt so resume it to have it report the timeout
+            if (this.resume()) return;
+
+            if (this.claimed.compareAndSet(false, true)) {
+                // the iteration is queued behind other work in the pool, either for the first time or after it was
+                // resumed, so answer for it here. it holds no transaction between its turns so there is nothing to
+                // roll back
+                this.future.cancel(false);
+                this.timerContext.stop();
+                writeTimeout(this.context, null);
+            } else {
+                this.future.cancel(true);
+            }
+        }
+
+        private void suspend(final List<Object> batch) {
+            this.batch = batch;
+            this.warned = true;
+            this.suspended = true;
+            this.awaitingCredit = false;
+        }
+
+        private void suspendForCredit(final List<Object> batch) {
+            this.batch = batch;
+            this.suspended = true;
+            this.awaitingCredit = true;
+        }
+
+        private boolean resume() {
+            if (!this.parked.compareAndSet(true, false)) return false;
+
+            // the time spent parked was spent waiting on the client rather than on a worker
+            this.context.getRequestPhases().skip();
+            this.submit();
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (!this.claimed.compareAndSet(false, true)) return;
+
+            final RequestMessage msg = this.context.getRequestMessage();
+            this.context.getRequestPhases().lap(RequestPhases.Phase.QUEUED);
+            this.suspended = false;
+
+            try {
+                if (null == this.itty) beforeProcessing(this.graph, this.context);
+
+                try {
+                    if (this.timedOut) throw new InterruptedException();
+
+                    if (null == this.itty) {
+                        // compile the traversal - without it getEndStep() has nothing in it. a traversal cloned from
+                        // the cache is already compiled, otherwise keep an untouched copy for the requests to come
+                        if (!this.traversal.isLocked()) {
+                            this.traversal.applyStrategies();
+                            this.context.getRequestPhases().lap(RequestPhases.Phase.STRATEGIES);
+                            if (null != this.onCompiled) this.onCompiled.accept(this.traversal);
+                        }
+                        this.itty = new TraverserIterator(this.traversal);
+                        if (!this.suspendable) {
+                            handleIterator(this.context, this.itty, this.graph);
+                            return;
+                        }
+                    }
+
+                    iterate(this.context, this.itty, this.graph, this);
+                } catch (Exception ex) {
+                    Throwable t = ex;
+                    if (ex instanceof UndeclaredThrowableException)
+                        t = t.getCause();
+
+                    if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
+                        writeTimeout(this.context, ex);
+                        onError(this.graph, this.context);
+                    } else {
+                        logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
+                        this.context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                                                                  .statusMessage(ex.getMessage())
+                                                                  .statusAttributeException(ex).create());
+                        onError(this.graph, this.context);
+                    }
+                }
+            } catch (Exception ex) {
+                logger.warn(String.format("Exception processing a Traversal on request [%s].", msg.getRequestId()), ex);
+                this.context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                                                          .statusMessage(ex.getMessage())
+                                                          .statusAttributeException(ex).create());
+                onError(this.graph, this.context);
+            } finally {
+                if (this.suspended) {
+                    this.parked.set(true);
+                    final Channel channel = this.context.getChannelHandlerContext().channel();
+                    if (this.awaitingCredit)
+                        ResponseCredits.whenGranted(channel, msg.getRequestId(), this::resume);
+                    else
+                        WritabilityNotifier.whenWritable(channel, this::resume);
+
+                    // the timeout may have fired before the iteration was parked in which case it found nothing
+                    // to resume
+                    if (this.timedOut) this.resume();
+                } else {
+                    this.timerContext.stop();
+                }
             }
         }
     }
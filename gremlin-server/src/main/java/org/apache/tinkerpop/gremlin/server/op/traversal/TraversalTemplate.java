@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A compiled traversal held in the cache of the {@link TraversalOpProcessor} together with the predicates that the
+ * bound values of its {@link Bytecode} ended up in, so that a request of the same shape with other bound values is
+ * served by a clone of it that is given those values. A shape whose strategies depend on the bound values, or whose
+ * bound values do not each end up in a single predicate, is {@link #PINNED} and its traversals are only shared by
+ * requests with the same bound values.
+ *
+ * @author agent
+ */
+final class TraversalTemplate {
+
+    /**
+     * Marks a shape whose compiled traversals cannot be given other bound values.
+     */
+    static final TraversalTemplate PINNED = new TraversalTemplate(null, Collections.emptyMap());
+
+    private final Traversal.Admin<?, ?> traversal;
+
+    /**
+     * The index of the predicate that each binding is swapped into, in the order of {@link #predicates(Traversal.Admin)}.
+     */
+    private final Map<String, Integer> slots;
+
+    private TraversalTemplate(final Traversal.Admin<?, ?> traversal, final Map<String, Integer> slots) {
+        this.traversal = traversal;
+        this.slots = slots;
+    }
+
+    /**
+     * A template of a traversal that has no bound values to swap.
+     */
+    static TraversalTemplate of(final Traversal.Admin<?, ?> traversal) {
+        return new TraversalTemplate(traversal, Collections.emptyMap());
+    }
+
+    /**
+     * Creates the template of a shape from the traversal that was compiled for the first request of it. The shape is
+     * compiled a second time with other bound values of the same types so that each one can be traced to the
+     * predicate it ended up in. The strategies are taken to not depend on the bound values if that traversal is the
+     * same as the one of the request once it is given the bound values of the request.
+     */
+    static TraversalTemplate create(final Traversal.Admin<?, ?> compiled, final Bytecode bytecode,
+                                    final Map<String, Object> bindings,
+                                    final Function<Bytecode, Traversal.Admin<?, ?>> compiler) {
+        final Map<String, Object> probes = new HashMap<>(bindings.size());
+        for (final Map.Entry<String, Object> binding : bindings.entrySet()) {
+            probes.put(binding.getKey(), probe(binding.getValue()));
+        }
+
+        final Traversal.Admin<?, ?> template;
+        try {
+            template = compiler.apply(rebind(bytecode, probes));
+        } catch (Exception ex) {
+            // the other values need not be valid arguments of the steps they are given to
+            return PINNED;
+        }
+
+        final List<P> predicates = predicates(template);
+        final Map<String, Integer> slots = new HashMap<>(probes.size());
+        for (final Map.Entry<String, Object> probe : probes.entrySet()) {
+            int slot = -1;
+            for (int ix = 0; ix < predicates.size(); ix++) {
+                if (predicates.get(ix).getValue() == probe.getValue()) {
+                    if (slot >= 0) return PINNED;
+                    slot = ix;
+                }
+            }
+            if (slot < 0) return PINNED;
+            slots.put(probe.getKey(), slot);
+        }
+
+        // the template holds the values of the request from here on, which makes it comparable to its traversal
+        for (final Map.Entry<String, Integer> slot : slots.entrySet()) {
+            predicates.get(slot.getValue()).setValue(bindings.get(slot.getKey()));
+        }
+        if (!template.toString().equals(compiled.toString())) return PINNED;
+
+        // a step that shares its predicates with its clones cannot give each of them values of their own
+        final List<P> cloned = predicates(template.clone());
+        for (final Integer slot : slots.values()) {
+            if (cloned.get(slot) == predicates.get(slot)) return PINNED;
+        }
+
+        return new TraversalTemplate(template, slots);
+    }
+
+    boolean isPinned() {
+        return null == this.traversal;
+    }
+
+    /**
+     * Clones the compiled traversal and gives it the bound values of a request.
+     */
+    Traversal.Admin<?, ?> bind(final Map<String, Object> bindings) {
+        final Traversal.Admin<?, ?> clone = this.traversal.clone();
+        if (!this.slots.isEmpty()) {
+            final List<P> predicates = predicates(clone);
+            for (final Map.Entry<String, Integer> slot : this.slots.entrySet()) {
+                predicates.get(slot.getValue()).setValue(bindings.get(slot.getKey()));
+            }
+        }
+        return clone;
+    }
+
+    /**
+     * Makes another value of the same type as a bound value, which is a new instance so that it is not mistaken for
+     * an equal value elsewhere in the traversal.
+     */
+    private static Object probe(final Object value) {
+        if (value instanceof Integer)
+            return (Integer) value ^ 0x40000000;
+        else if (value instanceof Long)
+            return (Long) value ^ 0x4000000000000000L;
+        else if (value instanceof Double)
+            return (Double) value + 1.5d;
+        else if (value instanceof Float)
+            return (Float) value + 1.5f;
+        else
+            return value + "\u0000";
+    }
+
+    private static Bytecode rebind(final Bytecode bytecode, final Map<String, Object> values) {
+        final Bytecode rebound = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            rebound.addSource(instruction.getOperator(), rebind(instruction.getArguments(), values));
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            rebound.addStep(instruction.getOperator(), rebind(instruction.getArguments(), values));
+        }
+        return rebound;
+    }
+
+    private static Object[] rebind(final Object[] arguments, final Map<String, Object> values) {
+        if (null == arguments) return null;
+
+        final Object[] rebound = new Object[arguments.length];
+        for (int ix = 0; ix < arguments.length; ix++) {
+            final Object argument = arguments[ix];
+            if (argument instanceof Bytecode.Binding && values.containsKey(((Bytecode.Binding<?>) argument).variable())) {
+                final String variable = ((Bytecode.Binding<?>) argument).variable();
+                rebound[ix] = new Bytecode.Binding<>(variable, values.get(variable));
+            } else if (argument instanceof Bytecode) {
+                rebound[ix] = rebind((Bytecode) argument, values);
+            } else {
+                rebound[ix] = argument;
+            }
+        }
+        return rebound;
+    }
+
+    /**
+     * Gathers the predicates that a bound value may end up in, in the order of the steps of the traversal and of
+     * their children.
+     */
+    private static List<P> predicates(final Traversal.Admin<?, ?> traversal) {
+        final List<P> predicates = new ArrayList<>();
+        addPredicates(traversal, predicates);
+        return predicates;
+    }
+
+    private static void addPredicates(final Traversal.Admin<?, ?> traversal, final List<P> predicates) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    // an id is turned into a string when the container is made, so it cannot be swapped afterwards
+                    if (!hasContainer.getKey().equals(T.id.getAccessor()))
+                        predicates.add(hasContainer.getPredicate());
+                }
+            } else if (step instanceof IsStep) {
+                predicates.add(((IsStep<?>) step).getPredicate());
+            }
+
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    addPredicates(child, predicates);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    addPredicates(child, predicates);
+                }
+            }
+        }
+    }
+}
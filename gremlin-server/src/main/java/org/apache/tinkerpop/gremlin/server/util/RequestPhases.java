@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The breakdown of the time a request spends in Gremlin Server by the phase of its processing. The time since the
+ * last call to {@link #lap(Phase)} is attributed to the phase that is given to the next one, so the code that
+ * processes a request marks the end of each phase as it goes. Time spent waiting on the client, either for the
+ * channel to drain or for credit, is left out with {@link #skip()}. Once the final response is written, the time of
+ * each phase the request went through is recorded in the {@code op.phase} timers of the {@link MetricManager}.
+ * <p/>
+ * The phases are started when the request is decoded and are marked by the workers that process it, by the event loop
+ * as it resumes a request that was waiting on the client and by whichever thread writes the final response, such as
+ * that of a timeout, so the methods of an instance are synchronized.
+ *
+ * @author agent
+ */
+public final class RequestPhases {
+
+    public enum Phase {
+        /**
+         * Waiting for a worker to start or resume the processing of the request.
+         */
+        QUEUED,
+
+        /**
+         * Turning the request into something to iterate - the translation of {@code Bytecode} to a traversal or the
+         * evaluation of a script.
+         */
+        COMPILE,
+
+        /**
+         * Applying the strategies of a traversal, which a traversal from the cache does not need.
+         */
+        STRATEGIES,
+
+        /**
+         * Producing the results.
+         */
+        ITERATE,
+
+        /**
+         * Serializing the results into response messages.
+         */
+        SERIALIZE;
+
+        private final Timer timer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "phase", name().toLowerCase()));
+
+        public Timer getTimer() {
+            return timer;
+        }
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final boolean[] entered = new boolean[Phase.values().length];
+    private final boolean reported;
+    private boolean recorded = false;
+    private long mark = System.nanoTime();
+
+    public RequestPhases(final RequestMessage msg) {
+        this.reported = Boolean.TRUE.equals(msg.getArgs().get(Tokens.ARGS_TIMINGS));
+    }
+
+    /**
+     * Attributes the time since the last mark to the phase.
+     */
+    public synchronized void lap(final Phase phase) {
+        final long now = System.nanoTime();
+        nanos[phase.ordinal()] += now - mark;
+        entered[phase.ordinal()] = true;
+        mark = now;
+    }
+
+    /**
+     * Leaves the time since the last mark out of all phases.
+     */
+    public synchronized void skip() {
+        mark = System.nanoTime();
+    }
+
+    /**
+     * Gets the time attributed to the phase so far.
+     */
+    public synchronized long getTime(final Phase phase, final TimeUnit unit) {
+        return unit.convert(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the {@link Tokens#STATUS_ATTRIBUTE_TIMINGS} to the status attributes of a final response if the request
+     * asked for them with {@link Tokens#ARGS_TIMINGS}. They hold the microseconds of each phase up to this point,
+     * which leaves out the serialization of the response they are added to.
+     */
+    public synchronized Map<String, Object> addTo(final Map<String, Object> statusAttributes) {
+        if (!reported) return statusAttributes;
+
+        final Map<String, Object> timings = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            if (entered[phase.ordinal()]) timings.put(phase.name().toLowerCase(), getTime(phase, TimeUnit.MICROSECONDS));
+        }
+
+        final Map<String, Object> attributes = null == statusAttributes ? new HashMap<>() : new HashMap<>(statusAttributes);
+        attributes.put(Tokens.STATUS_ATTRIBUTE_TIMINGS, timings);
+        return attributes;
+    }
+
+    /**
+     * Records the time of each phase the request went through in its timer. Only the first call has an effect.
+     */
+    public synchronized void record() {
+        if (recorded) return;
+        recorded = true;
+
+        for (Phase phase : Phase.values()) {
+            if (entered[phase.ordinal()]) phase.getTimer().update(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server;
 
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
@@ -85,6 +86,12 @@ public class ContextTest {
         });
     }
 
+    @Before
+    public void setupChannel() {
+        // a final response releases the flow control state that is kept on the channel
+        Mockito.when(ctx.channel()).thenReturn(new EmbeddedChannel());
+    }
+
     @Before
     public void addRecordingAppender() {
         final Logger rootLogger = Logger.getRootLogger();
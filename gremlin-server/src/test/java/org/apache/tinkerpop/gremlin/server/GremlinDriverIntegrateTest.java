@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.driver.RequestOptions;
 import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.ResultSet;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.TraversalBatcher;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
 import org.apache.tinkerpop.gremlin.driver.handler.WebSocketClientHandler;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
@@ -40,9 +41,12 @@ import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.jsr223.ScriptFileGremlinPlugin;
 import org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.Storage;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
@@ -85,6 +89,7 @@ import java.util.stream.IntStream;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
@@ -588,6 +593,95 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldStreamWithFlowControl() throws Exception {
+        // a single connection carries both requests so the small one has to get through while the large one waits on
+        // the client to consume it
+        final Cluster cluster = TestClientFactory.build().
+                minConnectionPoolSize(1).
+                maxConnectionPoolSize(1).
+                resultIterationBatchSize(2).
+                creditsPerRequest(1).create();
+        final Client client = cluster.connect();
+
+        final ResultSet large = client.submit("(1..1000).toList()");
+        assertEquals(2, client.submit("1+1").all().get().get(0).getInt());
+
+        // the server may only be two batches ahead of the client - the one it was given credit for and the last
+        assertThat(large.some(1).get().get(0).getInt(), is(1));
+        assertThat(large.allItemsAvailable(), is(false));
+
+        final AtomicInteger counter = new AtomicInteger(1);
+        large.stream().forEach(r -> assertEquals(counter.incrementAndGet(), r.getInt()));
+        assertEquals(1000, counter.get());
+        assertThat(large.allItemsAvailable(), is(true));
+
+        final List<Result> all = client.submit("(1..1000).toList()").all().get();
+        assertEquals(1000, all.size());
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldSubmitTraversalsInBatches() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect().alias("g");
+        final GraphTraversalSource g = AnonymousTraversalSource.traversal().withGraph(EmptyGraph.instance());
+
+        final TraversalBatcher batcher = TraversalBatcher.build(client).maxSize(3).maxDelay(100).create();
+        final CompletableFuture<List<Result>> first = batcher.submit(g.addV("person").property(T.id, "batch-1"));
+        final CompletableFuture<List<Result>> duplicate = batcher.submit(g.addV("person").property(T.id, "batch-1"));
+        final CompletableFuture<List<Result>> second = batcher.submit(g.addV("person").property(T.id, "batch-2"));
+
+        assertEquals("batch-1", ((Vertex) ((Traverser) first.get().get(0).getObject()).get()).id());
+        assertEquals("batch-2", ((Vertex) ((Traverser) second.get().get(0).getObject()).get()).id());
+        try {
+            duplicate.get();
+            fail("The traversal should have failed as a vertex with its id already exists");
+        } catch (Exception ex) {
+            assertThat(ex.getCause(), instanceOf(ResponseException.class));
+        }
+
+        // the graph of the server does not support transactions so the traversals that succeeded were kept
+        assertEquals(2, client.submit("g.V('batch-1','batch-2').count()").all().get().get(0).getInt());
+
+        // the last batch is sent on close even though it is not full
+        final CompletableFuture<List<Result>> last = batcher.submit(g.V("batch-1", "batch-2").drop());
+        batcher.close();
+        assertEquals(0, last.get().size());
+        assertEquals(0, client.submit("g.V('batch-1','batch-2').count()").all().get().get(0).getInt());
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldReturnTimingsWhenAsked() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        final RequestOptions options = RequestOptions.build().timings(true).create();
+
+        final ResultSet script = client.submit("[1,2,3]", options);
+        assertEquals(3, script.all().get().size());
+        final Map<String, Object> scriptTimings = (Map<String, Object>) script.statusAttributes().get().get(Tokens.STATUS_ATTRIBUTE_TIMINGS);
+        // the serialization of the final response is not part of its own timings
+        assertEquals(3, scriptTimings.size());
+        assertThat(scriptTimings.keySet(), hasItems("queued", "compile", "iterate"));
+
+        final GraphTraversalSource g = AnonymousTraversalSource.traversal().withGraph(EmptyGraph.instance());
+        final ResultSet traversal = client.alias("g").submit(g.inject(1, 2, 3).asAdmin().getBytecode(), options);
+        assertEquals(3, traversal.all().get().size());
+        final Map<String, Object> traversalTimings = (Map<String, Object>) traversal.statusAttributes().get().get(Tokens.STATUS_ATTRIBUTE_TIMINGS);
+        // a traversal from the cache has no strategies to apply
+        assertThat(traversalTimings.keySet(), hasItems("queued", "compile", "iterate"));
+
+        // timings are only returned when asked for
+        final ResultSet plain = client.submit("[1,2,3]");
+        plain.all().get();
+        assertThat(plain.statusAttributes().get().containsKey(Tokens.STATUS_ATTRIBUTE_TIMINGS), is(false));
+
+        cluster.close();
+    }
+
     @Test
     public void shouldIterate() throws Exception {
         final Cluster cluster = TestClientFactory.open();
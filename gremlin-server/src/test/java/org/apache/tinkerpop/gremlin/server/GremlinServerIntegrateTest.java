@@ -25,6 +25,7 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.ResultSet;
@@ -41,15 +42,20 @@ import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.SimpleSandboxExtension;
 import org.apache.tinkerpop.gremlin.jsr223.ScriptFileGremlinPlugin;
 import org.apache.tinkerpop.gremlin.structure.RemoteGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.Log4jRecordingAppender;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.hamcrest.CoreMatchers;
@@ -58,6 +64,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -65,6 +72,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -193,6 +201,10 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.evaluationTimeout = 500;
                 break;
+            case "shouldTimeOutRemoteTraversalResumedIntoSaturatedPool":
+                settings.gremlinPool = 1;
+                settings.evaluationTimeout = 1000;
+                break;
             case "shouldPingChannelIfClientDies":
                 settings.keepAliveInterval = 1000;
                 break;
@@ -321,6 +333,99 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldTimeOutRemoteTraversalResumedIntoSaturatedPool() throws Exception {
+        final Cluster cluster = TestClientFactory.build().create();
+        final Client client = cluster.connect();
+        try {
+            // the traversal sends its first batch and then waits on the client for the credit to send the next
+            final Bytecode bytecode = EmptyGraph.instance().traversal().inject(1, 2, 3, 4, 5).asAdmin().getBytecode();
+            final ResultSet results = client.alias("g").submitAsync(bytecode,
+                    RequestOptions.build().batchSize(1).credits(1).create()).get();
+            while (results.getAvailableItemCount() == 0) Thread.sleep(10);
+
+            // take up the only worker of the pool for longer than the traversal is allowed to run
+            final CompletableFuture<ResultSet> sleeping = client.submitAsync("Thread.sleep(4000);'done'",
+                    RequestOptions.build().timeout(30000).create());
+            Thread.sleep(250);
+
+            // consuming the first batch grants the credit, which queues the traversal behind the sleeping script
+            assertEquals(1, results.one().getInt());
+
+            try {
+                results.all().get(3000, TimeUnit.MILLISECONDS);
+                fail("This traversal should have timed out");
+            } catch (ExecutionException ex) {
+                final Throwable t = ex.getCause();
+                assertThat(t, instanceOf(ResponseException.class));
+                assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, ((ResponseException) t).getResponseStatusCode());
+            }
+
+            assertEquals("done", sleeping.get().one().getString());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldServeRepeatedRemoteTraversalFromCache() throws Exception {
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        graphGetter.get().traversal().addV("person").property("name", "marko").iterate();
+
+        final long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("marko", g.V().has("person", "name", "marko").values("name").next());
+        }
+
+        // the first request compiles the traversal and the others clone it
+        assertEquals(hits + 2, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+
+        // a different argument needs a traversal of its own
+        assertThat(g.V().has("person", "name", "stephen").hasNext(), is(false));
+        assertEquals(hits + 2, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+    }
+
+    @Test
+    public void shouldServeRemoteTraversalsThatDifferInBoundValuesFromCache() throws Exception {
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final GraphTraversalSource local = graphGetter.get().traversal();
+        local.addV("person").property("name", "marko").property("age", 29).iterate();
+        local.addV("person").property("name", "stephen").property("age", 32).iterate();
+        final Bindings b = Bindings.instance();
+
+        // the first request compiles the traversal and puts it in the cache
+        assertThat(g.V().has("person", "name", b.of("name", "daniel")).values("age").hasNext(), is(false));
+
+        // the others are given their own value in a clone of it
+        final long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        assertEquals(32, g.V().has("person", "name", b.of("name", "stephen")).values("age").next());
+        assertEquals(29, g.V().has("person", "name", b.of("name", "marko")).values("age").next());
+        assertEquals(hits + 2, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+    }
+
+    @Test
+    public void shouldServeConcurrentClonesOfCachedRemoteTraversal() throws Exception {
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final GraphTraversalSource local = graphGetter.get().traversal();
+        IntStream.range(0, 100).forEach(i -> local.addV("person").property("i", i).iterate());
+        final List<Integer> expected = IntStream.range(50, 100).boxed().collect(Collectors.toList());
+
+        // the first request compiles the traversal and puts it in the cache
+        assertEquals(expected, g.V().hasLabel("person").has("i", P.gte(50)).order().by("i").values("i").fold().next());
+
+        // each concurrent request iterates a clone of the one cached traversal, so the clones must not share the
+        // state of its barriers
+        final long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        final List<CompletableFuture<List<Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(g.V().hasLabel("person").has("i", P.gte(50)).order().by("i").values("i").fold().promise(Traversal::next));
+        }
+        for (CompletableFuture<List<Object>> future : futures) {
+            assertEquals(expected, future.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(hits + 32, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+    }
+
     @Test
     public void shouldTimeOutRemoteTraversalWithPerRequestOption() {
         final GraphTraversalSource g = traversal().withRemote(conf);
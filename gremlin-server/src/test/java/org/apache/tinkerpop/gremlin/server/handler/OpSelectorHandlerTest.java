@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class OpSelectorHandlerTest {
+
+    private static EmbeddedChannel createChannel() {
+        return new EmbeddedChannel(new OpSelectorHandler(new Settings(), null, null, null, null));
+    }
+
+    @Test
+    public void shouldNotHoldCreditsOfRejectedRequest() {
+        final EmbeddedChannel channel = createChannel();
+        channel.writeInbound(RequestMessage.build(Tokens.OPS_EVAL).processor("not-a-processor")
+                .add(Tokens.ARGS_GREMLIN, "1+1").add(Tokens.ARGS_CREDITS, 4).create());
+
+        final ResponseMessage response = channel.readOutbound();
+        assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, response.getStatus().getCode());
+
+        final Map<UUID, ResponseCredits> credits = channel.attr(StateKey.RESPONSE_CREDITS).get();
+        assertTrue(null == credits || credits.isEmpty());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldAnswerCredit() {
+        final EmbeddedChannel channel = createChannel();
+        final RequestMessage credit = RequestMessage.build(Tokens.OPS_CREDIT)
+                .add(Tokens.ARGS_TARGET_REQUEST_ID, UUID.randomUUID()).add(Tokens.ARGS_CREDITS, 2).create();
+        channel.writeInbound(credit);
+
+        final ResponseMessage response = channel.readOutbound();
+        assertEquals(credit.getRequestId(), response.getRequestId());
+        assertEquals(ResponseStatusCode.NO_CONTENT, response.getStatus().getCode());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldAnswerCreditWithoutTargetWithError() {
+        final EmbeddedChannel channel = createChannel();
+        final RequestMessage credit = RequestMessage.build(Tokens.OPS_CREDIT).add(Tokens.ARGS_CREDITS, 2).create();
+        channel.writeInbound(credit);
+
+        final ResponseMessage response = channel.readOutbound();
+        assertEquals(credit.getRequestId(), response.getRequestId());
+        assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, response.getStatus().getCode());
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author agent
+ */
+public class WritabilityNotifierTest {
+
+    private static EmbeddedChannel createBlockedChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new OpExecutorHandler(null, null, null, null));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.buffer().writeZero(32));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+
+    @Test
+    public void shouldRunTaskRightAwayIfChannelIsWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new OpExecutorHandler(null, null, null, null));
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityNotifier.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void shouldRunTaskOnceChannelDrains() {
+        final EmbeddedChannel channel = createBlockedChannel();
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityNotifier.whenWritable(channel, runs::incrementAndGet);
+        WritabilityNotifier.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.flush();
+        assertEquals(2, runs.get());
+
+        // tasks only run once
+        channel.write(Unpooled.buffer().writeZero(32));
+        channel.flush();
+        assertEquals(2, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRunTaskOnceChannelCloses() {
+        final EmbeddedChannel channel = createBlockedChannel();
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityNotifier.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.close();
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAwaitChannelToDrain() throws Exception {
+        final EmbeddedChannel channel = createBlockedChannel();
+        final Thread flusher = new Thread(channel::flush);
+        flusher.start();
+        WritabilityNotifier.awaitWritable(channel);
+        channel.finishAndReleaseAll();
+    }
+}
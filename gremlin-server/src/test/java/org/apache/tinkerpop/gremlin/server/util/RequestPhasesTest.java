@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent
+ */
+public class RequestPhasesTest {
+
+    @Test
+    public void shouldAttributeTimeToTheNextLap() throws Exception {
+        final RequestPhases phases = new RequestPhases(RequestMessage.build("test").create());
+        Thread.sleep(50);
+        phases.lap(RequestPhases.Phase.COMPILE);
+        phases.lap(RequestPhases.Phase.ITERATE);
+
+        assertThat(phases.getTime(RequestPhases.Phase.COMPILE, TimeUnit.MILLISECONDS), greaterThanOrEqualTo(50L));
+        assertThat(phases.getTime(RequestPhases.Phase.ITERATE, TimeUnit.MILLISECONDS), lessThan(50L));
+    }
+
+    @Test
+    public void shouldLeaveSkippedTimeOut() throws Exception {
+        final RequestPhases phases = new RequestPhases(RequestMessage.build("test").create());
+        Thread.sleep(50);
+        phases.skip();
+        phases.lap(RequestPhases.Phase.ITERATE);
+
+        assertThat(phases.getTime(RequestPhases.Phase.ITERATE, TimeUnit.MILLISECONDS), lessThan(50L));
+    }
+
+    @Test
+    public void shouldOnlyReportTimingsWhenAsked() {
+        final Map<String, Object> attributes = Collections.singletonMap(Tokens.ARGS_HOST, "localhost");
+        final RequestPhases notAsked = new RequestPhases(RequestMessage.build("test").create());
+        notAsked.lap(RequestPhases.Phase.QUEUED);
+        assertSame(attributes, notAsked.addTo(attributes));
+
+        final RequestPhases asked = new RequestPhases(RequestMessage.build("test").addArg(Tokens.ARGS_TIMINGS, true).create());
+        asked.lap(RequestPhases.Phase.QUEUED);
+        asked.lap(RequestPhases.Phase.ITERATE);
+        final Map<String, Object> reported = asked.addTo(attributes);
+        assertEquals("localhost", reported.get(Tokens.ARGS_HOST));
+
+        final Map<String, Object> timings = (Map<String, Object>) reported.get(Tokens.STATUS_ATTRIBUTE_TIMINGS);
+        assertThat(timings.keySet().toString(), is("[queued, iterate]"));
+    }
+
+    @Test
+    public void shouldAttributeTimeOnceWhenMarkedFromManyThreads() throws Exception {
+        final long start = System.nanoTime();
+        final RequestPhases phases = new RequestPhases(RequestMessage.build("test").create());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        if (j % 10 == 0) phases.skip();
+                        else phases.lap(RequestPhases.Phase.ITERATE);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every nanosecond is attributed at most once no matter the thread that marked it
+        assertThat(phases.getTime(RequestPhases.Phase.ITERATE, TimeUnit.NANOSECONDS), lessThan(System.nanoTime() - start));
+    }
+
+    @Test
+    public void shouldRecordOnlyOnce() {
+        final RequestPhases phases = new RequestPhases(RequestMessage.build("test").create());
+        phases.lap(RequestPhases.Phase.SERIALIZE);
+
+        final long before = RequestPhases.Phase.SERIALIZE.getTimer().getCount();
+        phases.record();
+        phases.record();
+        assertEquals(before + 1, RequestPhases.Phase.SERIALIZE.getTimer().getCount());
+    }
+}
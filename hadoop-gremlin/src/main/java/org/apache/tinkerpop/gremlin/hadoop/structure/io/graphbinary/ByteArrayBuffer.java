@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.graphbinary;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Buffer} over a byte array that grows as it is written to, which lets the GraphBinary serializers be used
+ * to read and write records without a dependency on Netty.
+ *
+ * @author agent
+ */
+final class ByteArrayBuffer implements Buffer {
+
+    private byte[] bytes;
+    private ByteBuffer buffer;
+    private int readerIndex = 0;
+    private int writerIndex = 0;
+    private int markedWriterIndex = 0;
+
+    ByteArrayBuffer(final int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+        this.buffer = ByteBuffer.wrap(this.bytes);
+    }
+
+    /**
+     * Makes the first {@code length} bytes of the array readable, where the array is used as is rather than copied.
+     */
+    void wrap(final byte[] bytes, final int length) {
+        this.bytes = bytes;
+        this.buffer = ByteBuffer.wrap(bytes);
+        this.readerIndex = 0;
+        this.writerIndex = length;
+        this.markedWriterIndex = 0;
+    }
+
+    /**
+     * Empties the buffer so that it can be written to again.
+     */
+    void clear() {
+        this.readerIndex = 0;
+        this.writerIndex = 0;
+        this.markedWriterIndex = 0;
+    }
+
+    /**
+     * Gets the array behind the buffer where the readable bytes lie between the reader and writer index.
+     */
+    byte[] array() {
+        return this.bytes;
+    }
+
+    @Override
+    public int readableBytes() {
+        return this.writerIndex - this.readerIndex;
+    }
+
+    @Override
+    public int readerIndex() {
+        return this.readerIndex;
+    }
+
+    @Override
+    public Buffer readerIndex(final int readerIndex) {
+        if (readerIndex < 0 || readerIndex > this.writerIndex)
+            throw new IndexOutOfBoundsException("readerIndex: " + readerIndex + " (expected: 0 <= readerIndex <= writerIndex(" + this.writerIndex + "))");
+        this.readerIndex = readerIndex;
+        return this;
+    }
+
+    @Override
+    public int writerIndex() {
+        return this.writerIndex;
+    }
+
+    @Override
+    public Buffer writerIndex(final int writerIndex) {
+        if (writerIndex < this.readerIndex || writerIndex > this.bytes.length)
+            throw new IndexOutOfBoundsException("writerIndex: " + writerIndex + " (expected: readerIndex(" + this.readerIndex + ") <= writerIndex <= capacity(" + this.bytes.length + "))");
+        this.writerIndex = writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer markWriterIndex() {
+        this.markedWriterIndex = this.writerIndex;
+        return this;
+    }
+
+    @Override
+    public Buffer resetWriterIndex() {
+        this.writerIndex = this.markedWriterIndex;
+        return this;
+    }
+
+    @Override
+    public int capacity() {
+        return this.bytes.length;
+    }
+
+    @Override
+    public boolean isDirect() {
+        return false;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return 0 != this.readByte();
+    }
+
+    @Override
+    public byte readByte() {
+        return this.buffer.get(this.advanceReader(1));
+    }
+
+    @Override
+    public short readShort() {
+        return this.buffer.getShort(this.advanceReader(2));
+    }
+
+    @Override
+    public int readInt() {
+        return this.buffer.getInt(this.advanceReader(4));
+    }
+
+    @Override
+    public long readLong() {
+        return this.buffer.getLong(this.advanceReader(8));
+    }
+
+    @Override
+    public float readFloat() {
+        return this.buffer.getFloat(this.advanceReader(4));
+    }
+
+    @Override
+    public double readDouble() {
+        return this.buffer.getDouble(this.advanceReader(8));
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination) {
+        return this.readBytes(destination, 0, destination.length);
+    }
+
+    @Override
+    public Buffer readBytes(final byte[] destination, final int dstIndex, final int length) {
+        System.arraycopy(this.bytes, this.advanceReader(length), destination, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final ByteBuffer dst) {
+        final int length = dst.remaining();
+        dst.put(this.bytes, this.advanceReader(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer readBytes(final OutputStream out, final int length) throws IOException {
+        out.write(this.bytes, this.advanceReader(length), length);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBoolean(final boolean value) {
+        return this.writeByte(value ? 1 : 0);
+    }
+
+    @Override
+    public Buffer writeByte(final int value) {
+        final int index = this.advanceWriter(1);
+        this.buffer.put(index, (byte) value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeShort(final int value) {
+        final int index = this.advanceWriter(2);
+        this.buffer.putShort(index, (short) value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeInt(final int value) {
+        final int index = this.advanceWriter(4);
+        this.buffer.putInt(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeLong(final long value) {
+        final int index = this.advanceWriter(8);
+        this.buffer.putLong(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeFloat(final float value) {
+        final int index = this.advanceWriter(4);
+        this.buffer.putFloat(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeDouble(final double value) {
+        final int index = this.advanceWriter(8);
+        this.buffer.putDouble(index, value);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src) {
+        return this.writeBytes(src, 0, src.length);
+    }
+
+    @Override
+    public Buffer writeBytes(final ByteBuffer src) {
+        final int length = src.remaining();
+        final int index = this.advanceWriter(length);
+        src.get(this.bytes, index, length);
+        return this;
+    }
+
+    @Override
+    public Buffer writeBytes(final byte[] src, final int srcIndex, final int length) {
+        final int index = this.advanceWriter(length);
+        System.arraycopy(src, srcIndex, this.bytes, index, length);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return false;
+    }
+
+    @Override
+    public Buffer retain() {
+        return this;
+    }
+
+    @Override
+    public int referenceCount() {
+        return 1;
+    }
+
+    @Override
+    public int nioBufferCount() {
+        return 1;
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers() {
+        return new ByteBuffer[]{this.nioBuffer()};
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers(final int index, final int length) {
+        return new ByteBuffer[]{this.nioBuffer(index, length)};
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return this.nioBuffer(this.readerIndex, this.readableBytes());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer(final int index, final int length) {
+        return ByteBuffer.wrap(this.bytes, index, length).slice();
+    }
+
+    @Override
+    public Buffer getBytes(final int index, final byte[] dst) {
+        System.arraycopy(this.bytes, index, dst, 0, dst.length);
+        return this;
+    }
+
+    private int advanceReader(final int length) {
+        if (length > this.readableBytes())
+            throw new IndexOutOfBoundsException("readerIndex(" + this.readerIndex + ") + length(" + length + ") exceeds writerIndex(" + this.writerIndex + ")");
+        final int index = this.readerIndex;
+        this.readerIndex = index + length;
+        return index;
+    }
+
+    /**
+     * Grows the array if needed and moves the writer index past the bytes to write. The returned index must be taken
+     * before the array or its {@code ByteBuffer} is read as both may be replaced here.
+     */
+    private int advanceWriter(final int length) {
+        final int index = this.writerIndex;
+        if (index + length > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(index + length, this.bytes.length * 2));
+            this.buffer = ByteBuffer.wrap(this.bytes);
+        }
+        this.writerIndex = index + length;
+        return index;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.graphbinary;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads the vertices written by {@link GraphBinaryRecordWriter}. A split starts at the first sync marker at or after
+ * its start and ends with the last record whose sync marker begins before its end. The {@link GraphFilter} is
+ * applied while the vertex is read, so edge groups whose direction and label are not legal are skipped over
+ * rather than decoded.
+ *
+ * @author agent
+ */
+public final class GraphBinaryRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+    private FSDataInputStream inputStream;
+    private GraphBinaryReader graphBinaryReader;
+    private final VertexWritable vertexWritable = new VertexWritable();
+    private final ByteArrayBuffer buffer = new ByteArrayBuffer(0);
+    private final byte[] sync = new byte[GraphBinaryRecordWriter.SYNC_LENGTH];
+    private final byte[] recordSync = new byte[GraphBinaryRecordWriter.SYNC_LENGTH];
+    private byte[] record = new byte[1024];
+
+    private long start;
+    private long end;
+    private long position;
+    private GraphFilter graphFilter = new GraphFilter();
+
+    public GraphBinaryRecordReader() {
+
+    }
+
+    @Override
+    public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+        final FileSplit split = (FileSplit) genericSplit;
+        final Configuration configuration = context.getConfiguration();
+        if (configuration.get(Constants.GREMLIN_HADOOP_GRAPH_FILTER, null) != null)
+            this.graphFilter = VertexProgramHelper.deserialize(ConfUtil.makeApacheConfiguration(configuration), Constants.GREMLIN_HADOOP_GRAPH_FILTER);
+        this.graphBinaryReader = new GraphBinaryReader(GraphBinaryRecordWriter.createTypeSerializerRegistry(configuration));
+        final Path file = split.getPath();
+        if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
+            throw new IllegalStateException("Compression is not supported for the (binary) GraphBinary format");
+        }
+        final FileSystem fileSystem = file.getFileSystem(configuration);
+        this.inputStream = fileSystem.open(file);
+        this.start = split.getStart();
+        this.end = this.start + split.getLength();
+        if (fileSystem.getFileStatus(file).getLen() < GraphBinaryRecordWriter.HEADER_LENGTH) {
+            this.position = this.end; // an empty file has no records
+            return;
+        }
+        this.readHeader(file);
+        this.position = this.start <= GraphBinaryRecordWriter.HEADER_LENGTH ?
+                GraphBinaryRecordWriter.HEADER_LENGTH :
+                this.seekToSync(this.start);
+        if (this.position < this.end)
+            this.inputStream.seek(this.position);
+    }
+
+    private void readHeader(final Path file) throws IOException {
+        final byte[] magic = new byte[GraphBinaryRecordWriter.MAGIC.length];
+        this.inputStream.seek(0);
+        this.inputStream.readFully(magic);
+        if (!Arrays.equals(GraphBinaryRecordWriter.MAGIC, magic))
+            throw new IllegalStateException("The file is not a GraphBinary adjacency list: " + file);
+        final byte version = this.inputStream.readByte();
+        if (GraphBinaryRecordWriter.VERSION != version)
+            throw new IllegalStateException("The GraphBinary adjacency list version is not supported: " + version);
+        this.inputStream.readFully(this.sync);
+    }
+
+    /**
+     * Finds the first sync marker at or after the specified position.
+     *
+     * @return the position of the sync marker or {@code Long.MAX_VALUE} if there is none
+     */
+    private long seekToSync(final long from) throws IOException {
+        this.inputStream.seek(from);
+        final byte[] window = new byte[this.sync.length];
+        long read = 0;
+        while (true) {
+            final int currentByte = this.inputStream.read();
+            if (-1 == currentByte)
+                return Long.MAX_VALUE;
+            window[(int) (read++ % window.length)] = (byte) currentByte;
+            if (read >= window.length && this.windowMatchesSync(window, (int) (read % window.length)))
+                return from + read - window.length;
+        }
+    }
+
+    private boolean windowMatchesSync(final byte[] window, final int first) {
+        for (int i = 0; i < this.sync.length; i++) {
+            if (window[(first + i) % window.length] != this.sync[i])
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (this.position < this.end) {
+            try {
+                this.inputStream.readFully(this.recordSync);
+            } catch (final EOFException e) {
+                this.position = Long.MAX_VALUE;
+                return false;
+            }
+            if (!Arrays.equals(this.sync, this.recordSync))
+                throw new IllegalStateException("Expected a sync marker at " + this.position);
+            final int length = this.inputStream.readInt();
+            if (this.record.length < length)
+                this.record = new byte[Math.max(length, this.record.length * 2)];
+            this.inputStream.readFully(this.record, 0, length);
+            this.position = this.position + this.sync.length + 4 + length;
+            this.buffer.wrap(this.record, length);
+            final Optional<StarGraph> starGraph = this.readStarGraph();
+            if (starGraph.isPresent()) {
+                this.vertexWritable.set(starGraph.get().getStarVertex());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Optional<StarGraph> readStarGraph() throws IOException {
+        final StarGraph starGraph = StarGraph.open();
+        final StarGraph.StarVertex vertex = (StarGraph.StarVertex) starGraph.addVertex(
+                T.id, this.graphBinaryReader.read(this.buffer),
+                T.label, this.graphBinaryReader.readValue(this.buffer, String.class, false));
+        final int numberOfVertexProperties = this.buffer.readInt();
+        for (int i = 0; i < numberOfVertexProperties; i++) {
+            final Object id = this.graphBinaryReader.read(this.buffer);
+            final String key = this.graphBinaryReader.readValue(this.buffer, String.class, false);
+            final Object value = this.graphBinaryReader.read(this.buffer);
+            final VertexProperty<Object> vertexProperty = vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+            final int numberOfMetaProperties = this.buffer.readInt();
+            for (int j = 0; j < numberOfMetaProperties; j++) {
+                vertexProperty.property(this.graphBinaryReader.readValue(this.buffer, String.class, false), this.graphBinaryReader.read(this.buffer));
+            }
+        }
+        // an out self-loop is added to the in edges as well so it must not be added again from the in edges
+        final Set<String> outLabels = new HashSet<>();
+        this.readEdges(starGraph, vertex, Direction.OUT, outLabels);
+        this.readEdges(starGraph, vertex, Direction.IN, outLabels);
+        return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter) : Optional.of(starGraph);
+    }
+
+    private void readEdges(final StarGraph starGraph, final StarGraph.StarVertex vertex, final Direction direction, final Set<String> outLabels) throws IOException {
+        final int numberOfLabels = this.buffer.readInt();
+        for (int i = 0; i < numberOfLabels; i++) {
+            final String label = this.graphBinaryReader.readValue(this.buffer, String.class, false);
+            final int length = this.buffer.readInt();
+            if (this.graphFilter.checkEdgeLegality(direction, label).negative()) {
+                this.buffer.readerIndex(this.buffer.readerIndex() + length);
+                continue;
+            }
+            if (direction.equals(Direction.OUT))
+                outLabels.add(label);
+            final int numberOfEdges = this.buffer.readInt();
+            for (int j = 0; j < numberOfEdges; j++) {
+                final Object edgeId = this.graphBinaryReader.read(this.buffer);
+                final Object adjacentVertexId = this.graphBinaryReader.read(this.buffer);
+                final Edge edge;
+                if (direction.equals(Direction.OUT))
+                    edge = vertex.addEdge(label, starGraph.addVertex(T.id, adjacentVertexId), T.id, edgeId);
+                else if (vertex.id().equals(adjacentVertexId) && outLabels.contains(label))
+                    edge = null;
+                else
+                    edge = starGraph.addVertex(T.id, adjacentVertexId).addEdge(label, vertex, T.id, edgeId);
+                final int numberOfProperties = this.buffer.readInt();
+                for (int k = 0; k < numberOfProperties; k++) {
+                    final String key = this.graphBinaryReader.readValue(this.buffer, String.class, false);
+                    final Object value = this.graphBinaryReader.read(this.buffer);
+                    if (null != edge)
+                        edge.property(key, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    public NullWritable getCurrentKey() {
+        return NullWritable.get();
+    }
+
+    @Override
+    public VertexWritable getCurrentValue() {
+        return this.vertexWritable;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+        if (this.end <= this.start)
+            return 0.0f;
+        return (float) Math.min(1.0d, (double) Math.max(0L, this.position - this.start) / (double) (this.end - this.start));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.inputStream.close();
+        this.graphBinaryReader = null;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.graphbinary;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.util.IoRegistryHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes vertices as GraphBinary adjacency list records. The file starts with a header that holds a sync marker that
+ * is unique to the file and every record is the sync marker followed by the length of the vertex and the vertex
+ * itself, which is what allows {@link GraphBinaryRecordReader} to find the first record of a split. The edges of
+ * a vertex are grouped by direction and label where each group is prefixed with its length so that a reader can
+ * skip the groups that a {@link org.apache.tinkerpop.gremlin.process.computer.GraphFilter} excludes without
+ * decoding them.
+ *
+ * @author agent
+ */
+public final class GraphBinaryRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
+
+    static final byte[] MAGIC = new byte[]{'G', 'B', 'A', 'L'};
+    static final byte VERSION = 1;
+    static final int SYNC_LENGTH = 16;
+    static final int HEADER_LENGTH = MAGIC.length + 1 + SYNC_LENGTH;
+
+    private final DataOutputStream outputStream;
+    private final boolean hasEdges;
+    private final byte[] sync;
+    private final ByteArrayBuffer buffer = new ByteArrayBuffer(1024);
+    private GraphBinaryWriter graphBinaryWriter;
+
+    public GraphBinaryRecordWriter(final DataOutputStream outputStream, final Configuration configuration) throws IOException {
+        this.outputStream = outputStream;
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_WRITER_HAS_EDGES, true);
+        this.graphBinaryWriter = new GraphBinaryWriter(createTypeSerializerRegistry(configuration));
+        final UUID uuid = UUID.randomUUID();
+        this.sync = ByteBuffer.allocate(SYNC_LENGTH).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+        this.outputStream.write(MAGIC);
+        this.outputStream.writeByte(VERSION);
+        this.outputStream.write(this.sync);
+    }
+
+    static TypeSerializerRegistry createTypeSerializerRegistry(final Configuration configuration) {
+        final TypeSerializerRegistry.Builder builder = TypeSerializerRegistry.build();
+        IoRegistryHelper.createRegistries(ConfUtil.makeApacheConfiguration(configuration)).forEach(builder::addRegistry);
+        return builder.create();
+    }
+
+    @Override
+    public void write(final NullWritable key, final VertexWritable vertexWritable) throws IOException {
+        if (null != vertexWritable) {
+            final Vertex vertex = vertexWritable.get();
+            this.buffer.clear();
+            this.graphBinaryWriter.write(vertex.id(), this.buffer);
+            this.graphBinaryWriter.writeValue(vertex.label(), this.buffer, false);
+            final List<VertexProperty<Object>> vertexProperties = IteratorUtils.list(vertex.properties());
+            this.buffer.writeInt(vertexProperties.size());
+            for (final VertexProperty<Object> vertexProperty : vertexProperties) {
+                this.graphBinaryWriter.write(vertexProperty.id(), this.buffer);
+                this.graphBinaryWriter.writeValue(vertexProperty.key(), this.buffer, false);
+                this.graphBinaryWriter.write(vertexProperty.value(), this.buffer);
+                this.writeProperties(vertexProperty.properties());
+            }
+            this.writeEdges(vertex, Direction.OUT);
+            this.writeEdges(vertex, Direction.IN);
+
+            this.outputStream.write(this.sync);
+            this.outputStream.writeInt(this.buffer.writerIndex());
+            this.outputStream.write(this.buffer.array(), 0, this.buffer.writerIndex());
+        }
+    }
+
+    private void writeEdges(final Vertex vertex, final Direction direction) throws IOException {
+        final Map<String, List<Edge>> edgesByLabel = new LinkedHashMap<>();
+        if (this.hasEdges)
+            vertex.edges(direction).forEachRemaining(edge -> edgesByLabel.computeIfAbsent(edge.label(), label -> new ArrayList<>()).add(edge));
+        this.buffer.writeInt(edgesByLabel.size());
+        for (final Map.Entry<String, List<Edge>> entry : edgesByLabel.entrySet()) {
+            this.graphBinaryWriter.writeValue(entry.getKey(), this.buffer, false);
+            final int lengthIndex = this.buffer.writerIndex();
+            this.buffer.writeInt(0); // the length of the group which is known once it is written
+            this.buffer.writeInt(entry.getValue().size());
+            for (final Edge edge : entry.getValue()) {
+                this.graphBinaryWriter.write(edge.id(), this.buffer);
+                this.graphBinaryWriter.write(direction.equals(Direction.OUT) ? edge.inVertex().id() : edge.outVertex().id(), this.buffer);
+                this.writeProperties(edge.properties());
+            }
+            final int endIndex = this.buffer.writerIndex();
+            this.buffer.writerIndex(lengthIndex).writeInt(endIndex - lengthIndex - 4).writerIndex(endIndex);
+        }
+    }
+
+    private <P extends Property<Object>> void writeProperties(final Iterator<P> iterator) throws IOException {
+        final List<P> properties = IteratorUtils.list(iterator);
+        this.buffer.writeInt(properties.size());
+        for (final P property : properties) {
+            this.graphBinaryWriter.writeValue(property.key(), this.buffer, false);
+            this.graphBinaryWriter.write(property.value(), this.buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close(final TaskAttemptContext context) throws IOException {
+        this.outputStream.close();
+        this.graphBinaryWriter = null;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.graphbinary;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.OutputFormat;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.GraphFilterAware;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.RecordReaderWriterTest;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoRecordReader;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class GraphBinaryRecordReaderWriterTest extends RecordReaderWriterTest {
+
+    private static final String INPUT_FILENAME = "grateful-dead-v3d0.gbin";
+
+    @BeforeClass
+    public static void generateInputFile() throws Exception {
+        if (HadoopGraphProvider.PATHS.containsKey(INPUT_FILENAME))
+            return;
+        final File gryoFile = new File(HadoopGraphProvider.PATHS.get("grateful-dead-v3d0.kryo"));
+        final File graphBinaryFile = new File(TestHelper.makeTestDataPath(GraphBinaryRecordReaderWriterTest.class), INPUT_FILENAME);
+        final Configuration configuration = createConfiguration();
+        final TaskAttemptContext job = createTaskAttemptContext(configuration);
+        final RecordReader<NullWritable, VertexWritable> reader = new GryoRecordReader();
+        reader.initialize(new FileSplit(new Path(gryoFile.toURI()), 0, gryoFile.length(), null), job);
+        final GraphBinaryRecordWriter writer = new GraphBinaryRecordWriter(new DataOutputStream(new FileOutputStream(graphBinaryFile)), configuration);
+        while (reader.nextKeyValue()) {
+            writer.write(NullWritable.get(), reader.getCurrentValue());
+        }
+        reader.close();
+        writer.close(job);
+        HadoopGraphProvider.PATHS.put(INPUT_FILENAME, graphBinaryFile.getAbsolutePath());
+    }
+
+    @Override
+    protected String getInputFilename() {
+        return INPUT_FILENAME;
+    }
+
+    @Override
+    protected Class<? extends InputFormat<NullWritable, VertexWritable>> getInputFormat() {
+        return GraphBinaryInputFormat.class;
+    }
+
+    @Override
+    protected Class<? extends OutputFormat<NullWritable, VertexWritable>> getOutputFormat() {
+        return GraphBinaryOutputFormat.class;
+    }
+
+    @Test
+    public void shouldSkipEdgesThatAreNotLegalForTheGraphFilter() throws Exception {
+        final File file = new File(HadoopGraphProvider.PATHS.get(INPUT_FILENAME));
+        final Configuration configuration = createConfiguration();
+        final GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.outE("followedBy"));
+        GraphFilterAware.storeGraphFilter(new BaseConfiguration(), configuration, graphFilter);
+        final RecordReader<NullWritable, VertexWritable> reader = new GraphBinaryInputFormat().createRecordReader(
+                new FileSplit(new Path(file.toURI()), 0, file.length(), null), createTaskAttemptContext(configuration));
+
+        int vertexCount = 0;
+        int outEdgeCount = 0;
+        while (reader.nextKeyValue()) {
+            final Vertex vertex = reader.getCurrentValue().get();
+            vertexCount++;
+            assertFalse(vertex.edges(Direction.IN).hasNext());
+            final Edge[] edges = IteratorUtils.stream(vertex.edges(Direction.OUT)).toArray(Edge[]::new);
+            for (final Edge edge : edges) {
+                assertEquals("followedBy", edge.label());
+                assertTrue(edge.keys().contains("weight"));
+            }
+            outEdgeCount = outEdgeCount + edges.length;
+        }
+        reader.close();
+
+        assertEquals(808, vertexCount);
+        assertEquals(7047, outEdgeCount);
+    }
+
+    private static Configuration createConfiguration() {
+        final Configuration configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.defaultFS", "file:///");
+        return configuration;
+    }
+
+    private static TaskAttemptContext createTaskAttemptContext(final Configuration configuration) {
+        return new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+    }
+}
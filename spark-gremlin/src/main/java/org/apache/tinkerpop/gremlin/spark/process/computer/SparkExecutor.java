@@ -32,20 +32,18 @@ import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.CompactView;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.MessagePayload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.Payload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewIncomingPayload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewOutgoingPayload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewPayload;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShimServiceLoader;
-import org.apache.tinkerpop.gremlin.structure.util.Attachable;
-import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
-import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import scala.Tuple2;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -97,39 +95,51 @@ public final class SparkExecutor {
                         return Collections.emptyIterator();
 
                     final VertexProgram<M> workerVertexProgram = VertexProgram.createVertexProgram(HadoopGraph.open(graphComputerConfiguration), vertexProgramConfiguration); // each partition(Spark)/worker(TP3) has a local copy of the vertex program (a worker's task)
-                    final String[] vertexComputeKeysArray = VertexProgramHelper.vertexComputeKeysAsArray(workerVertexProgram.getVertexComputeKeys()); // the compute keys as an array
-                    final SparkMessenger<M> messenger = new SparkMessenger<>();
+                    final String[] vertexComputeKeysArray = SparkExecutor.vertexComputeKeysAsSortedArray(workerVertexProgram.getVertexComputeKeys()); // the compute keys as an array
+                    final SparkMessenger<M> messenger = new SparkMessenger<>(workerVertexProgram.getMessageCombiner().orElse(null)); // messages are combined over the partition before they are shuffled
+                    final boolean activeVerticesOnly = !memory.isInitialIteration() && workerVertexProgram.executeActiveVerticesOnly(memory.asImmutable()); // skip vertices without messages or a wake up
 
                     workerVertexProgram.workerIterationStart(memory.asImmutable()); // start the worker
                     return IteratorUtils.map(partitionIterator, vertexViewIncoming -> {
                         final StarGraph.StarVertex vertex = vertexViewIncoming._2()._1().get(); // get the vertex from the vertex writable
                         final boolean hasViewAndMessages = vertexViewIncoming._2()._2().isPresent(); // if this is the first iteration, then there are no views or messages
-                        final List<DetachedVertexProperty<Object>> previousView = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getView() : memory.isInitialIteration() ? new ArrayList<>() : Collections.emptyList();
                         // revive compute properties if they already exist
-                        if (memory.isInitialIteration() && vertexComputeKeysArray.length > 0)
-                            vertex.properties(vertexComputeKeysArray).forEachRemaining(vertexProperty -> previousView.add(DetachedFactory.detach(vertexProperty, true)));
+                        final CompactView previousView = hasViewAndMessages ?
+                                vertexViewIncoming._2()._2().get().getView() :
+                                memory.isInitialIteration() && vertexComputeKeysArray.length > 0 ? CompactView.of(vertex, vertexComputeKeysArray) : null;
                         // drop any computed properties that are cached in memory
                         vertex.dropVertexProperties(vertexComputeKeysArray);
                         final List<M> incomingMessages = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getIncomingMessages() : Collections.emptyList();
-                        IteratorUtils.removeOnNext(previousView.iterator()).forEachRemaining(property -> property.attach(Attachable.Method.create(vertex)));  // attach the view to the vertex
-                        assert previousView.isEmpty();
+                        // an inactive vertex passes its view on as is without attaching it to the vertex
+                        if (activeVerticesOnly && incomingMessages.isEmpty() && !(hasViewAndMessages && vertexViewIncoming._2()._2().get().isWokenUp())) {
+                            final List<Tuple2<Object, M>> combinedMessages = partitionIterator.hasNext() ? Collections.emptyList() : messenger.removeCombinedMessages();
+                            if (!partitionIterator.hasNext())
+                                workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
+                            return null == previousView && combinedMessages.isEmpty() ?
+                                    null :
+                                    new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(previousView, combinedMessages));
+                        }
+                        if (null != previousView)
+                            previousView.attach(vertex, vertexComputeKeysArray);  // attach the view to the vertex
                         // do the vertex's vertex program iteration
                         messenger.setVertexAndIncomingMessages(vertex, incomingMessages); // set the messenger with the incoming messages
                         workerVertexProgram.execute(ComputerGraph.vertexProgram(vertex, workerVertexProgram), messenger, memory); // execute the vertex program on this vertex for this iteration
                         // assert incomingMessages.isEmpty();  // maybe the program didn't read all the messages
                         incomingMessages.clear();
                         // detached the compute property view from the vertex
-                        final List<DetachedVertexProperty<Object>> nextView = vertexComputeKeysArray.length == 0 ?  // not all vertex programs have compute keys
-                                Collections.emptyList() :
-                                IteratorUtils.list(IteratorUtils.map(vertex.properties(vertexComputeKeysArray), vertexProperty -> DetachedFactory.detach(vertexProperty, true)));
+                        final CompactView nextView = vertexComputeKeysArray.length == 0 ?  // not all vertex programs have compute keys
+                                null :
+                                CompactView.of(vertex, vertexComputeKeysArray);
                         // drop compute property view as it has now been detached from the vertex
                         vertex.dropVertexProperties(vertexComputeKeysArray);
                         final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages being sent by this vertex
-                        if (!partitionIterator.hasNext())
+                        if (!partitionIterator.hasNext()) {
                             workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
-                        return (nextView.isEmpty() && outgoingMessages.isEmpty()) ?
-                                null : // if there is no view nor outgoing messages, emit nothing
-                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));  // else, emit the vertex id, its view, and its outgoing messages
+                            outgoingMessages.addAll(messenger.removeCombinedMessages()); // the messages combined over the partition are emitted with its last vertex
+                        }
+                        return (null == nextView && outgoingMessages.isEmpty() && !messenger.isWokenUp()) ?
+                                null : // if there is no view nor outgoing messages nor a wake up, emit nothing
+                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages, messenger.isWokenUp()));  // else, emit the vertex id, its view, and its outgoing messages
                     });
                 }, true)  // true means that the partition is preserved
                 .filter(tuple -> null != tuple); // if there are no messages or views, then the tuple is null (memory optimization)
@@ -189,21 +199,28 @@ public final class SparkExecutor {
         // the graphRDD and the viewRDD must have the same partitioner
         if (graphRDD.partitioner().isPresent())
             assert (graphRDD.partitioner().get().equals(viewIncomingRDD.partitioner().get()));
-        final String[] vertexComputeKeysArray = VertexProgramHelper.vertexComputeKeysAsArray(vertexComputeKeys); // the compute keys as an array
+        final String[] vertexComputeKeysArray = SparkExecutor.vertexComputeKeysAsSortedArray(vertexComputeKeys); // the compute keys as an array
         return graphRDD.leftOuterJoin(viewIncomingRDD)
                 .mapValues(tuple -> {
                     final StarGraph.StarVertex vertex = tuple._1().get();
                     vertex.dropVertexProperties(vertexComputeKeysArray); // drop all existing compute keys
                     // attach the final computed view to the cached graph
-                    final List<DetachedVertexProperty<Object>> view = tuple._2().isPresent() ? tuple._2().get().getView() : Collections.emptyList();
-                    for (final DetachedVertexProperty<Object> property : view) {
-                        if (!VertexProgramHelper.isTransientVertexComputeKey(property.key(), vertexComputeKeys))
-                            property.attach(Attachable.Method.create(vertex));
-                    }
+                    final CompactView view = tuple._2().isPresent() ? tuple._2().get().getView() : null;
+                    if (null != view)
+                        view.attach(vertex, vertexComputeKeysArray, key -> !VertexProgramHelper.isTransientVertexComputeKey(key, vertexComputeKeys));
                     return tuple._1();
                 });
     }
 
+    /**
+     * Gets the compute keys in the same order in every partition as the ordinals of a {@link CompactView} depend on it.
+     */
+    private static String[] vertexComputeKeysAsSortedArray(final Set<VertexComputeKey> vertexComputeKeys) {
+        final String[] vertexComputeKeysArray = VertexProgramHelper.vertexComputeKeysAsArray(vertexComputeKeys);
+        Arrays.sort(vertexComputeKeysArray);
+        return vertexComputeKeysArray;
+    }
+
     /////////////////
     // MAP REDUCE //
     ////////////////
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.spark.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -31,8 +32,10 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import scala.Tuple2;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -42,17 +45,52 @@ public final class SparkMessenger<M> implements Messenger<M> {
     private Vertex vertex;
     private Iterable<M> incomingMessages;
     private List<Tuple2<Object, M>> outgoingMessages = new ArrayList<>();
+    private boolean wokenUp = false;
+    private final MessageCombiner<M> messageCombiner;
+    private final Map<Object, M> combinedMessages;
+
+    public SparkMessenger() {
+        this(null);
+    }
+
+    /**
+     * Creates a messenger that combines all the messages sent to the same vertex by any of the vertices it is set to
+     * until they are removed with {@link #removeCombinedMessages()}, which means that a partition only emits one
+     * message per target vertex into the shuffle.
+     */
+    public SparkMessenger(final MessageCombiner<M> messageCombiner) {
+        this.messageCombiner = messageCombiner;
+        this.combinedMessages = null == messageCombiner ? null : new HashMap<>();
+    }
 
     public void setVertexAndIncomingMessages(final Vertex vertex, final Iterable<M> incomingMessages) {
         this.vertex = vertex;
         this.incomingMessages = incomingMessages;
         this.outgoingMessages = new ArrayList<>();
+        this.wokenUp = false;
     }
 
     public List<Tuple2<Object, M>> getOutgoingMessages() {
         return this.outgoingMessages;
     }
 
+    public boolean isWokenUp() {
+        return this.wokenUp;
+    }
+
+    /**
+     * Gets the messages that have been combined since the last call and clears them. If there is no
+     * {@link MessageCombiner} then the messages are never combined and the list is always empty.
+     */
+    public List<Tuple2<Object, M>> removeCombinedMessages() {
+        if (null == this.combinedMessages || this.combinedMessages.isEmpty())
+            return new ArrayList<>();
+        final List<Tuple2<Object, M>> messages = new ArrayList<>(this.combinedMessages.size());
+        this.combinedMessages.forEach((vertexId, message) -> messages.add(new Tuple2<>(vertexId, message)));
+        this.combinedMessages.clear();
+        return messages;
+    }
+
     @Override
     public Iterator<M> receiveMessages() {
         return IteratorUtils.removeOnNext(this.incomingMessages.iterator());
@@ -69,16 +107,28 @@ public final class SparkMessenger<M> implements Messenger<M> {
             // the current vertex
             incidentTraversal.forEachRemaining(edge -> {
                 if (direction.equals(Direction.IN) || direction.equals(Direction.OUT))
-                    this.outgoingMessages.add(new Tuple2<>(edge.vertices(direction).next().id(), localMessageScope.getEdgeFunction().apply(message, edge)));
+                    this.addOutgoingMessage(edge.vertices(direction).next().id(), localMessageScope.getEdgeFunction().apply(message, edge));
                 else
-                    this.outgoingMessages.add(new Tuple2<>(edge instanceof StarGraph.StarOutEdge ? edge.inVertex().id() : edge.outVertex().id(), localMessageScope.getEdgeFunction().apply(message, edge)));
+                    this.addOutgoingMessage(edge instanceof StarGraph.StarOutEdge ? edge.inVertex().id() : edge.outVertex().id(), localMessageScope.getEdgeFunction().apply(message, edge));
 
             });
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.outgoingMessages.add(new Tuple2<>(v.id(), message)));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> this.addOutgoingMessage(v.id(), message));
         }
     }
 
+    private void addOutgoingMessage(final Object vertexId, final M message) {
+        if (null == this.messageCombiner || null == message)
+            this.outgoingMessages.add(new Tuple2<>(vertexId, message));
+        else
+            this.combinedMessages.merge(vertexId, message, this.messageCombiner::combine);
+    }
+
+    @Override
+    public void wakeUp() {
+        this.wokenUp = true;
+    }
+
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer.payload;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The compute key properties of a vertex as they are passed from one iteration to the next. When every compute key
+ * has at most one property and that property has no meta-properties, which is the case for nearly all vertex
+ * programs, only the values are kept in an array indexed by the ordinal of the compute key, so there is no id,
+ * label or detached vertex to create and serialize for each property. Otherwise the properties are detached as is.
+ *
+ * @author agent
+ */
+public final class CompactView implements Serializable {
+
+    private Object[] values;
+    private List<DetachedVertexProperty<Object>> properties;
+
+    private CompactView() {
+    }
+
+    private CompactView(final Object[] values, final List<DetachedVertexProperty<Object>> properties) {
+        this.values = values;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates the view of the compute key properties of the vertex, where the keys must be in the same order
+     * wherever the view is created and attached.
+     *
+     * @return the view or {@code null} if the vertex has none of the compute key properties
+     */
+    public static CompactView of(final Vertex vertex, final String[] computeKeys) {
+        Object[] values = null;
+        for (int i = 0; i < computeKeys.length; i++) {
+            final Iterator<VertexProperty<Object>> iterator = vertex.properties(computeKeys[i]);
+            if (!iterator.hasNext())
+                continue;
+            final VertexProperty<Object> property = iterator.next();
+            if (iterator.hasNext() || property.properties().hasNext())
+                return new CompactView(null, IteratorUtils.list(IteratorUtils.map(vertex.properties(computeKeys), vertexProperty -> DetachedFactory.detach(vertexProperty, true))));
+            if (null == values)
+                values = new Object[computeKeys.length];
+            values[i] = property.value();
+        }
+        return null == values ? null : new CompactView(values, null);
+    }
+
+    /**
+     * Adds the properties of the view to the vertex.
+     */
+    public void attach(final Vertex vertex, final String[] computeKeys) {
+        this.attach(vertex, computeKeys, key -> true);
+    }
+
+    /**
+     * Adds the properties of the view whose keys pass the filter to the vertex.
+     */
+    public void attach(final Vertex vertex, final String[] computeKeys, final Predicate<String> keyFilter) {
+        if (null != this.values) {
+            for (int i = 0; i < computeKeys.length; i++) {
+                if (null != this.values[i] && keyFilter.test(computeKeys[i]))
+                    vertex.property(vertex.graph().features().vertex().getCardinality(computeKeys[i]), computeKeys[i], this.values[i]);
+            }
+        } else {
+            for (final DetachedVertexProperty<Object> property : this.properties) {
+                if (keyFilter.test(property.key()))
+                    property.attach(Attachable.Method.create(vertex));
+            }
+        }
+    }
+}
@@ -19,7 +19,6 @@
 package org.apache.tinkerpop.gremlin.spark.process.computer.payload;
 
 import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
-import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,9 +29,9 @@ import java.util.List;
  */
 public final class ViewIncomingPayload<M> implements Payload {
 
-    private List<DetachedVertexProperty<Object>> view = null;
+    private CompactView view = null;
     private List<M> incomingMessages;
-
+    private boolean wokenUp = false;
 
     private ViewIncomingPayload() {
 
@@ -45,8 +44,7 @@ public final class ViewIncomingPayload<M> implements Payload {
     public ViewIncomingPayload(final ViewPayload viewPayload) {
         this.incomingMessages = null;
         this.view = viewPayload.getView();
-        if (this.view.isEmpty())
-            this.view = null;
+        this.wokenUp = viewPayload.isWokenUp();
     }
 
     public ViewIncomingPayload(final MessagePayload<M> messagePayload) {
@@ -55,8 +53,11 @@ public final class ViewIncomingPayload<M> implements Payload {
     }
 
 
-    public List<DetachedVertexProperty<Object>> getView() {
-        return null == this.view ? Collections.emptyList() : this.view;
+    /**
+     * Gets the view or {@code null} if there is none.
+     */
+    public CompactView getView() {
+        return this.view;
     }
 
 
@@ -68,6 +69,13 @@ public final class ViewIncomingPayload<M> implements Payload {
         return null != this.view;
     }
 
+    /**
+     * Determines whether the vertex asked to be executed in this iteration regardless of whether it has messages.
+     */
+    public boolean isWokenUp() {
+        return this.wokenUp;
+    }
+
     ////////////////////
 
 
@@ -81,8 +89,7 @@ public final class ViewIncomingPayload<M> implements Payload {
     private void mergeViewIncomingPayload(final ViewIncomingPayload<M> viewIncomingPayload, final MessageCombiner<M> messageCombiner) {
         if (this.view == null)
             this.view = viewIncomingPayload.view;
-        else
-            this.view.addAll(viewIncomingPayload.getView());
+        this.wokenUp = this.wokenUp || viewIncomingPayload.wokenUp;
 
         for (final M message : viewIncomingPayload.getIncomingMessages()) {
             this.mergeMessage(message, messageCombiner);
@@ -92,8 +99,10 @@ public final class ViewIncomingPayload<M> implements Payload {
     public void mergePayload(final Payload payload, final MessageCombiner<M> messageCombiner) {
         if (null == payload)
             return;
-        if (payload instanceof ViewPayload)
+        if (payload instanceof ViewPayload) {
             this.view = ((ViewPayload) payload).getView();
+            this.wokenUp = this.wokenUp || ((ViewPayload) payload).isWokenUp();
+        }
         else if (payload instanceof MessagePayload)
             this.mergeMessage(((MessagePayload<M>) payload).getMessage(), messageCombiner);
         else if (payload instanceof ViewIncomingPayload)
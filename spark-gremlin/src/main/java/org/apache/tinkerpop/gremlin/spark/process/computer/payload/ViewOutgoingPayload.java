@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.spark.process.computer.payload;
 
-import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 import scala.Tuple2;
 
 import java.util.Collections;
@@ -29,20 +28,26 @@ import java.util.List;
  */
 public final class ViewOutgoingPayload<M> implements Payload {
 
-    private List<DetachedVertexProperty<Object>> view;
+    private CompactView view;
     private List<Tuple2<Object, M>> outgoingMessages;
+    private boolean wokenUp;
 
     private ViewOutgoingPayload() {
 
     }
 
-    public ViewOutgoingPayload(final List<DetachedVertexProperty<Object>> view, final List<Tuple2<Object, M>> outgoingMessages) {
-        this.view = view.isEmpty() ? null : view;
+    public ViewOutgoingPayload(final CompactView view, final List<Tuple2<Object, M>> outgoingMessages) {
+        this(view, outgoingMessages, false);
+    }
+
+    public ViewOutgoingPayload(final CompactView view, final List<Tuple2<Object, M>> outgoingMessages, final boolean wokenUp) {
+        this.view = view;
         this.outgoingMessages = outgoingMessages.isEmpty() ? null : outgoingMessages;
+        this.wokenUp = wokenUp;
     }
 
     public ViewPayload getView() {
-        return new ViewPayload(this.view);
+        return new ViewPayload(this.view, this.wokenUp);
     }
 
     public List<Tuple2<Object, M>> getOutgoingMessages() {
@@ -18,26 +18,34 @@
  */
 package org.apache.tinkerpop.gremlin.spark.process.computer.payload;
 
-import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
-
-import java.util.Collections;
-import java.util.List;
-
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ViewPayload implements Payload {
 
-    private List<DetachedVertexProperty<Object>> view;
+    private CompactView view;
+    private boolean wokenUp;
 
     private ViewPayload() {
     }
 
-    public ViewPayload(final List<DetachedVertexProperty<Object>> view) {
+    public ViewPayload(final CompactView view) {
+        this(view, false);
+    }
+
+    public ViewPayload(final CompactView view, final boolean wokenUp) {
         this.view = view;
+        this.wokenUp = wokenUp;
+    }
+
+    /**
+     * Gets the view or {@code null} if there is none.
+     */
+    public CompactView getView() {
+        return this.view;
     }
 
-    public List<DetachedVertexProperty<Object>> getView() {
-        return null == this.view ? Collections.emptyList() : this.view;
+    public boolean isWokenUp() {
+        return this.wokenUp;
     }
 }
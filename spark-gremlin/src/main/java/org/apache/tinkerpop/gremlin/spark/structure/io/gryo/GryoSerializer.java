@@ -37,6 +37,7 @@ import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.CompactView;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.MessagePayload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewIncomingPayload;
 import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewOutgoingPayload;
@@ -148,6 +149,7 @@ public final class GryoSerializer extends Serializer implements Serializable {
                 super.register(GryoIo.class, Class.forName("scala.Some$"), new JavaSerializer());
                 super.register(GryoIo.class, Class.forName("scala.Some"), new JavaSerializer());
                 super.register(GryoIo.class, WrappedArray.ofRef.class, new WrappedArraySerializer());
+                super.register(GryoIo.class, CompactView.class, null);
                 super.register(GryoIo.class, MessagePayload.class, null);
                 super.register(GryoIo.class, ViewIncomingPayload.class, null);
                 super.register(GryoIo.class, ViewOutgoingPayload.class, null);
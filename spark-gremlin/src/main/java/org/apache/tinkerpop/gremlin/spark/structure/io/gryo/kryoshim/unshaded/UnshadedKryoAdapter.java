@@ -19,9 +19,16 @@
 package org.apache.tinkerpop.gremlin.spark.structure.io.gryo.kryoshim.unshaded;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
 
+import java.util.function.Consumer;
+
 public class UnshadedKryoAdapter implements KryoShim<UnshadedInputAdapter, UnshadedOutputAdapter> {
+
+    private static final int BLOCK_BUFFER_SIZE = 256;
+
     private final Kryo unshadedKryo;
 
     public UnshadedKryoAdapter(final Kryo unshadedKryo) {
@@ -57,4 +64,41 @@ public class UnshadedKryoAdapter implements KryoShim<UnshadedInputAdapter, Unsha
     public void writeObjectOrNull(final UnshadedOutputAdapter output, final Object object, final Class type) {
         unshadedKryo.writeObjectOrNull(output.getUnshadedOutput(), object, type);
     }
+
+    @Override
+    public boolean supportsBlocks() {
+        return true;
+    }
+
+    @Override
+    public void writeBlock(final UnshadedOutputAdapter output, final Consumer<UnshadedOutputAdapter> block) {
+        final Output blockOutput = new Output(BLOCK_BUFFER_SIZE, -1);
+        final boolean references = unshadedKryo.getReferences();
+        unshadedKryo.setReferences(false);
+        try {
+            block.accept(new UnshadedOutputAdapter(blockOutput));
+        } finally {
+            unshadedKryo.setReferences(references);
+        }
+        output.getUnshadedOutput().writeVarInt(blockOutput.position(), true);
+        output.getUnshadedOutput().writeBytes(blockOutput.getBuffer(), 0, blockOutput.position());
+    }
+
+    @Override
+    public void readBlock(final UnshadedInputAdapter input, final Consumer<UnshadedInputAdapter> block) {
+        input.getUnshadedInput().readVarInt(true);
+        final boolean references = unshadedKryo.getReferences();
+        unshadedKryo.setReferences(false);
+        try {
+            block.accept(input);
+        } finally {
+            unshadedKryo.setReferences(references);
+        }
+    }
+
+    @Override
+    public void skipBlock(final UnshadedInputAdapter input) {
+        final Input unshadedInput = input.getUnshadedInput();
+        unshadedInput.skip(unshadedInput.readVarInt(true));
+    }
 }
@@ -30,7 +30,10 @@ import org.junit.Test;
 import scala.Tuple2;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Dean Zhu
@@ -70,4 +73,44 @@ public class SparkMessengerTest extends AbstractSparkTest {
         Assert.assertEquals("a", outgoingMessages0.get(0)._2());
         Assert.assertNull(outgoingMessages0.get(1)._2());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldResetWakeUpForEachVertex() {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex vertex0 = starGraph.addVertex(T.id, 0);
+
+        final SparkMessenger<String> messenger = new SparkMessenger<>();
+        messenger.setVertexAndIncomingMessages(vertex0, Collections.emptyList());
+        Assert.assertFalse(messenger.isWokenUp());
+        messenger.wakeUp();
+        Assert.assertTrue(messenger.isWokenUp());
+
+        messenger.setVertexAndIncomingMessages(vertex0, Collections.emptyList());
+        Assert.assertFalse(messenger.isWokenUp());
+    }
+
+    @Test
+    public void shouldCombineMessagesAcrossVerticesUntilRemoved() {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex vertex0 = starGraph.addVertex(T.id, 0);
+        final Vertex vertex1 = starGraph.addVertex(T.id, 1);
+        final Vertex vertex2 = starGraph.addVertex(T.id, 2);
+        final MessageScope.Global scope = MessageScope.Global.of(vertex1, vertex2);
+
+        final SparkMessenger<Integer> messenger = new SparkMessenger<>((a, b) -> a + b);
+        messenger.setVertexAndIncomingMessages(vertex0, Collections.emptyList());
+        messenger.sendMessage(scope, 1);
+        messenger.sendMessage(MessageScope.Global.of(vertex1), 2);
+        Assert.assertTrue(messenger.getOutgoingMessages().isEmpty());
+        messenger.setVertexAndIncomingMessages(vertex1, Collections.emptyList());
+        messenger.sendMessage(scope, 4);
+        Assert.assertTrue(messenger.getOutgoingMessages().isEmpty());
+
+        final Map<Object, Integer> combined = new HashMap<>();
+        messenger.removeCombinedMessages().forEach(message -> Assert.assertNull(combined.put(message._1(), message._2())));
+        Assert.assertEquals(2, combined.size());
+        Assert.assertEquals(7, combined.get(1).intValue());
+        Assert.assertEquals(5, combined.get(2).intValue());
+        Assert.assertTrue(messenger.removeCombinedMessages().isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer.payload;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * @author agent
+ */
+public class CompactViewTest {
+
+    private static final String[] COMPUTE_KEYS = new String[]{"a", "b", "c"};
+
+    @Test
+    public void shouldHaveNoViewWithoutComputeKeyProperties() {
+        final StarGraph.StarVertex vertex = (StarGraph.StarVertex) StarGraph.open().addVertex(T.id, 1, "name", "marko");
+        Assert.assertNull(CompactView.of(vertex, COMPUTE_KEYS));
+    }
+
+    @Test
+    public void shouldAttachSingleValuedComputeKeys() {
+        final StarGraph.StarVertex vertex = (StarGraph.StarVertex) StarGraph.open().addVertex(T.id, 1, "name", "marko", "a", 1.0d, "c", "x");
+        final CompactView view = CompactView.of(vertex, COMPUTE_KEYS);
+        vertex.dropVertexProperties(COMPUTE_KEYS);
+        Assert.assertFalse(vertex.properties(COMPUTE_KEYS).hasNext());
+
+        view.attach(vertex, COMPUTE_KEYS);
+        Assert.assertEquals(1.0d, vertex.value("a"), 0.0d);
+        Assert.assertFalse(vertex.property("b").isPresent());
+        Assert.assertEquals("x", vertex.value("c"));
+        Assert.assertEquals("marko", vertex.value("name"));
+
+        vertex.dropVertexProperties(COMPUTE_KEYS);
+        view.attach(vertex, COMPUTE_KEYS, key -> !key.equals("c"));
+        Assert.assertEquals(1.0d, vertex.value("a"), 0.0d);
+        Assert.assertFalse(vertex.property("c").isPresent());
+    }
+
+    @Test
+    public void shouldAttachMultiValuedComputeKeysAndMetaProperties() {
+        final StarGraph.StarVertex vertex = (StarGraph.StarVertex) StarGraph.open().addVertex(T.id, 1, "a", 1, "a", 2);
+        vertex.property(VertexProperty.Cardinality.single, "b", "y", "meta", true);
+        final CompactView view = CompactView.of(vertex, COMPUTE_KEYS);
+        vertex.dropVertexProperties(COMPUTE_KEYS);
+
+        view.attach(vertex, COMPUTE_KEYS);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(IteratorUtils.list(vertex.values("a"))));
+        Assert.assertEquals("y", vertex.value("b"));
+        Assert.assertTrue(vertex.property("b").<Boolean>value("meta"));
+    }
+}
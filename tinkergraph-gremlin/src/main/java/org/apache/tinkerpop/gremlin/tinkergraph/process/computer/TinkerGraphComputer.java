@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
@@ -162,24 +163,45 @@ public final class TinkerGraphComputer implements GraphComputer {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
+                    // messages that are combined as primitives are held in arrays rather than in queues of objects
+                    final TinkerPrimitiveMessageBoard primitiveMessageBoard = TinkerPrimitiveMessageBoard.of(this.graph, this.vertexProgram);
+                    // the receivers of messages and the woken vertices are only gathered for a program that may skip the rest
+                    final boolean trackActiveVertices = !this.vertexProgram.getClass().getMethod("executeActiveVerticesOnly", Memory.class).isDefault();
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
+                        // when the program allows it only the vertices with messages or a wake up are executed
+                        final Set<Vertex> activeVertices = !this.memory.isInitialIteration() && this.vertexProgram.executeActiveVerticesOnly(this.memory.asImmutable()) ?
+                                null != primitiveMessageBoard ? primitiveMessageBoard.getActiveVertices() : this.messageBoard.getActiveVertices() :
+                                null;
                         workers.setVertexProgram(this.vertexProgram);
                         workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
                             vertexProgram.workerIterationStart(workerMemory.asImmutable());
+                            final Set<Vertex> workerActiveVertices = trackActiveVertices ? new HashSet<>() : null;
                             while (vertices.hasNext()) {
                                 final Vertex vertex = vertices.next();
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
+                                if (null != activeVertices && !activeVertices.contains(vertex)) continue;
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        null != primitiveMessageBoard ?
+                                                new TinkerPrimitiveMessenger<>(vertex, primitiveMessageBoard, workerActiveVertices) :
+                                                new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner(), workerActiveVertices),
                                         workerMemory);
                             }
+                            if (trackActiveVertices) {
+                                if (null != primitiveMessageBoard)
+                                    primitiveMessageBoard.addActiveVertices(workerActiveVertices);
+                                else
+                                    this.messageBoard.addActiveVertices(workerActiveVertices);
+                            }
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
                             workerMemory.complete();
                         });
-                        this.messageBoard.completeIteration();
+                        if (null != primitiveMessageBoard)
+                            primitiveMessageBoard.completeIteration();
+                        else
+                            this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.computer.util.MemoryHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +47,7 @@ public final class TinkerMemory implements Memory.Admin {
     private final AtomicInteger iteration = new AtomicInteger(0);
     private final AtomicLong runtime = new AtomicLong(0l);
     private boolean inExecute = false;
+    private long[] workerRuntimes = new long[0];
 
     public TinkerMemory(final VertexProgram<?> vertexProgram, final Set<MapReduce> mapReducers) {
         this.currentMap = new ConcurrentHashMap<>();
@@ -90,6 +92,23 @@ public final class TinkerMemory implements Memory.Admin {
         return this.runtime.get();
     }
 
+    /**
+     * Gets the time in nanoseconds that each worker has spent executing the vertex program summed over all the
+     * iterations so far. Workers that take much longer than the others point to vertices that are expensive to
+     * execute, such as those of high degree.
+     */
+    public long[] getWorkerRuntimes() {
+        return this.workerRuntimes.clone();
+    }
+
+    protected void addWorkerRuntimes(final long[] runtimes) {
+        if (this.workerRuntimes.length < runtimes.length)
+            this.workerRuntimes = Arrays.copyOf(this.workerRuntimes, runtimes.length);
+        for (int i = 0; i < runtimes.length; i++) {
+            this.workerRuntimes[i] = this.workerRuntimes[i] + runtimes[i];
+        }
+    }
+
     protected void complete() {
         this.iteration.decrementAndGet();
         this.previousMap = this.currentMap;
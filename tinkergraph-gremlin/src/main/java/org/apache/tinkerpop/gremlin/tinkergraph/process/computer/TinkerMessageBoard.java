@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -36,11 +37,43 @@ final class TinkerMessageBoard<M> {
     public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
     public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private Queue<Set<Vertex>> sendActiveVertices = new ConcurrentLinkedQueue<>();
+    private Queue<Set<Vertex>> receiveActiveVertices = new ConcurrentLinkedQueue<>();
 
     public void completeIteration() {
         this.receiveMessages = this.sendMessages;
         this.sendMessages = new ConcurrentHashMap<>();
         this.previousMessageScopes = this.currentMessageScopes;
         this.currentMessageScopes = new HashSet<>();
+        this.receiveActiveVertices = this.sendActiveVertices;
+        this.sendActiveVertices = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Adds the vertices that a worker sent messages to or woke up in this iteration.
+     */
+    public void addActiveVertices(final Set<Vertex> activeVertices) {
+        if (!activeVertices.isEmpty())
+            this.sendActiveVertices.add(activeVertices);
+    }
+
+    /**
+     * Gets the vertices that were woken up or that have messages to receive in the coming iteration, as gathered by
+     * the workers of the previous iteration.
+     */
+    public Set<Vertex> getActiveVertices() {
+        return TinkerMessageBoard.merge(this.receiveActiveVertices);
+    }
+
+    /**
+     * Merges the vertices gathered by each worker, which are only read once the workers of their iteration are done.
+     */
+    static Set<Vertex> merge(final Queue<Set<Vertex>> workerActiveVertices) {
+        if (1 == workerActiveVertices.size()) return workerActiveVertices.peek();
+        final Set<Vertex> activeVertices = new HashSet<>();
+        for (final Set<Vertex> vertices : workerActiveVertices) {
+            activeVertices.addAll(vertices);
+        }
+        return activeVertices;
     }
 }
@@ -35,6 +35,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,11 +51,18 @@ public final class TinkerMessenger<M> implements Messenger<M> {
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
     private final MessageCombiner<M> combiner;
+    private final Set<Vertex> activeVertices;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    /**
+     * @param activeVertices the set of the worker to add the receivers of messages and woken vertices to, or
+     *                       {@code null} if the vertices that are active in the next iteration are not tracked
+     */
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner,
+                           final Set<Vertex> activeVertices) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
         this.combiner = combiner.isPresent() ? combiner.get() : null;
+        this.activeVertices = activeVertices;
     }
 
     @Override
@@ -99,11 +107,22 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 //        this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
             addMessage(this.vertex, message, messageScope);
+            if (null != this.activeVertices)
+                adjacentVertices(this.vertex, (MessageScope.Local<?>) messageScope).forEachRemaining(this.activeVertices::add);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> {
+                addMessage(v, message, messageScope);
+                if (null != this.activeVertices) this.activeVertices.add(v);
+            });
         }
     }
 
+    @Override
+    public void wakeUp() {
+        if (null != this.activeVertices)
+            this.activeVertices.add(this.vertex);
+    }
+
     private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
         this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
             if(null==messages) messages = new ConcurrentHashMap<>();
@@ -118,12 +137,28 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     ///////////
 
-    private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
+    /**
+     * Gets the vertices that receive the messages sent by the vertex with the local message scope.
+     */
+    static Iterator<Vertex> adjacentVertices(final Vertex vertex, final MessageScope.Local<?> localMessageScope) {
+        final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), vertex);
+        final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+        return IteratorUtils.map(incidentTraversal, edge -> {
+            if (direction.equals(Direction.OUT))
+                return edge.inVertex();
+            else if (direction.equals(Direction.IN))
+                return edge.outVertex();
+            else
+                return edge.outVertex().equals(vertex) ? edge.inVertex() : edge.outVertex();
+        });
+    }
+
+    static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
         incidentTraversal.addStart(incidentTraversal.getTraverserGenerator().generate(vertex,incidentTraversal.getStartStep(),1l));
         return (T) incidentTraversal;
     }
 
-    private static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
+    static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
     }
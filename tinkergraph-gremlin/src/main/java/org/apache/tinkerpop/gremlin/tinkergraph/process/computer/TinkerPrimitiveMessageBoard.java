@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.DoubleMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.LongMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A message board for a {@link VertexProgram} whose {@link MessageCombiner} is a {@link DoubleMessageCombiner} or a
+ * {@link LongMessageCombiner}. Rather than a queue of boxed messages per vertex, the combined message of each vertex is
+ * held as a {@code long} (the raw bits of a {@code double}) in an array indexed by a dense ordinal of the vertex. As
+ * with {@link TinkerMessageBoard}, local messages are held by the vertex that sent them and are read by the receivers
+ * from their adjacent vertices.
+ *
+ * @author agent
+ */
+final class TinkerPrimitiveMessageBoard {
+
+    private static final int ABSENT = 0;
+    private static final int WRITING = 1;
+    private static final int PRESENT = 2;
+
+    private final Map<Object, Integer> ordinals;
+    private final Vertex[] vertices;
+    private final boolean doubles;
+    private final LongBinaryOperator combiner;
+
+    private volatile List<Messages> sendMessages = new ArrayList<>();
+    private List<Messages> receiveMessages = new ArrayList<>();
+    private final List<Messages> recycledMessages = new ArrayList<>();
+    private Queue<Set<Vertex>> sendActiveVertices = new ConcurrentLinkedQueue<>();
+    private Queue<Set<Vertex>> receiveActiveVertices = new ConcurrentLinkedQueue<>();
+
+    private TinkerPrimitiveMessageBoard(final TinkerGraph graph, final MessageCombiner<?> combiner) {
+        this.vertices = TinkerHelper.getVertices(graph).values().toArray(new Vertex[0]);
+        this.ordinals = new HashMap<>(this.vertices.length * 4 / 3 + 1);
+        for (int i = 0; i < this.vertices.length; i++) {
+            this.ordinals.put(this.vertices[i].id(), i);
+        }
+        this.doubles = combiner instanceof DoubleMessageCombiner;
+        if (this.doubles) {
+            final DoubleMessageCombiner doubleCombiner = (DoubleMessageCombiner) combiner;
+            this.combiner = (a, b) -> Double.doubleToRawLongBits(doubleCombiner.combine(Double.longBitsToDouble(a), Double.longBitsToDouble(b)));
+        } else {
+            this.combiner = ((LongMessageCombiner) combiner)::combine;
+        }
+    }
+
+    /**
+     * Creates a primitive message board if the {@link VertexProgram} combines its messages as primitives.
+     *
+     * @return the message board or {@code null} if the messages of the vertex program are not primitives
+     */
+    public static TinkerPrimitiveMessageBoard of(final TinkerGraph graph, final VertexProgram<?> vertexProgram) {
+        final MessageCombiner<?> combiner = vertexProgram.getMessageCombiner().orElse(null);
+        return combiner instanceof DoubleMessageCombiner || combiner instanceof LongMessageCombiner ?
+                new TinkerPrimitiveMessageBoard(graph, combiner) :
+                null;
+    }
+
+    public void completeIteration() {
+        for (final Messages messages : this.receiveMessages) {
+            messages.clear();
+            this.recycledMessages.add(messages);
+        }
+        this.receiveMessages = this.sendMessages;
+        this.sendMessages = new ArrayList<>();
+        this.receiveActiveVertices = this.sendActiveVertices;
+        this.sendActiveVertices = new ConcurrentLinkedQueue<>();
+    }
+
+    public int ordinal(final Vertex vertex) {
+        final Integer ordinal = this.ordinals.get(vertex.id());
+        return null == ordinal ? -1 : ordinal;
+    }
+
+    public long encode(final Object message) {
+        return this.doubles ? Double.doubleToRawLongBits((Double) message) : (Long) message;
+    }
+
+    public Object decode(final long message) {
+        return this.doubles ? (Object) Double.longBitsToDouble(message) : (Object) message;
+    }
+
+    public long combine(final long messageA, final long messageB) {
+        return this.combiner.applyAsLong(messageA, messageB);
+    }
+
+    public void sendMessage(final MessageScope messageScope, final Vertex vertex, final long message) {
+        final int ordinal = this.ordinal(vertex);
+        if (ordinal >= 0)
+            this.getSendMessages(messageScope).add(ordinal, message, this.combiner);
+    }
+
+    public List<Messages> getReceiveMessages() {
+        return this.receiveMessages;
+    }
+
+    /**
+     * Adds the vertices that a worker sent messages to or woke up in this iteration.
+     */
+    public void addActiveVertices(final Set<Vertex> activeVertices) {
+        if (!activeVertices.isEmpty())
+            this.sendActiveVertices.add(activeVertices);
+    }
+
+    /**
+     * Gets the vertices that were woken up or that have messages to receive in the coming iteration, as gathered by
+     * the workers of the previous iteration.
+     */
+    public Set<Vertex> getActiveVertices() {
+        return TinkerMessageBoard.merge(this.receiveActiveVertices);
+    }
+
+    private Messages getSendMessages(final MessageScope messageScope) {
+        // scopes are usually the same instances throughout the computation and their equality is costly to determine
+        for (final Messages messages : this.sendMessages) {
+            if (messages.messageScope == messageScope) return messages;
+        }
+        synchronized (this) {
+            for (final Messages messages : this.sendMessages) {
+                if (messages.messageScope == messageScope || messages.messageScope.equals(messageScope))
+                    return messages;
+            }
+            final Messages messages = this.recycledMessages.isEmpty() ?
+                    new Messages(this.vertices.length) :
+                    this.recycledMessages.remove(this.recycledMessages.size() - 1);
+            messages.setMessageScope(messageScope);
+            final List<Messages> sendMessages = new ArrayList<>(this.sendMessages);
+            sendMessages.add(messages);
+            this.sendMessages = sendMessages;
+            return messages;
+        }
+    }
+
+    /**
+     * The messages of a {@link MessageScope} where each vertex has a state that is only ever advanced from absent to
+     * present by the thread that writes its first message, after which messages are combined into its value.
+     */
+    static final class Messages {
+
+        private MessageScope messageScope;
+        private Direction direction;
+        private String[] edgeLabels;
+        private final AtomicLongArray values;
+        private final AtomicIntegerArray states;
+
+        private Messages(final int size) {
+            this.values = new AtomicLongArray(size);
+            this.states = new AtomicIntegerArray(size);
+        }
+
+        private void setMessageScope(final MessageScope messageScope) {
+            this.messageScope = messageScope;
+            this.direction = null;
+            this.edgeLabels = null;
+            if (messageScope instanceof MessageScope.Local) {
+                // an incident traversal of a single vertex step can be walked without a traversal per receiving vertex
+                final Traversal.Admin<Vertex, ?> incidentTraversal = ((MessageScope.Local<?>) messageScope).getIncidentTraversal().get().asAdmin();
+                final List<Step> steps = incidentTraversal.getSteps();
+                if (1 == steps.size() && steps.get(0) instanceof VertexStep && ((VertexStep) steps.get(0)).returnsEdge()) {
+                    this.direction = ((VertexStep) steps.get(0)).getDirection();
+                    this.edgeLabels = ((VertexStep) steps.get(0)).getEdgeLabels();
+                }
+            }
+        }
+
+        public MessageScope getMessageScope() {
+            return this.messageScope;
+        }
+
+        /**
+         * Gets the direction of the edges from the sending vertex to the receiving vertex if the local message scope
+         * only walks incident edges.
+         */
+        public Direction getDirection() {
+            return this.direction;
+        }
+
+        public String[] getEdgeLabels() {
+            return this.edgeLabels;
+        }
+
+        public boolean isPresent(final int ordinal) {
+            return PRESENT == this.states.get(ordinal);
+        }
+
+        public long get(final int ordinal) {
+            return this.values.get(ordinal);
+        }
+
+        private void add(final int ordinal, final long message, final LongBinaryOperator combiner) {
+            while (true) {
+                final int state = this.states.get(ordinal);
+                if (ABSENT == state) {
+                    if (this.states.compareAndSet(ordinal, ABSENT, WRITING)) {
+                        this.values.set(ordinal, message);
+                        this.states.set(ordinal, PRESENT);
+                        return;
+                    }
+                } else if (PRESENT == state) {
+                    final long value = this.values.get(ordinal);
+                    if (this.values.compareAndSet(ordinal, value, combiner.applyAsLong(value, message)))
+                        return;
+                }
+                // another thread is writing the first message
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < this.states.length(); i++) {
+                this.states.set(i, ABSENT);
+            }
+        }
+    }
+}
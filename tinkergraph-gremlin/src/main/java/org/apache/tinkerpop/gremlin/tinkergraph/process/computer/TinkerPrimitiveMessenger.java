@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@link Messenger} for the {@link TinkerPrimitiveMessageBoard} which combines all the messages to the vertex into
+ * a single message as it receives them.
+ *
+ * @author agent
+ */
+public final class TinkerPrimitiveMessenger<M> implements Messenger<M> {
+
+    private final Vertex vertex;
+    private final TinkerPrimitiveMessageBoard messageBoard;
+    private final Set<Vertex> activeVertices;
+
+    /**
+     * @param activeVertices the set of the worker to add the receivers of messages and woken vertices to, or
+     *                       {@code null} if the vertices that are active in the next iteration are not tracked
+     */
+    public TinkerPrimitiveMessenger(final Vertex vertex, final TinkerPrimitiveMessageBoard messageBoard, final Set<Vertex> activeVertices) {
+        this.vertex = vertex;
+        this.messageBoard = messageBoard;
+        this.activeVertices = activeVertices;
+    }
+
+    @Override
+    public Iterator<M> receiveMessages() {
+        boolean received = false;
+        long combined = 0L;
+        for (final TinkerPrimitiveMessageBoard.Messages messages : this.messageBoard.getReceiveMessages()) {
+            if (messages.getMessageScope() instanceof MessageScope.Local) {
+                final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messages.getMessageScope();
+                final Direction direction;
+                final Iterator<Edge> edges;
+                if (null != messages.getDirection()) {
+                    direction = messages.getDirection();
+                    edges = this.vertex.edges(direction.opposite(), messages.getEdgeLabels());
+                } else {
+                    final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+                    direction = TinkerMessenger.getDirection(incidentTraversal);
+                    edges = VertexProgramHelper.reverse(incidentTraversal);
+                }
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    final Vertex sender = direction.equals(Direction.OUT) ?
+                            edge.outVertex() :
+                            direction.equals(Direction.IN) ?
+                                    edge.inVertex() :
+                                    edge.outVertex() == this.vertex ? edge.inVertex() : edge.outVertex();
+                    final int ordinal = this.messageBoard.ordinal(sender);
+                    if (ordinal < 0 || !messages.isPresent(ordinal)) continue;
+                    long message = messages.get(ordinal);
+                    if (!localMessageScope.hasIdentityEdgeFunction()) {
+                        final M edgeMessage = localMessageScope.getEdgeFunction().apply((M) this.messageBoard.decode(message), edge);
+                        if (null == edgeMessage) continue;
+                        message = this.messageBoard.encode(edgeMessage);
+                    }
+                    combined = received ? this.messageBoard.combine(combined, message) : message;
+                    received = true;
+                }
+            } else {
+                final int ordinal = this.messageBoard.ordinal(this.vertex);
+                if (ordinal < 0 || !messages.isPresent(ordinal)) continue;
+                combined = received ? this.messageBoard.combine(combined, messages.get(ordinal)) : messages.get(ordinal);
+                received = true;
+            }
+        }
+        return received ? Collections.singleton((M) this.messageBoard.decode(combined)).iterator() : Collections.emptyIterator();
+    }
+
+    @Override
+    public void sendMessage(final MessageScope messageScope, final M message) {
+        final long primitive = this.messageBoard.encode(message);
+        if (messageScope instanceof MessageScope.Local) {
+            this.messageBoard.sendMessage(messageScope, this.vertex, primitive);
+            if (null != this.activeVertices)
+                TinkerMessenger.adjacentVertices(this.vertex, (MessageScope.Local<?>) messageScope).forEachRemaining(this.activeVertices::add);
+        } else {
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> {
+                this.messageBoard.sendMessage(messageScope, v, primitive);
+                if (null != this.activeVertices) this.activeVertices.add(v);
+            });
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        if (null != this.activeVertices)
+            this.activeVertices.add(this.vertex);
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
@@ -37,6 +38,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -47,6 +49,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks per worker that the vertices are divided into so that a worker that is held up by a few
+     * expensive vertices leaves the remaining chunks to the other workers.
+     */
+    private static final int CHUNKS_PER_WORKER = 64;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,34 +62,21 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final TinkerMemory memory;
+    private final List<Vertex> vertices;
+    private final int chunkSize;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
+        this.memory = memory;
         this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
-            }
         }
+        this.vertices = new ArrayList<>(TinkerHelper.getVertices(graph).size());
+        graph.vertices().forEachRemaining(this.vertices::add);
+        this.chunkSize = Math.max(1, this.vertices.size() / (this.numberOfWorkers * CHUNKS_PER_WORKER));
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,15 +88,18 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        final AtomicInteger cursor = new AtomicInteger(0);
+        final long[] workerRuntimes = new long[this.numberOfWorkers];
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
+                final long time = System.nanoTime();
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                worker.accept(new ChunkIterator(cursor), vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
+                workerRuntimes[index] = System.nanoTime() - time;
                 return null;
             });
         }
@@ -114,6 +112,7 @@ public final class TinkerWorkerPool implements AutoCloseable {
                 throw new IllegalStateException(e.getMessage(), e);
             }
         }
+        this.memory.addWorkerRuntimes(workerRuntimes);
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
@@ -144,4 +143,37 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    /**
+     * Iterates the vertices by claiming chunks of them from a cursor that is shared by all the workers of an iteration.
+     */
+    private final class ChunkIterator implements Iterator<Vertex> {
+
+        private final AtomicInteger cursor;
+        private int current = 0;
+        private int end = 0;
+
+        private ChunkIterator(final AtomicInteger cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.current < this.end)
+                return true;
+            final int start = this.cursor.getAndAdd(chunkSize);
+            if (start >= vertices.size())
+                return false;
+            this.current = start;
+            this.end = Math.min(start + chunkSize, vertices.size());
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            return vertices.get(this.current++);
+        }
+    }
+}
@@ -19,13 +19,17 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -36,10 +40,16 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -48,11 +58,15 @@ import java.util.stream.Collectors;
  */
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder, AutoCloseable {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
     /**
      * List of iterators opened by this step.
      */
-    private final List<Iterator> iterators = new ArrayList<>();
+    private List<Iterator> iterators = new ArrayList<>();
+    /**
+     * Set once the step is prepared for a {@code GraphComputer}, which supplies the elements itself.
+     */
+    private boolean onGraphComputer = false;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -65,22 +79,43 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
     }
 
+    @Override
+    public TinkerGraphStep<S, E> clone() {
+        final TinkerGraphStep<S, E> clone = (TinkerGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        clone.iterators = new ArrayList<>();
+
+        // the supplier of the original step would iterate with its containers and keep its iterators
+        if (!this.onGraphComputer)
+            clone.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ? clone.vertices() : clone.edges()));
+        return clone;
+    }
+
+    @Override
+    public void onGraphComputer() {
+        super.onGraphComputer();
+        this.onGraphComputer = true;
+    }
+
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
+        else {
+            final List<? extends Edge> indexed = queryIndex(graph, Edge.class);
+            iterator = null == indexed ?
                     this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                                .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                                .collect(Collectors.<Edge>toList()).iterator();
-
+                    indexed.stream()
+                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
+                            .collect(Collectors.<Edge>toList()).iterator();
+        }
 
         iterators.add(iterator);
 
@@ -89,31 +124,244 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         // ids are present, filter on them first
         if (null == this.ids)
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
+        else {
+            final List<? extends Vertex> indexed = queryIndex(graph, Vertex.class);
+            iterator = null == indexed ?
                     this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+                    IteratorUtils.filter(indexed.iterator(), vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Gets the elements that might satisfy the {@link HasContainer} list from an index. The returned elements must
+     * still be filtered by all {@link HasContainer} instances. Returns {@code null} if no index can be used, in which
+     * case a full scan is required.
+     */
+    private <T extends Element> List<T> queryIndex(final TinkerGraph graph, final Class<T> indexedClass) {
+        final List<T> indexed = queryEqualityIndex(graph, indexedClass);
+        return null == indexed ? queryRangeIndex(graph, indexedClass) : indexed;
+    }
+
+    /**
+     * Uses the most selective label partition, single key index or composite index that can answer the {@code eq}
+     * filters of the {@link HasContainer} list. Returns {@code null} if there is no such index.
+     */
+    private <T extends Element> List<T> queryEqualityIndex(final TinkerGraph graph, final Class<T> indexedClass) {
+        final Map<String, Object> equalities = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getPredicate().getBiPredicate() == Compare.eq && !equalities.containsKey(hasContainer.getKey()))
+                equalities.put(hasContainer.getKey(), hasContainer.getPredicate().getValue());
+        }
+        final Set<String> labels = getLabels(hasContainers);
+        if (equalities.isEmpty() && null == labels)
+            return null;
+
+        final boolean isVertex = Vertex.class.isAssignableFrom(indexedClass);
+
+        // counting the elements for an index entry is cheap so use that to find the index that narrows the elements
+        // down the most
+        long fewest = Long.MAX_VALUE;
+        Supplier<List<? extends Element>> best = null;
+        if (null != labels) {
+            final Map<String, Set<? extends Element>> partitions = (Map) (isVertex ?
+                    TinkerHelper.getVerticesByLabel(graph) : TinkerHelper.getEdgesByLabel(graph));
+            fewest = labels.stream().mapToLong(label -> partitions.getOrDefault(label, Collections.emptySet()).size()).sum();
+            best = () -> {
+                final List<Element> elements = new ArrayList<>();
+                labels.forEach(label -> elements.addAll(partitions.getOrDefault(label, Collections.emptySet())));
+                return elements;
+            };
+        }
+
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        for (final Map.Entry<String, Object> equality : equalities.entrySet()) {
+            if (!indexedKeys.contains(equality.getKey())) continue;
+            final long count = isVertex ?
+                    TinkerHelper.countVertexIndex(graph, equality.getKey(), equality.getValue()) :
+                    TinkerHelper.countEdgeIndex(graph, equality.getKey(), equality.getValue());
+            if (count < fewest) {
+                fewest = count;
+                best = () -> isVertex ?
+                        TinkerHelper.queryVertexIndex(graph, equality.getKey(), equality.getValue()) :
+                        TinkerHelper.queryEdgeIndex(graph, equality.getKey(), equality.getValue());
+            }
+        }
+        for (final List<String> keys : graph.getCompositeIndexedKeys(indexedClass)) {
+            if (!equalities.keySet().containsAll(keys)) continue;
+            final List<Object> values = compositeValues(keys, equalities);
+            final long count = isVertex ?
+                    TinkerHelper.countVertexCompositeIndex(graph, keys, values) :
+                    TinkerHelper.countEdgeCompositeIndex(graph, keys, values);
+            if (count < fewest) {
+                fewest = count;
+                best = () -> isVertex ?
+                        TinkerHelper.queryVertexCompositeIndex(graph, keys, values) :
+                        TinkerHelper.queryEdgeCompositeIndex(graph, keys, values);
+            }
+        }
+
+        return null == best ? null : (List<T>) best.get();
+    }
+
+    /**
+     * Gets the labels that elements must have to satisfy the {@code eq} and {@code within} label filters of the
+     * {@link HasContainer} list, or {@code null} if the labels are not filtered that way.
+     */
+    public static Set<String> getLabels(final List<HasContainer> hasContainers) {
+        Set<String> labels = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.getKey().equals(T.label.getAccessor())) continue;
+
+            final P<?> predicate = hasContainer.getPredicate();
+            final Set<String> allowed = new LinkedHashSet<>();
+            if (predicate.getBiPredicate() == Compare.eq && predicate.getValue() instanceof String)
+                allowed.add((String) predicate.getValue());
+            else if (predicate.getBiPredicate() == Contains.within && predicate.getValue() instanceof Collection)
+                ((Collection<?>) predicate.getValue()).stream().filter(label -> label instanceof String).forEach(label -> allowed.add((String) label));
+            else
+                continue;
 
+            if (null == labels)
+                labels = allowed;
+            else
+                labels.retainAll(allowed);
+        }
+        return labels;
+    }
+
+    private static List<Object> compositeValues(final List<String> keys, final Map<String, Object> equalities) {
+        final List<Object> values = new ArrayList<>(keys.size());
+        keys.forEach(key -> values.add(equalities.get(key)));
+        return values;
+    }
+
+    /**
+     * Uses a {@link TinkerGraph.IndexType#SORTED} index to get the elements that might satisfy range predicates on
+     * the first such indexed key found in the {@link HasContainer} list. The returned elements are a superset of the
+     * matching elements and must still be filtered by all {@link HasContainer} instances. Returns {@code null} if no
+     * sorted index can be used, in which case a full scan is required.
+     */
+    private <T extends Element> List<T> queryRangeIndex(final TinkerGraph graph, final Class<T> indexedClass) {
         final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+                c -> graph.getIndexType(c.getKey(), indexedClass) == TinkerGraph.IndexType.SORTED && null != IndexRange.of(c.getPredicate()));
+        if (!itty.hasNext())
+            return null;
+
+        // intersect the bounds of all the simple ranges on the key. if there are none then the key has only "or"
+        // ranges (e.g. outside()) so take the union of the branches of the first one.
+        final String key = itty.next().getKey();
+        IndexRange range = null;
+        List<IndexRange> union = null;
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.getKey().equals(key)) continue;
+            final List<IndexRange> ranges = IndexRange.of(hasContainer.getPredicate());
+            if (null == ranges) continue;
+
+            if (hasContainer.getPredicate() instanceof OrP) {
+                if (null == union) union = ranges;
+            } else {
+                range = null == range ? ranges.get(0) : range.intersect(ranges.get(0));
+            }
+        }
+
+        if (null != range) union = Collections.singletonList(range);
+        if (1 == union.size())
+            return (List<T>) union.get(0).query(graph, key, indexedClass);
+
+        final Set<T> elements = new LinkedHashSet<>();
+        union.forEach(r -> elements.addAll((List<T>) r.query(graph, key, indexedClass)));
+        return new ArrayList<>(elements);
+    }
 
+    /**
+     * The bounds of a lookup against a {@link TinkerGraph.IndexType#SORTED} index where a {@code null} bound is open.
+     */
+    private static final class IndexRange {
+        private final Object from;
+        private final boolean fromInclusive;
+        private final Object to;
+        private final boolean toInclusive;
+
+        private IndexRange(final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * Combines the bounds of this range with another. The bounds are not compared so the result is not
+         * necessarily the tightest range, but it always contains the intersection of the two.
+         */
+        private IndexRange intersect(final IndexRange other) {
+            return new IndexRange(null == this.from ? other.from : this.from,
+                    null == this.from ? other.fromInclusive : this.fromInclusive,
+                    null == this.to ? other.to : this.to,
+                    null == this.to ? other.toInclusive : this.toInclusive);
+        }
+
+        private List<? extends Element> query(final TinkerGraph graph, final String key, final Class<? extends Element> indexedClass) {
+            return Vertex.class.isAssignableFrom(indexedClass) ?
+                    TinkerHelper.queryVertexIndexRange(graph, key, from, fromInclusive, to, toInclusive) :
+                    TinkerHelper.queryEdgeIndexRange(graph, key, from, fromInclusive, to, toInclusive);
+        }
+
+        /**
+         * Converts a predicate to the ranges that contain all the values that satisfy it, returning {@code null} if
+         * the predicate cannot be answered by a range lookup.
+         */
+        private static List<IndexRange> of(final P<?> predicate) {
+            if (predicate instanceof OrP) {
+                final List<IndexRange> ranges = new ArrayList<>();
+                for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                    final List<IndexRange> r = of(p);
+                    if (null == r) return null;
+                    ranges.addAll(r);
+                }
+                return ranges;
+            }
+
+            final Object value = predicate.getValue();
+            if (!(value instanceof Comparable))
+                return null;
+
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            if (biPredicate == Compare.gt)
+                return Collections.singletonList(new IndexRange(value, false, null, false));
+            else if (biPredicate == Compare.gte)
+                return Collections.singletonList(new IndexRange(value, true, null, false));
+            else if (biPredicate == Compare.lt)
+                return Collections.singletonList(new IndexRange(null, false, value, false));
+            else if (biPredicate == Compare.lte)
+                return Collections.singletonList(new IndexRange(null, false, value, true));
+            else if (biPredicate == Text.startingWith && value instanceof String)
+                return Collections.singletonList(new IndexRange(value, true, prefixUpperBound((String) value), false));
+            else
+                return null;
+        }
+
+        /**
+         * Gets the smallest string that is greater than all strings starting with the prefix or {@code null} if
+         * there is no such string.
+         */
+        private static String prefixUpperBound(final String prefix) {
+            for (int i = prefix.length() - 1; i >= 0; i--) {
+                final char c = prefix.charAt(i);
+                if (c != Character.MAX_VALUE)
+                    return prefix.substring(0, i) + (char) (c + 1);
+            }
+            return null;
+        }
     }
 
     @Override
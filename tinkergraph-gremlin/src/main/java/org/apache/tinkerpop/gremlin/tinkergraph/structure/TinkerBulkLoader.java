@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
+import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Loads a {@code gryo} or {@code graphson} adjacency list file into an empty {@link TinkerGraph} on multiple threads.
+ * The file is divided into byte ranges that each start at a vertex record and the {@code StarGraph} of each record is
+ * decoded by the thread that owns its range. A GraphSON range starts at the first line at or after its offset. The
+ * bytes of a Gryo record may contain anything, including the {@link GryoMapper#HEADER} that precedes each record, so
+ * Gryo ranges start at the record offsets of the index that {@link #writeGryo(TinkerGraph, File, File)} writes next to
+ * the file. A Gryo file without an index, or with one that does not match the file, is read on a single thread.
+ * <p/>
+ * The vertices and their properties are added in a first phase and the edges are added from the out-edges of each
+ * {@code StarGraph} in a second phase once every vertex exists, so the threads only contend on the concurrent maps of
+ * the graph and on the in-edges of the vertices they link to.
+ *
+ * @author agent
+ */
+final class TinkerBulkLoader {
+
+    private static final BasicThreadFactory THREAD_FACTORY_LOADER = new BasicThreadFactory.Builder().namingPattern("tinker-loader-%d").build();
+    private static final int SPLITS_PER_THREAD = 4;
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The extension of the index of a Gryo file, which is appended to the name of the file.
+     */
+    static final String INDEX_EXTENSION = ".idx";
+
+    private static final int INDEX_VERSION = 1;
+
+    private TinkerBulkLoader() {
+    }
+
+    /**
+     * Writes the graph to a Gryo adjacency list file that any {@code GryoReader} can read, along with an index of the
+     * offsets of its records one {@link #MIN_SPLIT_SIZE} apart.
+     */
+    static void writeGryo(final TinkerGraph graph, final File file, final File index) throws IOException {
+        writeGryo(graph, file, index, MIN_SPLIT_SIZE);
+    }
+
+    static void writeGryo(final TinkerGraph graph, final File file, final File index, final long interval) throws IOException {
+        final GraphWriter writer = graph.io(IoCore.gryo()).writer().create();
+        final List<Long> offsets = new ArrayList<>();
+        final List<Long> checksums = new ArrayList<>();
+        try (final IndexingOutputStream outputStream = new IndexingOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+            final Iterator<Vertex> vertices = graph.vertices();
+            long next = 0L;
+            while (vertices.hasNext()) {
+                // each record is flushed on its own so the position is always at the start of the next one
+                if (outputStream.position >= next) {
+                    if (!offsets.isEmpty()) checksums.add(outputStream.checksum.getValue());
+                    outputStream.checksum.reset();
+                    offsets.add(outputStream.position);
+                    next = outputStream.position + interval;
+                }
+                writer.writeVertex(outputStream, vertices.next(), Direction.BOTH);
+            }
+            if (!offsets.isEmpty()) checksums.add(outputStream.checksum.getValue());
+        }
+
+        try (final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(index)))) {
+            outputStream.writeInt(INDEX_VERSION);
+            outputStream.writeLong(file.length());
+            outputStream.writeInt(offsets.size());
+            for (int i = 0; i < offsets.size(); i++) {
+                outputStream.writeLong(offsets.get(i));
+                outputStream.writeLong(checksums.get(i));
+            }
+        }
+    }
+
+    static void read(final TinkerGraph graph, final File file, final String format, final int threads) throws IOException {
+        final long splits = Math.max(1L, Math.min((long) threads * SPLITS_PER_THREAD, file.length() / MIN_SPLIT_SIZE));
+        read(graph, file, format, threads, (int) splits);
+    }
+
+    static void read(final TinkerGraph graph, final File file, final String format, final int threads, final int splits) throws IOException {
+        if (!format.equals("gryo") && !format.equals("graphson"))
+            throw new IllegalArgumentException(String.format("The %s format cannot be loaded in parallel", format));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, THREAD_FACTORY_LOADER);
+        try {
+            final List<Split> ranges = format.equals("gryo") ?
+                    gryoSplits(graph, file, splits, executor) :
+                    graphSONSplits(graph, file, splits);
+            if (null == ranges) {
+                graph.io(IoCore.gryo()).readGraph(file.getPath());
+                return;
+            }
+
+            final List<Callable<Void>> vertices = new ArrayList<>(ranges.size());
+            ranges.forEach(split -> vertices.add(split::addVertices));
+            awaitAll(executor.invokeAll(vertices));
+
+            final List<Callable<Void>> edges = new ArrayList<>(ranges.size());
+            ranges.forEach(split -> edges.add(split::addEdges));
+            awaitAll(executor.invokeAll(edges));
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ie);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Split> graphSONSplits(final TinkerGraph graph, final File file, final int splits) {
+        final long length = file.length();
+        final long splitSize = Math.max(1L, (length + splits - 1) / splits);
+        final List<Split> ranges = new ArrayList<>(splits);
+        for (long start = 0; start < length; start = start + splitSize) {
+            ranges.add(new Split(graph, file, "graphson", start, Math.min(length, start + splitSize)));
+        }
+        return ranges;
+    }
+
+    /**
+     * Divides a Gryo file along the record offsets of its index once the checksums of the index show that it was
+     * written for the file.
+     *
+     * @return the ranges or {@code null} if there is no index that matches the file
+     */
+    private static List<Split> gryoSplits(final TinkerGraph graph, final File file, final int splits,
+                                          final ExecutorService executor) throws IOException, InterruptedException {
+        final File index = new File(file.getPath() + INDEX_EXTENSION);
+        if (!index.isFile()) return null;
+
+        final long length = file.length();
+        final long[] offsets;
+        final long[] checksums;
+        try (final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(index)))) {
+            if (inputStream.readInt() != INDEX_VERSION || inputStream.readLong() != length) return null;
+            final int size = inputStream.readInt();
+            offsets = new long[size];
+            checksums = new long[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = inputStream.readLong();
+                checksums[i] = inputStream.readLong();
+            }
+        } catch (final EOFException eof) {
+            return null;
+        }
+
+        final List<Callable<Boolean>> verifications = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            final long start = offsets[i];
+            final long end = i + 1 < offsets.length ? offsets[i + 1] : length;
+            final long checksum = checksums[i];
+            verifications.add(() -> checksum(file, start, end) == checksum);
+        }
+        for (final Future<Boolean> verified : executor.invokeAll(verifications)) {
+            try {
+                if (!verified.get()) return null;
+            } catch (final ExecutionException ee) {
+                return null;
+            }
+        }
+
+        final int perSplit = Math.max(1, (offsets.length + splits - 1) / splits);
+        final List<Split> ranges = new ArrayList<>(splits);
+        for (int i = 0; i < offsets.length; i = i + perSplit) {
+            final long end = i + perSplit < offsets.length ? offsets[i + perSplit] : length;
+            ranges.add(new Split(graph, file, "gryo", offsets[i], end));
+        }
+        return ranges;
+    }
+
+    static long checksum(final File file, final long start, final long end) throws IOException {
+        final CRC32 checksum = new CRC32();
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = start;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+                final int read = channel.read(buffer, position);
+                if (read < 0) break;
+                checksum.update(buffer.array(), 0, read);
+                position = position + read;
+            }
+        }
+        return checksum.getValue();
+    }
+
+    private static void awaitAll(final List<Future<Void>> futures) throws IOException, InterruptedException {
+        for (final Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException ee) {
+                if (ee.getCause() instanceof IOException)
+                    throw (IOException) ee.getCause();
+                else if (ee.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) ee.getCause();
+                else
+                    throw new IOException(ee.getCause());
+            }
+        }
+    }
+
+    /**
+     * A byte range of the file along with the vertices that were read from it, which are kept between the two
+     * phases so that the file is only read once.
+     */
+    private static final class Split {
+        private final TinkerGraph graph;
+        private final File file;
+        private final String format;
+        private final long start;
+        private final long end;
+        private final List<StarGraph.StarVertex> starVertices = new ArrayList<>();
+        private final List<TinkerVertex> vertices = new ArrayList<>();
+
+        private Split(final TinkerGraph graph, final File file, final String format, final long start, final long end) {
+            this.graph = graph;
+            this.file = file;
+            this.format = format;
+            this.start = start;
+            this.end = end;
+        }
+
+        private Void addVertices() throws IOException {
+            try (final FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+                if (this.format.equals("gryo"))
+                    this.readGryo(channel);
+                else
+                    this.readGraphSON(channel);
+            }
+            for (final StarGraph.StarVertex starVertex : this.starVertices) {
+                this.vertices.add(this.addVertex(starVertex));
+            }
+            return null;
+        }
+
+        private void readGryo(final FileChannel channel) throws IOException {
+            final Kryo kryo = this.graph.io(IoCore.gryo()).mapper().create().createMapper();
+            final Input input = new Input(Channels.newInputStream(channel.position(this.start)), BUFFER_SIZE);
+            while (this.start + input.total() < this.end && !input.eof()) {
+                input.skip(GryoMapper.HEADER.length);
+                this.starVertices.add(kryo.readObject(input, StarGraph.class).getStarVertex());
+                kryo.readClassAndObject(input);   // the vertex terminator
+            }
+        }
+
+        private void readGraphSON(final FileChannel channel) throws IOException {
+            final GraphReader reader = this.graph.io(IoCore.graphson()).reader().create();
+            final InputStream inputStream = new BufferedInputStream(Channels.newInputStream(channel.position(Math.max(0L, this.start - 1))), BUFFER_SIZE);
+            long position = Math.max(0L, this.start - 1);
+            // a split owns the lines that start within it, so skip the remainder of the line that the previous owns
+            if (this.start > 0) {
+                int b;
+                do {
+                    b = inputStream.read();
+                    position++;
+                } while (b != -1 && b != '\n');
+                if (b == -1) return;
+            }
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            while (position < this.end) {
+                line.reset();
+                int b;
+                while ((b = inputStream.read()) != -1 && b != '\n') {
+                    line.write(b);
+                }
+                position = position + line.size() + (b == -1 ? 0 : 1);
+                if (line.size() > 0)
+                    this.starVertices.add((StarGraph.StarVertex) reader.readVertex(new ByteArrayInputStream(line.toByteArray()), null, null, Direction.OUT));
+                if (b == -1) break;
+            }
+        }
+
+        private TinkerVertex addVertex(final StarGraph.StarVertex starVertex) {
+            final TinkerVertex vertex = new TinkerVertex(this.graph.vertexIdManager.convert(starVertex.id()), starVertex.label(), this.graph);
+            if (null != this.graph.vertices.putIfAbsent(vertex.id(), vertex))
+                throw Graph.Exceptions.vertexWithIdAlreadyExists(vertex.id());
+            TinkerHelper.addToLabelPartition(this.graph.verticesByLabel, vertex);
+            starVertex.properties().forEachRemaining(starVertexProperty -> {
+                if (null == vertex.properties) vertex.properties = new HashMap<>();
+                final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(
+                        this.convertOrNext(this.graph.vertexPropertyIdManager, starVertexProperty.id()), vertex, starVertexProperty.key(), starVertexProperty.value());
+                vertex.properties.computeIfAbsent(vertexProperty.key(), k -> new ArrayList<>(1)).add(vertexProperty);
+                starVertexProperty.properties().forEachRemaining(property -> {
+                    if (null == vertexProperty.properties) vertexProperty.properties = new HashMap<>();
+                    vertexProperty.properties.put(property.key(), new TinkerProperty<>(vertexProperty, property.key(), property.value()));
+                });
+            });
+            return vertex;
+        }
+
+        private Void addEdges() {
+            for (int i = 0; i < this.starVertices.size(); i++) {
+                final TinkerVertex outVertex = this.vertices.get(i);
+                this.starVertices.get(i).edges(Direction.OUT).forEachRemaining(starEdge -> {
+                    final TinkerVertex inVertex = (TinkerVertex) this.graph.vertices.get(this.graph.vertexIdManager.convert(starEdge.inVertex().id()));
+                    if (null == inVertex)
+                        throw new IllegalStateException(String.format("Could not find inV with id [%s] to create edge with id [%s]", starEdge.inVertex().id(), starEdge.id()));
+                    final TinkerEdge edge = new TinkerEdge(this.convertOrNext(this.graph.edgeIdManager, starEdge.id()), outVertex, starEdge.label(), inVertex);
+                    starEdge.properties().forEachRemaining(property -> {
+                        if (null == edge.properties) edge.properties = new HashMap<>();
+                        edge.properties.put(property.key(), new TinkerProperty<>(edge, property.key(), property.value()));
+                    });
+                    if (null != this.graph.edges.putIfAbsent(edge.id(), edge))
+                        throw Graph.Exceptions.edgeWithIdAlreadyExists(edge.id());
+                    TinkerHelper.addToLabelPartition(this.graph.edgesByLabel, edge);
+                    TinkerHelper.addOutEdge(outVertex, edge.label(), edge);
+                    // the out-edges of a vertex are only added by the split that read it but its in-edges are not
+                    synchronized (inVertex) {
+                        TinkerHelper.addInEdge(inVertex, edge.label(), edge);
+                    }
+                });
+            }
+            this.starVertices.clear();
+            this.vertices.clear();
+            return null;
+        }
+
+        private Object convertOrNext(final TinkerGraph.IdManager<?> idManager, final Object id) {
+            return null == id ? idManager.getNextId(this.graph) : idManager.convert(id);
+        }
+    }
+
+    /**
+     * Tracks the position and the checksum of what is written to a Gryo file for its index.
+     */
+    private static final class IndexingOutputStream extends FilterOutputStream {
+        private final CRC32 checksum = new CRC32();
+        private long position = 0L;
+
+        private IndexingOutputStream(final OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.checksum.update(b);
+            this.position++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len);
+            this.checksum.update(b, off, len);
+            this.position = this.position + len;
+        }
+    }
+}
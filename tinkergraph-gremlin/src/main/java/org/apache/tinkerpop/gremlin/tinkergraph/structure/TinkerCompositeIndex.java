@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index over the combined values of several keys so that an element can be found with a single lookup when
+ * there are equality filters on all of those keys. The label of an element can be one of the keys by way of
+ * {@code T.label.getAccessor()}. Multi-properties are indexed under every combination of their values and elements
+ * that do not have a value for all of the keys are not indexed.
+ *
+ * @author agent
+ */
+final class TinkerCompositeIndex<T extends Element> {
+
+    protected Map<List<String>, Map<List<Object>, Set<T>>> index = new ConcurrentHashMap<>();
+    protected final Class<T> indexClass;
+    private final TinkerGraph graph;
+
+    public TinkerCompositeIndex(final TinkerGraph graph, final Class<T> indexClass) {
+        this.graph = graph;
+        this.indexClass = indexClass;
+    }
+
+    public List<T> get(final List<String> keys, final List<Object> values) {
+        final Set<T> set = getSet(keys, values);
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    public long count(final List<String> keys, final List<Object> values) {
+        final Set<T> set = getSet(keys, values);
+        return null == set ? 0 : set.size();
+    }
+
+    /**
+     * Updates the index after the values of the key have changed on the element. The {@code oldValue} is a value
+     * the key may have had before the change, which may be {@code null} if it had none.
+     */
+    public void update(final T element, final String key, final Object oldValue) {
+        for (Map.Entry<List<String>, Map<List<Object>, Set<T>>> entry : this.index.entrySet()) {
+            final List<String> keys = entry.getKey();
+            if (!keys.contains(key)) continue;
+
+            final Map<List<Object>, Set<T>> keyMap = entry.getValue();
+
+            // the element can't be in an index entry that it doesn't have current values for, other than for the
+            // changed key, so it is enough to clear the combinations of those values with the old value.
+            for (List<Object> values : combinations(element, keys, key, oldValue)) {
+                remove(keyMap, values, element);
+            }
+            for (List<Object> values : combinations(element, keys, null, null)) {
+                put(keyMap, values, element);
+            }
+        }
+    }
+
+    /**
+     * Removes the element from the index. This must be called before the properties of the element are cleared.
+     */
+    public void removeElement(final T element) {
+        if (this.indexClass.isAssignableFrom(element.getClass())) {
+            for (Map.Entry<List<String>, Map<List<Object>, Set<T>>> entry : this.index.entrySet()) {
+                for (List<Object> values : combinations(element, entry.getKey(), null, null)) {
+                    remove(entry.getValue(), values, element);
+                }
+            }
+        }
+    }
+
+    public void createCompositeIndex(final String... keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.length < 2)
+            throw new IllegalArgumentException("A composite index must have at least two keys");
+        for (String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (new HashSet<>(Arrays.asList(keys)).size() != keys.length)
+            throw new IllegalArgumentException("The keys of a composite index must be unique: " + Arrays.toString(keys));
+
+        final List<String> keyList = Collections.unmodifiableList(Arrays.asList(keys));
+        if (this.index.containsKey(keyList))
+            return;
+
+        final Map<List<Object>, Set<T>> keyMap = new ConcurrentHashMap<>();
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().parallelStream() :
+                this.graph.edges.values().parallelStream())
+                .forEach(e -> combinations((T) e, keyList, null, null).forEach(values -> put(keyMap, values, (T) e)));
+        this.index.put(keyList, keyMap);
+    }
+
+    public void dropCompositeIndex(final String... keys) {
+        final List<String> keyList = Arrays.asList(keys);
+        if (this.index.containsKey(keyList))
+            this.index.remove(keyList).clear();
+    }
+
+    public Set<List<String>> getIndexedKeys() {
+        return this.index.keySet();
+    }
+
+    private Set<T> getSet(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> keyMap = this.index.get(keys);
+        if (null == keyMap)
+            return null;
+
+        final List<Object> indexableValues = new ArrayList<>(values.size());
+        for (Object value : values) {
+            indexableValues.add(TinkerIndex.indexable(value));
+        }
+        return keyMap.get(indexableValues);
+    }
+
+    private static <T extends Element> void put(final Map<List<Object>, Set<T>> keyMap, final List<Object> values, final T element) {
+        Set<T> objects = keyMap.get(values);
+        if (null == objects) {
+            keyMap.putIfAbsent(values, ConcurrentHashMap.newKeySet());
+            objects = keyMap.get(values);
+        }
+        objects.add(element);
+    }
+
+    private static <T extends Element> void remove(final Map<List<Object>, Set<T>> keyMap, final List<Object> values, final T element) {
+        final Set<T> objects = keyMap.get(values);
+        if (null != objects) {
+            objects.remove(element);
+            if (objects.size() == 0) {
+                keyMap.remove(values);
+            }
+        }
+    }
+
+    /**
+     * Gets every combination of the values of the keys on the element. If {@code extraKey} is not {@code null}, then
+     * the {@code extraValue} is added to the values of that key.
+     */
+    private static List<List<Object>> combinations(final Element element, final List<String> keys,
+                                                   final String extraKey, final Object extraValue) {
+        List<List<Object>> combinations = Collections.singletonList(Collections.emptyList());
+        for (String key : keys) {
+            final Set<Object> values = values(element, key);
+            if (key.equals(extraKey))
+                values.add(TinkerIndex.indexable(extraValue));
+            if (values.isEmpty())
+                return Collections.emptyList();
+
+            final List<List<Object>> next = new ArrayList<>(combinations.size() * values.size());
+            for (List<Object> combination : combinations) {
+                for (Object value : values) {
+                    final List<Object> extended = new ArrayList<>(combination);
+                    extended.add(value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    /**
+     * Reads the values directly from the element as its property accessors would otherwise go through the
+     * {@link org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView} in computer mode.
+     */
+    private static Set<Object> values(final Element element, final String key) {
+        final Set<Object> values = new LinkedHashSet<>();
+        if (key.equals(org.apache.tinkerpop.gremlin.structure.T.label.getAccessor())) {
+            values.add(element.label());
+        } else if (element instanceof TinkerVertex) {
+            final List<VertexProperty> properties = TinkerHelper.getProperties((TinkerVertex) element).get(key);
+            if (null != properties)
+                properties.forEach(p -> values.add(TinkerIndex.indexable(p.value())));
+        } else {
+            final Map<String, Property> properties = ((TinkerEdge) element).properties;
+            if (null != properties && properties.containsKey(key))
+                values.add(TinkerIndex.indexable(properties.get(key).value()));
+        }
+        return values;
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -68,6 +69,10 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (null == this.properties) this.properties = new HashMap<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+
+        // properties given to addEdge() are logged with the edge itself once it is attached to the graph
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.mutationLog && graph.edges.containsKey(this.id)) graph.mutationLog.setProperty(newProperty);
         return newProperty;
 
     }
@@ -88,20 +93,22 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
         if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
+            final Collection<Edge> edges = outVertex.outEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
         if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
+            final Collection<Edge> edges = inVertex.inEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
 
         TinkerHelper.removeElementIndex(this);
         ((TinkerGraph) this.graph()).edges.remove(this.id());
+        TinkerHelper.removeFromLabelPartition(((TinkerGraph) this.graph()).edgesByLabel, this);
         this.properties = null;
         this.removed = true;
+        if (null != ((TinkerGraph) this.graph()).mutationLog) ((TinkerGraph) this.graph()).mutationLog.removeEdge(this);
     }
 
     @Override
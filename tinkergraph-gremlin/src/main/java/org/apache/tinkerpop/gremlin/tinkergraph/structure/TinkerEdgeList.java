@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The collection of edges with the same label and direction on a {@link TinkerVertex} when the graph is configured
+ * with {@link TinkerGraph#GREMLIN_TINKERGRAPH_ARRAY_ADJACENCY}. The edges are held in a plain array, which costs a
+ * single reference per edge rather than the entry object and table slot a {@code HashSet} uses. In exchange, removing
+ * an edge is linear in the number of edges of the label and the iteration order changes when an edge is removed.
+ *
+ * @author agent
+ */
+final class TinkerEdgeList extends AbstractCollection<Edge> {
+
+    private static final Edge[] EMPTY = new Edge[0];
+
+    private Edge[] edges = EMPTY;
+    private int size = 0;
+    private int modCount = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, Math.max(2, this.size + (this.size >> 1)));
+        this.edges[this.size++] = edge;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(o)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(o))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int current = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.current < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+                if (this.current >= size) throw new NoSuchElementException();
+                this.last = this.current++;
+                return edges[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+                removeAt(this.last);
+                // the last edge was swapped into the removed slot so it has to be visited next
+                this.current = this.last;
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    private void removeAt(final int index) {
+        this.edges[index] = this.edges[--this.size];
+        this.edges[this.size] = null;
+
+        // give back the memory of vertices that lost most of their edges
+        if (this.size < this.edges.length >> 2)
+            this.edges = Arrays.copyOf(this.edges, Math.max(this.size, this.edges.length >> 1));
+        this.modCount++;
+    }
+}
@@ -42,12 +42,17 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -83,28 +88,39 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS = "gremlin.tinkergraph.graphLoadThreads";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
+    public static final String GREMLIN_TINKERGRAPH_ARRAY_ADJACENCY = "gremlin.tinkergraph.arrayAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_MUTATION_LOG = "gremlin.tinkergraph.mutationLog";
+    public static final String GREMLIN_TINKERGRAPH_MUTATION_LOG_COMPACTION_THRESHOLD = "gremlin.tinkergraph.mutationLogCompactionThreshold";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, Set<Vertex>> verticesByLabel = new ConcurrentHashMap<>();
+    protected Map<String, Set<Edge>> edgesByLabel = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerCompositeIndex<TinkerVertex> vertexCompositeIndex = null;
+    protected TinkerCompositeIndex<TinkerEdge> edgeCompositeIndex = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
     protected final boolean allowNullPropertyValues;
+    protected final boolean arrayAdjacency;
 
     private final Configuration configuration;
     private final String graphLocation;
     private final String graphFormat;
+    private final int graphLoadThreads;
+    final TinkerMutationLog mutationLog;
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
@@ -117,15 +133,25 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        arrayAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_ARRAY_ADJACENCY, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
+        graphLoadThreads = configuration.getInt(GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, 1);
 
         if ((graphLocation != null && null == graphFormat) || (null == graphLocation && graphFormat != null))
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        final boolean useMutationLog = configuration.getBoolean(GREMLIN_TINKERGRAPH_MUTATION_LOG, false);
+        if (useMutationLog && null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified if %s is enabled",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_MUTATION_LOG));
+
         if (graphLocation != null) loadGraph();
+        mutationLog = useMutationLog ?
+                TinkerMutationLog.open(this, graphLocation, configuration.getLong(GREMLIN_TINKERGRAPH_MUTATION_LOG_COMPACTION_THRESHOLD, 100000L)) :
+                null;
     }
 
     /**
@@ -174,6 +200,8 @@ public final class TinkerGraph implements Graph {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        TinkerHelper.addToLabelPartition(this.verticesByLabel, vertex);
+        if (null != this.mutationLog) this.mutationLog.addVertex(vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -216,21 +244,40 @@ public final class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
+        this.verticesByLabel.clear();
+        this.edgesByLabel.clear();
         this.variables = null;
         this.currentId.set(-1L);
         this.vertexIndex = null;
         this.edgeIndex = null;
+        this.vertexCompositeIndex = null;
+        this.edgeCompositeIndex = null;
         this.graphComputerView = null;
+        if (null != this.mutationLog) this.mutationLog.clear();
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. When the {@link #GREMLIN_TINKERGRAPH_MUTATION_LOG} is enabled
+     * only the mutations made since the last snapshot are forced to disk rather than the whole graph being written.
+     * This method may be called multiple times and does not release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (mutationLog != null)
+            mutationLog.close();
+        else if (graphLocation != null)
+            saveGraph();
+    }
+
+    /**
+     * Writes a new snapshot of the graph to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} and starts the mutation
+     * log over. This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_MUTATION_LOG} is enabled, in which
+     * case the same is also done in the background once the log holds
+     * {@link #GREMLIN_TINKERGRAPH_MUTATION_LOG_COMPACTION_THRESHOLD} records.
+     */
+    public void compactMutationLog() {
+        if (mutationLog != null) mutationLog.compact();
     }
 
     @Override
@@ -243,6 +290,11 @@ public final class TinkerGraph implements Graph {
         return configuration;
     }
 
+    @Override
+    public Optional<Statistics> statistics() {
+        return Optional.of(new TinkerGraphStatistics(this));
+    }
+
     @Override
     public Iterator<Vertex> vertices(final Object... vertexIds) {
         return createElementIterator(Vertex.class, vertices, vertexIdManager, vertexIds);
@@ -257,12 +309,16 @@ public final class TinkerGraph implements Graph {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
             try {
-                if (graphFormat.equals("graphml")) {
+                if (graphLoadThreads > 1 && (graphFormat.equals("graphson") || graphFormat.equals("gryo"))) {
+                    TinkerBulkLoader.read(this, f, graphFormat, graphLoadThreads);
+                } else if (graphFormat.equals("graphml")) {
                     io(IoCore.graphml()).readGraph(graphLocation);
                 } else if (graphFormat.equals("graphson")) {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals("snapshot")) {
+                    TinkerSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -272,34 +328,62 @@ public final class TinkerGraph implements Graph {
         }
     }
 
-    private void saveGraph() {
+    /**
+     * Writes the graph to a temporary file next to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} and then moves it
+     * into place so that a failure part way through never leaves a truncated graph behind.
+     */
+    void saveGraph() {
         final File f = new File(graphLocation);
-        if (f.exists()) {
-            f.delete();
-        } else {
-            final File parent = f.getParentFile();
-
-            // the parent would be null in the case of an relative path if the graphLocation was simply: "f.gryo"
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
+        final File parent = f.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
         }
 
+        final String tempLocation = graphLocation + ".tmp";
+        final File temp = new File(tempLocation);
+        if (temp.exists()) temp.delete();
+        final File tempIndex = new File(tempLocation + TinkerBulkLoader.INDEX_EXTENSION);
+        if (tempIndex.exists()) tempIndex.delete();
+
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(tempLocation);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(tempLocation);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                // the index is only of use to a graph that loads the file on more than one thread
+                if (graphLoadThreads > 1)
+                    TinkerBulkLoader.writeGryo(this, temp, tempIndex);
+                else
+                    io(IoCore.gryo()).writeGraph(tempLocation);
+            } else if (graphFormat.equals("snapshot")) {
+                TinkerSnapshot.write(this, temp);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(tempLocation);
             }
+
+            if (temp.exists()) move(temp, f);
+
+            // an index of an earlier file no longer matches it, so there is no reason to keep it
+            final File index = new File(graphLocation + TinkerBulkLoader.INDEX_EXTENSION);
+            if (!tempIndex.exists() && index.exists()) index.delete();
+
+            // the index of a gryo file is moved after it, so an index left behind by a failure in between does not
+            // match the file and is ignored when the file is loaded
+            if (tempIndex.exists()) move(tempIndex, index);
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
     }
 
+    private static void move(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Map<Object, T> elements,
                                                                   final IdManager idManager,
                                                                   final Object... ids) {
@@ -489,12 +573,25 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If an index of a different type already exists for the key, it is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -534,6 +631,95 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combined values of
+     * said property keys, so that elements with equality filters on all of the keys can be found with a single
+     * lookup. Use {@code T.label.getAccessor()} as a key to include the element label in the index.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index, at least two
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexCompositeIndex) this.vertexCompositeIndex = new TinkerCompositeIndex<>(this, TinkerVertex.class);
+            this.vertexCompositeIndex.createCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeCompositeIndex) this.edgeCompositeIndex = new TinkerCompositeIndex<>(this, TinkerEdge.class);
+            this.edgeCompositeIndex.createCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop in the order they were given when it was created
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexCompositeIndex) this.vertexCompositeIndex.dropCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeCompositeIndex) this.edgeCompositeIndex.dropCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the keys of all the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexCompositeIndex ? Collections.emptySet() : this.vertexCompositeIndex.getIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeCompositeIndex ? Collections.emptySet() : this.edgeCompositeIndex.getIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the type of index for said element class ({@link Vertex} or {@link Edge}) and key.
+     *
+     * @param key          the property key of the index
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash-based index that can only answer equality lookups. This is the default index type.
+         */
+        HASH,
+
+        /**
+         * A sorted index that can answer equality lookups as well as range lookups like {@code gt()},
+         * {@code between()} and {@code startingWith()}, at the cost of slower updates than {@link #HASH}.
+         */
+        SORTED
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
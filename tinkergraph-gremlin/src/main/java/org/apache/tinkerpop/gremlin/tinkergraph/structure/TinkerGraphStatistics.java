@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link Graph.Statistics} of a {@link TinkerGraph}, which are read from the label partitions and the indices of
+ * the graph as they are requested, so they are always current. Value counts are only known for indexed keys.
+ *
+ * @author agent
+ */
+public final class TinkerGraphStatistics implements Graph.Statistics {
+
+    private final TinkerGraph graph;
+
+    TinkerGraphStatistics(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass, final String label) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == label) return this.graph.vertices.size();
+            final Set<Vertex> partition = this.graph.verticesByLabel.get(label);
+            return null == partition ? 0L : partition.size();
+        } else {
+            if (null == label) return this.graph.edges.size();
+            final Set<Edge> partition = this.graph.edgesByLabel.get(label);
+            return null == partition ? 0L : partition.size();
+        }
+    }
+
+    @Override
+    public double averageDegree(final String edgeLabel, final Direction direction) {
+        final long vertexCount = this.count(Vertex.class, null);
+        if (0L == vertexCount) return 0.0d;
+
+        // every edge adds one to the out-degree of one vertex and one to the in-degree of another
+        final double degree = (double) this.count(Edge.class, edgeLabel) / vertexCount;
+        return Direction.BOTH == direction ? degree * 2.0d : degree;
+    }
+
+    @Override
+    public Optional<Long> count(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? this.graph.vertexIndex : this.graph.edgeIndex;
+        return null == index || !index.getIndexedKeys().contains(key) ?
+                Optional.empty() :
+                Optional.of(index.count(key, value));
+    }
+}
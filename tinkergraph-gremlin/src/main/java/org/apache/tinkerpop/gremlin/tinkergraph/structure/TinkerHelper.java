@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -29,6 +30,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -64,32 +67,54 @@ public final class TinkerHelper {
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         graph.edges.put(edge.id(), edge);
+        TinkerHelper.addToLabelPartition(graph.edgesByLabel, edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        if (null != graph.mutationLog) graph.mutationLog.addEdge((TinkerEdge) edge);
         return edge;
 
     }
 
+    protected static <E extends Element> void addToLabelPartition(final Map<String, Set<E>> partitions, final E element) {
+        partitions.computeIfAbsent(element.label(), label -> ConcurrentHashMap.newKeySet()).add(element);
+    }
+
+    protected static <E extends Element> void removeFromLabelPartition(final Map<String, Set<E>> partitions, final E element) {
+        partitions.computeIfPresent(element.label(), (label, elements) -> {
+            elements.remove(element);
+            return elements.isEmpty() ? null : elements;
+        });
+    }
+
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
+        if (null == vertex.outEdges) vertex.outEdges = createAdjacencyMap(vertex);
+        Collection<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacency(vertex);
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
+        if (null == vertex.inEdges) vertex.inEdges = createAdjacencyMap(vertex);
+        Collection<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacency(vertex);
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    private static Map<String, Collection<Edge>> createAdjacencyMap(final TinkerVertex vertex) {
+        // most vertices only have edges of a label or two so don't start with the default table of 16
+        return ((TinkerGraph) vertex.graph()).arrayAdjacency ? new HashMap<>(2) : new HashMap<>();
+    }
+
+    private static Collection<Edge> createAdjacency(final TinkerVertex vertex) {
+        return ((TinkerGraph) vertex.graph()).arrayAdjacency ? new TinkerEdgeList() : new HashSet<>();
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -98,6 +123,42 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndexRange(final TinkerGraph graph, final String key,
+                                                           final Object from, final boolean fromInclusive,
+                                                           final Object to, final boolean toInclusive) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getRange(key, from, fromInclusive, to, toInclusive);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndexRange(final TinkerGraph graph, final String key,
+                                                       final Object from, final boolean fromInclusive,
+                                                       final Object to, final boolean toInclusive) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getRange(key, from, fromInclusive, to, toInclusive);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.count(key, value);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.count(key, value);
+    }
+
+    public static List<TinkerVertex> queryVertexCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexCompositeIndex ? Collections.emptyList() : graph.vertexCompositeIndex.get(keys, values);
+    }
+
+    public static List<TinkerEdge> queryEdgeCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeCompositeIndex ? Collections.emptyList() : graph.edgeCompositeIndex.get(keys, values);
+    }
+
+    public static long countVertexCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexCompositeIndex ? 0 : graph.vertexCompositeIndex.count(keys, values);
+    }
+
+    public static long countEdgeCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeCompositeIndex ? 0 : graph.edgeCompositeIndex.count(keys, values);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -122,36 +183,48 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
+        if (graph.edgeCompositeIndex != null)
+            graph.edgeCompositeIndex.update(edge, key, oldValue);
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.autoUpdate(key, newValue, oldValue, vertex);
+        if (graph.vertexCompositeIndex != null)
+            graph.vertexCompositeIndex.update(vertex, key, oldValue);
     }
 
     public static void removeElementIndex(final TinkerVertex vertex) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.removeElement(vertex);
+        if (graph.vertexCompositeIndex != null)
+            graph.vertexCompositeIndex.removeElement(vertex);
     }
 
     public static void removeElementIndex(final TinkerEdge edge) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.removeElement(edge);
+        if (graph.edgeCompositeIndex != null)
+            graph.edgeCompositeIndex.removeElement(edge);
     }
 
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.remove(key, value, vertex);
+        if (graph.vertexCompositeIndex != null)
+            graph.vertexCompositeIndex.update(vertex, key, value);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.remove(key, value, edge);
+        if (graph.edgeCompositeIndex != null)
+            graph.edgeCompositeIndex.update(edge, key, value);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -161,7 +234,7 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptyList()));
                 else
                     Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
@@ -171,7 +244,7 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptyList()));
                 else
                     Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
@@ -186,9 +259,9 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptyList()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -196,9 +269,9 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptyList()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
             }
         }
         return (Iterator) vertices.iterator();
@@ -211,4 +284,18 @@ public final class TinkerHelper {
     public static Map<Object, Edge> getEdges(final TinkerGraph graph) {
         return graph.edges;
     }
+
+    /**
+     * Gets the vertices of the graph partitioned by their label.
+     */
+    public static Map<String, Set<Vertex>> getVerticesByLabel(final TinkerGraph graph) {
+        return graph.verticesByLabel;
+    }
+
+    /**
+     * Gets the edges of the graph partitioned by their label.
+     */
+    public static Map<String, Set<Edge>> getEdgesByLabel(final TinkerGraph graph) {
+        return graph.edgesByLabel;
+    }
 }
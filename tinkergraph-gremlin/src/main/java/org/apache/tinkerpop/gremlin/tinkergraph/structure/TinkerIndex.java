@@ -22,14 +22,17 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -37,8 +40,14 @@ import java.util.concurrent.ConcurrentHashMap;
 final class TinkerIndex<T extends Element> {
 
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+
+    /**
+     * Holds values of {@link TinkerGraph.IndexType#SORTED} keys that have no natural ordering and therefore cannot be
+     * placed in the sorted map held for that key in {@link #index}.
+     */
+    protected Map<String, Map<Object, Set<T>>> unsortedIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,21 +56,24 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Object indexableValue = indexable(value);
+        final Map<String, Map<Object, Set<T>>> keyIndex = selectIndex(key, indexableValue);
+        Map<Object, Set<T>> keyMap = keyIndex.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
-            keyMap = this.index.get(key);
+            keyIndex.putIfAbsent(key, keyIndex == this.index && isSorted(key) ?
+                    new ConcurrentSkipListMap<>(SortedValueComparator.INSTANCE) : new ConcurrentHashMap<>());
+            keyMap = keyIndex.get(key);
         }
-        Set<T> objects = keyMap.get(value);
+        Set<T> objects = keyMap.get(indexableValue);
         if (null == objects) {
-            keyMap.putIfAbsent(value, ConcurrentHashMap.newKeySet());
-            objects = keyMap.get(value);
+            keyMap.putIfAbsent(indexableValue, ConcurrentHashMap.newKeySet());
+            objects = keyMap.get(indexableValue);
         }
         objects.add(element);
     }
 
     public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = selectIndex(key, indexable(value)).get(key);
         if (null == keyMap) {
             return Collections.emptyList();
         } else {
@@ -73,8 +85,38 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
-    public long count(final String key, final Object value) {
+    /**
+     * Gets the elements with a value for the key that falls within the specified range. The key must be indexed as
+     * {@link TinkerGraph.IndexType#SORTED}. A {@code null} bound leaves that end of the range open, but only to the
+     * extent of values that are comparable to the other bound (e.g. an open upper bound on a {@code Number} will not
+     * return {@code String} values). At least one bound must be specified.
+     */
+    public List<T> getRange(final String key, final Object from, final boolean fromInclusive,
+                            final Object to, final boolean toInclusive) {
+        if (null == from && null == to)
+            throw new IllegalArgumentException("The range must specify at least one bound");
+        if (!isSorted(key))
+            throw new IllegalStateException(String.format("The key %s does not have a %s index", key, TinkerGraph.IndexType.SORTED));
+
         final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+
+        final Object lower = null == from ? SortedValueComparator.Bound.lowerOf(to) : from;
+        final Object upper = null == to ? SortedValueComparator.Bound.upperOf(from) : to;
+        final boolean lowerInclusive = null == from || fromInclusive;
+        final boolean upperInclusive = null == to || toInclusive;
+        final int cmp = SortedValueComparator.INSTANCE.compare(lower, upper);
+        if (cmp > 0 || (cmp == 0 && !(lowerInclusive && upperInclusive)))
+            return Collections.emptyList();
+
+        final List<T> list = new ArrayList<>();
+        ((NavigableMap<Object, Set<T>>) keyMap).subMap(lower, lowerInclusive, upper, upperInclusive).values().forEach(list::addAll);
+        return list;
+    }
+
+    public long count(final String key, final Object value) {
+        final Map<Object, Set<T>> keyMap = selectIndex(key, indexable(value)).get(key);
         if (null == keyMap) {
             return 0;
         } else {
@@ -87,13 +129,14 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Object indexableValue = indexable(value);
+        final Map<Object, Set<T>> keyMap = selectIndex(key, indexableValue).get(key);
         if (null != keyMap) {
-            final Set<T> objects = keyMap.get(indexable(value));
+            final Set<T> objects = keyMap.get(indexableValue);
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexableValue);
                 }
             }
         }
@@ -106,25 +149,41 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (Map<Object, Set<T>> map : unsortedIndex.values()) {
+                for (Set<T> set : map.values()) {
+                    set.remove(element);
+                }
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
+        if (this.indexedKeys.containsKey(key)) {
             this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
     }
 
     public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
+        final TinkerGraph.IndexType existing = this.indexedKeys.get(key);
+        if (indexType == existing)
             return;
-        this.indexedKeys.add(key);
+
+        // changing the type of an existing index means it needs to be rebuilt from scratch
+        if (existing != null)
+            this.dropKeyIndex(key);
+        this.indexedKeys.put(key, indexType);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().parallelStream() :
@@ -137,6 +196,8 @@ final class TinkerIndex<T extends Element> {
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        if (this.unsortedIndex.containsKey(key))
+            this.unsortedIndex.remove(key).clear();
 
         this.indexedKeys.remove(key);
     }
@@ -150,7 +211,23 @@ final class TinkerIndex<T extends Element> {
     }
 
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.indexedKeys.keySet();
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexedKeys.get(key);
+    }
+
+    private boolean isSorted(final String key) {
+        return TinkerGraph.IndexType.SORTED == this.indexedKeys.get(key);
+    }
+
+    /**
+     * Values that have no natural order cannot go into the sorted map of a {@link TinkerGraph.IndexType#SORTED} key
+     * so they are kept in a separate hash-based map.
+     */
+    private Map<String, Map<Object, Set<T>>> selectIndex(final String key, final Object indexableValue) {
+        return isSorted(key) && !SortedValueComparator.isSortable(indexableValue) ? this.unsortedIndex : this.index;
     }
 
     public static final class IndexedNull {
@@ -172,4 +249,98 @@ final class TinkerIndex<T extends Element> {
             return o instanceof IndexedNull;
         }
     }
+
+    /**
+     * Orders the values of a {@link TinkerGraph.IndexType#SORTED} index. Values are first grouped so that those which
+     * can be compared to each other are adjacent: {@code null} comes first, followed by all {@code Number} values
+     * (compared with {@link NumberHelper} so that the numeric type is ignored as it is in {@code P}), followed by
+     * other {@code Comparable} values grouped by their class.
+     */
+    static final class SortedValueComparator implements Comparator<Object> {
+
+        static final SortedValueComparator INSTANCE = new SortedValueComparator();
+
+        private static final int NULL_RANK = 0;
+        private static final int NUMBER_RANK = 1;
+        private static final int COMPARABLE_RANK = 2;
+
+        private SortedValueComparator() {}
+
+        static boolean isSortable(final Object indexableValue) {
+            return indexableValue instanceof IndexedNull || indexableValue instanceof Comparable;
+        }
+
+        @Override
+        public int compare(final Object a, final Object b) {
+            final int rank = Integer.compare(rank(a), rank(b));
+            if (rank != 0) return rank;
+
+            final int group = group(a).compareTo(group(b));
+            if (group != 0) return group;
+
+            if (a instanceof Bound || b instanceof Bound)
+                return Integer.compare(boundPosition(a), boundPosition(b));
+
+            switch (rank(a)) {
+                case NULL_RANK:
+                    return 0;
+                case NUMBER_RANK:
+                    return compareNumbers((Number) a, (Number) b);
+                default:
+                    return ((Comparable) a).compareTo(b);
+            }
+        }
+
+        private static int compareNumbers(final Number a, final Number b) {
+            // NumberHelper will try to promote non-finite floating point values to BigDecimal which is not possible
+            if (!isFinite(a) || !isFinite(b))
+                return Double.compare(a.doubleValue(), b.doubleValue());
+            return NumberHelper.compare(a, b);
+        }
+
+        private static boolean isFinite(final Number n) {
+            return !(n instanceof Double || n instanceof Float) || Double.isFinite(n.doubleValue());
+        }
+
+        private static int rank(final Object o) {
+            if (o instanceof Bound) return ((Bound) o).rank;
+            if (o instanceof IndexedNull) return NULL_RANK;
+            if (o instanceof Number) return NUMBER_RANK;
+            return COMPARABLE_RANK;
+        }
+
+        private static String group(final Object o) {
+            if (o instanceof Bound) return ((Bound) o).group;
+            return COMPARABLE_RANK == rank(o) ? o.getClass().getName() : "";
+        }
+
+        private static int boundPosition(final Object o) {
+            return o instanceof Bound ? (((Bound) o).upper ? 1 : -1) : 0;
+        }
+
+        /**
+         * A sentinel that sorts before or after all values in the same group as some other value so that a range
+         * with one open end stays within values that are comparable to its closed end.
+         */
+        static final class Bound {
+            private final int rank;
+            private final String group;
+            private final boolean upper;
+
+            private Bound(final Object value, final boolean upper) {
+                final Object indexableValue = indexable(value);
+                this.rank = rank(indexableValue);
+                this.group = group(indexableValue);
+                this.upper = upper;
+            }
+
+            static Bound lowerOf(final Object value) {
+                return new Bound(value, false);
+            }
+
+            static Bound upperOf(final Object value) {
+                return new Bound(value, true);
+            }
+        }
+    }
 }
@@ -0,0 +1,553 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.KryoException;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} since its last snapshot was written to the
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}. Records are written with the Gryo {@code Kryo} instance of
+ * the graph and are replayed over the snapshot when the graph is opened. Once the number of records reaches the
+ * compaction threshold a new snapshot is written and the log starts over.
+ * <p/>
+ * The log starts with a header that identifies the snapshot it applies to by the length and CRC32 checksum of the
+ * snapshot, so that a log that belongs to an older snapshot is ignored rather than applied twice. Compaction moves the
+ * log aside and writes the snapshot in the background while a new log takes the mutations that follow. A record that
+ * was only partially written when the process died is dropped on replay.
+ *
+ * @author agent
+ */
+final class TinkerMutationLog {
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte SET_META_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte SET_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final BasicThreadFactory THREAD_FACTORY_COMPACTION = new BasicThreadFactory.Builder()
+            .namingPattern("tinker-compaction-%d").daemon(true).build();
+
+    private final TinkerGraph graph;
+    private final File snapshot;
+    private final File log;
+    private final File oldLog;
+    private final long compactionThreshold;
+    private final Kryo kryo;
+
+    /**
+     * Records are built up here and only handed to the file once complete, so a value that cannot be serialized
+     * never leaves a partial record behind.
+     */
+    private final Output output = new Output(4096, -1);
+
+    private FileOutputStream stream;
+    private long records;
+
+    /**
+     * The checksum of the snapshot, which is only read once it is needed and again after each compaction.
+     */
+    private long snapshotChecksum = -1;
+
+    /**
+     * The compaction that is underway, if any.
+     */
+    private CompletableFuture<Void> compaction;
+
+    private TinkerMutationLog(final TinkerGraph graph, final File snapshot, final long compactionThreshold) {
+        this.graph = graph;
+        this.snapshot = snapshot;
+        this.log = new File(snapshot.getPath() + ".log");
+        this.oldLog = new File(snapshot.getPath() + ".log.old");
+        this.compactionThreshold = compactionThreshold;
+        this.kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+    }
+
+    /**
+     * Opens the log that belongs to the snapshot at the specified location and replays it over the graph, which is
+     * expected to have been loaded from that snapshot already.
+     */
+    static TinkerMutationLog open(final TinkerGraph graph, final String graphLocation, final long compactionThreshold) {
+        final TinkerMutationLog mutationLog = new TinkerMutationLog(graph, new File(graphLocation), compactionThreshold);
+        try {
+            mutationLog.replay();
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not replay mutation log at %s", mutationLog.log), ex);
+        }
+        return mutationLog;
+    }
+
+    synchronized void addVertex(final Vertex vertex) {
+        final Output output = begin(ADD_VERTEX);
+        kryo.writeClassAndObject(output, vertex.id());
+        output.writeString(vertex.label());
+        end();
+    }
+
+    synchronized void removeVertex(final Vertex vertex) {
+        final Output output = begin(REMOVE_VERTEX);
+        kryo.writeClassAndObject(output, vertex.id());
+        end();
+    }
+
+    /**
+     * Edges are logged once they are fully attached to the graph, so the record carries the properties that were
+     * supplied to {@code addEdge()}.
+     */
+    synchronized void addEdge(final TinkerEdge edge) {
+        final Output output = begin(ADD_EDGE);
+        kryo.writeClassAndObject(output, edge.id());
+        output.writeString(edge.label());
+        kryo.writeClassAndObject(output, edge.outVertex.id());
+        kryo.writeClassAndObject(output, edge.inVertex.id());
+        final Collection<Property> properties = null == edge.properties ? new ArrayList<>() : edge.properties.values();
+        output.writeVarInt(properties.size(), true);
+        for (final Property property : properties) {
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        }
+        end();
+    }
+
+    synchronized void removeEdge(final Edge edge) {
+        final Output output = begin(REMOVE_EDGE);
+        kryo.writeClassAndObject(output, edge.id());
+        end();
+    }
+
+    synchronized void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        final Output output = begin(ADD_VERTEX_PROPERTY);
+        kryo.writeClassAndObject(output, vertexProperty.element().id());
+        kryo.writeClassAndObject(output, vertexProperty.id());
+        output.writeString(vertexProperty.key());
+        kryo.writeClassAndObject(output, vertexProperty.value());
+        end();
+    }
+
+    synchronized void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        final Output output = begin(REMOVE_VERTEX_PROPERTY);
+        kryo.writeClassAndObject(output, vertexProperty.element().id());
+        kryo.writeClassAndObject(output, vertexProperty.id());
+        end();
+    }
+
+    synchronized void setProperty(final Property<?> property) {
+        if (property.element() instanceof Edge) {
+            final Output output = begin(SET_EDGE_PROPERTY);
+            kryo.writeClassAndObject(output, property.element().id());
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        } else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            final Output output = begin(SET_META_PROPERTY);
+            kryo.writeClassAndObject(output, vertexProperty.element().id());
+            kryo.writeClassAndObject(output, vertexProperty.id());
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        }
+        end();
+    }
+
+    synchronized void removeProperty(final Property<?> property) {
+        if (property.element() instanceof Edge) {
+            final Output output = begin(REMOVE_EDGE_PROPERTY);
+            kryo.writeClassAndObject(output, property.element().id());
+            output.writeString(property.key());
+        } else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            final Output output = begin(REMOVE_META_PROPERTY);
+            kryo.writeClassAndObject(output, vertexProperty.element().id());
+            kryo.writeClassAndObject(output, vertexProperty.id());
+            output.writeString(property.key());
+        }
+        end();
+    }
+
+    synchronized void clear() {
+        begin(CLEAR);
+        end();
+    }
+
+    /**
+     * Writes a new snapshot of the graph and starts the log over, waiting for a compaction that is already underway
+     * rather than starting another.
+     */
+    void compact() {
+        final CompletableFuture<Void> current;
+        synchronized (this) {
+            if (null == compaction) rotate();
+            current = compaction;
+        }
+        await(current);
+    }
+
+    /**
+     * Waits for a compaction that is underway, then forces the records written so far to disk and releases the file
+     * handle. The log is reopened by the next mutation.
+     */
+    void close() {
+        awaitCompaction();
+        synchronized (this) {
+            try {
+                if (null != stream) stream.getFD().sync();
+                release();
+            } catch (IOException ex) {
+                throw new RuntimeException(String.format("Could not close mutation log at %s", log), ex);
+            }
+        }
+    }
+
+    /**
+     * Waits for a compaction that is underway to finish.
+     */
+    void awaitCompaction() {
+        final CompletableFuture<Void> current;
+        synchronized (this) {
+            current = compaction;
+        }
+        if (null != current) await(current);
+    }
+
+    private Output begin(final byte type) {
+        output.clear();
+        output.writeByte(type);
+        return output;
+    }
+
+    /**
+     * Completes a record. Every record is handed to the operating system as it is written, so the log survives the
+     * process dying even though it is only forced to disk on {@link #close()} and {@link #compact()}.
+     */
+    private void end() {
+        try {
+            if (null == stream) openStream(true);
+            stream.write(output.getBuffer(), 0, output.position());
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to mutation log at %s", log), ex);
+        } finally {
+            output.clear();
+        }
+
+        if (++records >= compactionThreshold && null == compaction)
+            rotate();
+    }
+
+    /**
+     * Moves the records written so far to the old log and starts a new log for the ones that follow, then writes the
+     * snapshot on a thread of its own so that the mutation that reached the threshold does not wait for it. Both logs
+     * apply to the current snapshot until the new one is in place. If the old log is still there because an earlier
+     * compaction failed, the current log carries on after it instead.
+     */
+    private void rotate() {
+        try {
+            release();
+            if (!oldLog.exists()) {
+                if (log.exists()) move(log, oldLog);
+                openStream(false);
+            }
+            records = 0;
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not rotate mutation log at %s", log), ex);
+        }
+
+        // the compaction is in place before its thread starts so that the thread cannot clear it first
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        compaction = future;
+        THREAD_FACTORY_COMPACTION.newThread(() -> {
+            try {
+                snapshot();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }).start();
+    }
+
+    /**
+     * Writes a new snapshot while mutations carry on. Every mutation is applied to the graph before it is logged, so
+     * the snapshot holds all the records of the old log, which can then be dropped, and may hold some of the records
+     * of the current log, which are replayed leniently over it. The header of the current log is pointed at the new
+     * snapshot before the old log is deleted, so a crash at any point leaves logs that replay to the same graph.
+     */
+    private void snapshot() {
+        try {
+            graph.saveGraph();
+            synchronized (this) {
+                snapshotChecksum = -1;
+                writeHeader(log);
+                if (oldLog.exists() && !oldLog.delete())
+                    throw new IOException(String.format("Could not delete old mutation log at %s", oldLog));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not compact mutation log at %s", log), ex);
+        } finally {
+            synchronized (this) {
+                compaction = null;
+            }
+        }
+    }
+
+    private static void await(final CompletableFuture<Void> compaction) {
+        try {
+            compaction.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+            throw ex;
+        }
+    }
+
+    private void openStream(final boolean append) throws IOException {
+        final boolean writeHeader = !append || !log.exists() || 0 == log.length();
+        stream = new FileOutputStream(log, append);
+        if (writeHeader) stream.write(header());
+    }
+
+    private byte[] header() throws IOException {
+        final Output header = new Output(HEADER_SIZE);
+        header.writeLong(snapshot.length());
+        header.writeLong(snapshotChecksum());
+        return header.toBytes();
+    }
+
+    /**
+     * Points a log at the current snapshot by overwriting its header in place.
+     */
+    private void writeHeader(final File file) throws IOException {
+        if (!file.exists()) return;
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.write(header());
+            randomAccessFile.getFD().sync();
+        }
+    }
+
+    private long snapshotChecksum() throws IOException {
+        if (snapshotChecksum < 0)
+            snapshotChecksum = snapshot.exists() ? TinkerBulkLoader.checksum(snapshot, 0, snapshot.length()) : 0;
+        return snapshotChecksum;
+    }
+
+    private void release() throws IOException {
+        if (null != stream) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private static void move(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(source.toPath(), target.toPath());
+        }
+    }
+
+    /**
+     * Replays the logs over the snapshot. An old log is only replayed if it still belongs to the snapshot, as a
+     * compaction that got as far as replacing the snapshot already wrote its records into it. The current log follows
+     * the old one, so it applies to the snapshot either way and is pointed at it once the old log is gone.
+     */
+    private void replay() throws IOException {
+        if (oldLog.exists()) {
+            final boolean replayed = replay(oldLog, true);
+            replay(log, false);
+            if (!replayed) writeHeader(log);
+        } else {
+            replay(log, true);
+        }
+    }
+
+    /**
+     * Applies the records of a log and cuts off a record at its end that was only partially written. A log with no
+     * complete header, or one that belongs to another snapshot when that is checked, is deleted instead.
+     *
+     * @return {@code true} if the log was replayed
+     */
+    private boolean replay(final File file, final boolean checkHeader) throws IOException {
+        if (!file.exists()) return false;
+
+        long validLength = 0;
+        boolean stale = false;
+        try (final Input input = new Input(new FileInputStream(file))) {
+            if (file.length() >= HEADER_SIZE) {
+                final long snapshotLength = input.readLong();
+                final long checksum = input.readLong();
+                stale = checkHeader && (snapshotLength != snapshot.length() || checksum != snapshotChecksum());
+                validLength = input.total();
+            }
+            while (!stale && !input.eof()) {
+                try {
+                    apply(input);
+                } catch (KryoException ex) {
+                    // a record cut short by a crash - everything before it is intact
+                    break;
+                }
+                validLength = input.total();
+                records++;
+            }
+        }
+
+        if (stale || validLength < HEADER_SIZE) {
+            // the log belongs to an older snapshot (or has no complete header) so its changes are either already
+            // part of the current snapshot or were never durable
+            if (!file.delete())
+                throw new IOException(String.format("Could not delete stale mutation log at %s", file));
+            return false;
+        } else if (validLength < file.length()) {
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(validLength);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a record to the graph. Records are applied leniently, skipping an addition of an element that is
+     * already there and a change to one that is not, as the snapshot may already hold the effect of a record or of
+     * the records that follow it when it was written while the graph was being changed.
+     */
+    private void apply(final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!graph.vertices.containsKey(id)) graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(input));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final int size = input.readVarInt(true);
+                final Object[] keyValues = new Object[2 + size * 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 2; i < keyValues.length; i = i + 2) {
+                    keyValues[i] = input.readString();
+                    keyValues[i + 1] = kryo.readClassAndObject(input);
+                }
+                if (!graph.edges.containsKey(id) && null != outVertex && null != inVertex)
+                    TinkerHelper.addEdge(graph, (TinkerVertex) outVertex, (TinkerVertex) inVertex, label, keyValues);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Object vertexId = kryo.readClassAndObject(input);
+                final Object id = kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                final Vertex vertex = graph.vertices.get(vertexId);
+                if (null != vertex && null == vertexProperty(vertexId, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = vertexProperty(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = vertexProperty(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                if (null != vertexProperty) vertexProperty.property(key, value);
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = vertexProperty(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != vertexProperty) vertexProperty.property(key).remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                if (null != edge) edge.property(key, value);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != edge) edge.property(key).remove();
+                break;
+            }
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown mutation log record type %s in %s", type, log));
+        }
+    }
+
+    private VertexProperty<?> vertexProperty(final Object vertexId, final Object id) {
+        final TinkerVertex vertex = (TinkerVertex) graph.vertices.get(vertexId);
+        if (null != vertex && null != vertex.properties) {
+            for (final List<VertexProperty> list : vertex.properties.values()) {
+                for (final VertexProperty vertexProperty : list) {
+                    if (vertexProperty.id().equals(id))
+                        return vertexProperty;
+                }
+            }
+        }
+        return null;
+    }
+}
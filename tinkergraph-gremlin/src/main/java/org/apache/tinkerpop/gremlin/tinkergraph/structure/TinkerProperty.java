@@ -82,8 +82,14 @@ public final class TinkerProperty<V> implements Property<V> {
         if (this.element instanceof Edge) {
             ((TinkerEdge) this.element).properties.remove(this.key);
             TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+
+            final TinkerGraph graph = (TinkerGraph) this.element.graph();
+            if (null != graph.mutationLog && graph.edges.containsKey(this.element.id())) graph.mutationLog.removeProperty(this);
         } else {
             ((TinkerVertexProperty) this.element).properties.remove(this.key);
+
+            final TinkerGraph graph = (TinkerGraph) this.element.graph();
+            if (null != graph.mutationLog && !TinkerHelper.inComputerMode(graph)) graph.mutationLog.removeProperty(this);
         }
     }
 }
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes the {@code snapshot} {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}, a columnar binary image
+ * of a {@link TinkerGraph} that is opened with {@link FileChannel#map} and bulk-copied into the graph rather than
+ * being deserialized one {@code StarGraph} at a time as the other formats are.
+ * <p/>
+ * The file is a header followed by a fixed sequence of sections. Each section is a series of length-prefixed
+ * segments (no larger than {@link #SEGMENT_SIZE} so that any one of them can be mapped) terminated by an empty one:
+ * <ol>
+ *     <li>vertex identifiers - raw {@code long} values when every identifier is a {@code Long}, otherwise Gryo</li>
+ *     <li>vertex labels - an {@code int} index into the label dictionary per vertex</li>
+ *     <li>edge identifiers - as for vertices</li>
+ *     <li>edge labels, out-vertex ordinals and in-vertex ordinals - one {@code int} column each</li>
+ *     <li>vertex properties - per vertex ordinal its properties and their meta-properties</li>
+ *     <li>edge properties - per edge ordinal its properties</li>
+ * </ol>
+ * Identifiers and property values are written with the Gryo {@code Kryo} instance of the graph, so they are subject
+ * to the same {@code IoRegistry} requirements as the {@code gryo} format.
+ *
+ * @author agent
+ */
+final class TinkerSnapshot {
+
+    private static final int MAGIC = 0x54475350;
+    private static final int VERSION = 1;
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final byte OBJECT_IDS = 0;
+    private static final byte LONG_IDS = 1;
+
+    private TinkerSnapshot() {
+    }
+
+    static void write(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+
+        // dictionaries are built up front so that labels and keys are written as small integers
+        final Map<String, Integer> labels = new LinkedHashMap<>();
+        final Map<String, Integer> keys = new LinkedHashMap<>();
+        // the vertices and edges are copied out first so that every section is written from the same view of a
+        // graph that may still be changing, with the edges limited to those whose vertices are in that view
+        final List<Vertex> vertices = new ArrayList<>(graph.vertices.values());
+        final Map<Object, Integer> vertexOrdinals = new HashMap<>(vertices.size() * 2);
+        boolean longVertexIds = true;
+        for (final Vertex vertex : vertices) {
+            vertexOrdinals.put(vertex.id(), vertexOrdinals.size());
+            labels.putIfAbsent(vertex.label(), labels.size());
+            longVertexIds = longVertexIds && vertex.id() instanceof Long;
+            vertex.properties().forEachRemaining(vertexProperty -> {
+                keys.putIfAbsent(vertexProperty.key(), keys.size());
+                vertexProperty.properties().forEachRemaining(property -> keys.putIfAbsent(property.key(), keys.size()));
+            });
+        }
+        final List<Edge> edges = new ArrayList<>(graph.edges.size());
+        boolean longEdgeIds = true;
+        for (final Edge edge : graph.edges.values()) {
+            if (!vertexOrdinals.containsKey(edge.outVertex().id()) || !vertexOrdinals.containsKey(edge.inVertex().id()))
+                continue;
+            edges.add(edge);
+            labels.putIfAbsent(edge.label(), labels.size());
+            longEdgeIds = longEdgeIds && edge.id() instanceof Long;
+            edge.properties().forEachRemaining(property -> keys.putIfAbsent(property.key(), keys.size()));
+        }
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final SegmentWriter writer = new SegmentWriter(channel);
+
+            final Output header = writer.output();
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeVarInt(vertices.size(), true);
+            header.writeVarInt(edges.size(), true);
+            header.writeByte(longVertexIds ? LONG_IDS : OBJECT_IDS);
+            header.writeByte(longEdgeIds ? LONG_IDS : OBJECT_IDS);
+            writeDictionary(header, labels);
+            writeDictionary(header, keys);
+            writer.endSection();
+
+            for (final Vertex vertex : vertices) {
+                writeId(kryo, writer.output(), vertex.id(), longVertexIds);
+                writer.endRecord();
+            }
+            writer.endSection();
+            for (final Vertex vertex : vertices) {
+                writer.output().writeInt(index(labels, vertex.label()));
+                writer.endRecord();
+            }
+            writer.endSection();
+
+            for (final Edge edge : edges) {
+                writeId(kryo, writer.output(), edge.id(), longEdgeIds);
+                writer.endRecord();
+            }
+            writer.endSection();
+            for (final Edge edge : edges) {
+                writer.output().writeInt(index(labels, edge.label()));
+                writer.endRecord();
+            }
+            writer.endSection();
+            for (final Edge edge : edges) {
+                writer.output().writeInt(vertexOrdinals.get(edge.outVertex().id()));
+                writer.endRecord();
+            }
+            writer.endSection();
+            for (final Edge edge : edges) {
+                writer.output().writeInt(vertexOrdinals.get(edge.inVertex().id()));
+                writer.endRecord();
+            }
+            writer.endSection();
+
+            int ordinal = 0;
+            for (final Vertex vertex : vertices) {
+                final TinkerVertex tinkerVertex = (TinkerVertex) vertex;
+                if (null != tinkerVertex.properties && !tinkerVertex.properties.isEmpty()) {
+                    final Output output = writer.output();
+                    output.writeVarInt(ordinal, true);
+                    output.writeVarInt(tinkerVertex.properties.values().stream().mapToInt(List::size).sum(), true);
+                    for (final List<VertexProperty> vertexProperties : tinkerVertex.properties.values()) {
+                        for (final VertexProperty<?> vertexProperty : vertexProperties) {
+                            output.writeVarInt(index(keys, vertexProperty.key()), true);
+                            kryo.writeClassAndObject(output, vertexProperty.id());
+                            kryo.writeClassAndObject(output, vertexProperty.value());
+                            final Map<String, Property> metaProperties = ((TinkerVertexProperty<?>) vertexProperty).properties;
+                            writeProperties(kryo, output, keys, null == metaProperties ? null : metaProperties.values());
+                        }
+                    }
+                    writer.endRecord();
+                }
+                ordinal++;
+            }
+            writer.endSection();
+
+            ordinal = 0;
+            for (final Edge edge : edges) {
+                final TinkerEdge tinkerEdge = (TinkerEdge) edge;
+                if (null != tinkerEdge.properties && !tinkerEdge.properties.isEmpty()) {
+                    final Output output = writer.output();
+                    output.writeVarInt(ordinal, true);
+                    writeProperties(kryo, output, keys, tinkerEdge.properties.values());
+                    writer.endRecord();
+                }
+                ordinal++;
+            }
+            writer.endSection();
+        }
+    }
+
+    static void read(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final SegmentReader reader = new SegmentReader(channel);
+
+            final Input header = copy(reader.section().get(0), new Input());
+            if (header.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+            final int version = header.readInt();
+            if (version != VERSION)
+                throw new IOException(String.format("Snapshot %s has unsupported version %s", file, version));
+            final int vertexCount = header.readVarInt(true);
+            final int edgeCount = header.readVarInt(true);
+            final boolean longVertexIds = header.readByte() == LONG_IDS;
+            final boolean longEdgeIds = header.readByte() == LONG_IDS;
+            final String[] labels = readDictionary(header);
+            final String[] keys = readDictionary(header);
+
+            // the graph is empty at this point so its maps can be sized for what is about to be loaded
+            if (graph.vertices.isEmpty()) graph.vertices = new ConcurrentHashMap<>(vertexCount);
+            if (graph.edges.isEmpty()) graph.edges = new ConcurrentHashMap<>(edgeCount);
+
+            final Object[] vertexIds = readIds(kryo, reader.section(), vertexCount, longVertexIds);
+            final int[] vertexLabels = readInts(reader.section(), vertexCount);
+            final TinkerVertex[] vertices = new TinkerVertex[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                final TinkerVertex vertex = new TinkerVertex(graph.vertexIdManager.convert(vertexIds[i]), labels[vertexLabels[i]], graph);
+                graph.vertices.put(vertex.id(), vertex);
+                TinkerHelper.addToLabelPartition(graph.verticesByLabel, vertex);
+                vertices[i] = vertex;
+            }
+
+            final Object[] edgeIds = readIds(kryo, reader.section(), edgeCount, longEdgeIds);
+            final int[] edgeLabels = readInts(reader.section(), edgeCount);
+            final int[] outVertices = readInts(reader.section(), edgeCount);
+            final int[] inVertices = readInts(reader.section(), edgeCount);
+            final TinkerEdge[] edges = new TinkerEdge[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                final String label = labels[edgeLabels[i]];
+                final TinkerEdge edge = new TinkerEdge(graph.edgeIdManager.convert(edgeIds[i]), vertices[outVertices[i]], label, vertices[inVertices[i]]);
+                graph.edges.put(edge.id(), edge);
+                TinkerHelper.addToLabelPartition(graph.edgesByLabel, edge);
+                TinkerHelper.addOutEdge(vertices[outVertices[i]], label, edge);
+                TinkerHelper.addInEdge(vertices[inVertices[i]], label, edge);
+                edges[i] = edge;
+            }
+
+            final Input input = new Input();
+            for (final ByteBuffer segment : reader.section()) {
+                copy(segment, input);
+                while (input.position() < input.limit()) {
+                    final TinkerVertex vertex = vertices[input.readVarInt(true)];
+                    final int size = input.readVarInt(true);
+                    if (null == vertex.properties) vertex.properties = new HashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        final String key = keys[input.readVarInt(true)];
+                        final Object id = graph.vertexPropertyIdManager.convert(kryo.readClassAndObject(input));
+                        final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(id, vertex, key, kryo.readClassAndObject(input));
+                        vertex.properties.computeIfAbsent(key, k -> new ArrayList<>(1)).add(vertexProperty);
+                        final int metaSize = input.readVarInt(true);
+                        if (metaSize > 0) vertexProperty.properties = new HashMap<>(metaSize * 2);
+                        for (int j = 0; j < metaSize; j++) {
+                            final String metaKey = keys[input.readVarInt(true)];
+                            vertexProperty.properties.put(metaKey, new TinkerProperty<>(vertexProperty, metaKey, kryo.readClassAndObject(input)));
+                        }
+                    }
+                }
+            }
+
+            for (final ByteBuffer segment : reader.section()) {
+                copy(segment, input);
+                while (input.position() < input.limit()) {
+                    final TinkerEdge edge = edges[input.readVarInt(true)];
+                    final int size = input.readVarInt(true);
+                    edge.properties = new HashMap<>(size * 2);
+                    for (int i = 0; i < size; i++) {
+                        final String key = keys[input.readVarInt(true)];
+                        edge.properties.put(key, new TinkerProperty<>(edge, key, kryo.readClassAndObject(input)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeDictionary(final Output output, final Map<String, Integer> dictionary) {
+        output.writeVarInt(dictionary.size(), true);
+        dictionary.keySet().forEach(output::writeString);
+    }
+
+    private static String[] readDictionary(final Input input) {
+        final String[] dictionary = new String[input.readVarInt(true)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = input.readString();
+        }
+        return dictionary;
+    }
+
+    private static void writeId(final Kryo kryo, final Output output, final Object id, final boolean longIds) {
+        if (longIds)
+            output.writeLong((Long) id);
+        else
+            kryo.writeClassAndObject(output, id);
+    }
+
+    private static void writeProperties(final Kryo kryo, final Output output, final Map<String, Integer> keys,
+                                        final Iterable<Property> properties) {
+        if (null == properties) {
+            output.writeVarInt(0, true);
+            return;
+        }
+
+        final List<Property> list = new ArrayList<>();
+        properties.forEach(list::add);
+        output.writeVarInt(list.size(), true);
+        for (final Property property : list) {
+            output.writeVarInt(index(keys, property.key()), true);
+            kryo.writeClassAndObject(output, property.value());
+        }
+    }
+
+    /**
+     * Gets the index of a label or key in its dictionary, which lacks the ones that were first added to the graph
+     * after the dictionaries were built.
+     */
+    private static int index(final Map<String, Integer> dictionary, final String name) {
+        final Integer index = dictionary.get(name);
+        if (null == index)
+            throw new IllegalStateException(String.format(
+                    "The graph was modified while its snapshot was written and [%s] was not yet known", name));
+        return index;
+    }
+
+    private static Object[] readIds(final Kryo kryo, final List<ByteBuffer> segments, final int count, final boolean longIds) {
+        final Object[] ids = new Object[count];
+        int i = 0;
+        if (longIds) {
+            final long[] values = new long[count];
+            for (final ByteBuffer segment : segments) {
+                final LongBuffer longs = segment.asLongBuffer();
+                final int size = longs.remaining();
+                longs.get(values, i, size);
+                i = i + size;
+            }
+            for (int j = 0; j < count; j++) {
+                ids[j] = values[j];
+            }
+        } else {
+            final Input input = new Input();
+            for (final ByteBuffer segment : segments) {
+                copy(segment, input);
+                while (input.position() < input.limit()) {
+                    ids[i++] = kryo.readClassAndObject(input);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Bulk-copies a mapped segment into the buffer of the {@code Input}, reusing that buffer where it is large enough.
+     * Object columns are read this way because {@code Kryo} modifies the buffer in place while reading strings, which a
+     * read-only mapping does not allow.
+     */
+    private static Input copy(final ByteBuffer segment, final Input input) {
+        final int size = segment.remaining();
+        final byte[] buffer = null != input.getBuffer() && input.getBuffer().length >= size ? input.getBuffer() : new byte[size];
+        segment.get(buffer, 0, size);
+        input.setBuffer(buffer, 0, size);
+        return input;
+    }
+
+    private static int[] readInts(final List<ByteBuffer> segments, final int count) {
+        final int[] values = new int[count];
+        int i = 0;
+        for (final ByteBuffer segment : segments) {
+            final IntBuffer ints = segment.asIntBuffer();
+            final int size = ints.remaining();
+            ints.get(values, i, size);
+            i = i + size;
+        }
+        return values;
+    }
+
+    /**
+     * Buffers records and writes them out as segments that end on a record boundary.
+     */
+    private static final class SegmentWriter {
+        private final FileChannel channel;
+        private final Output output = new Output(SEGMENT_SIZE / 16, -1);
+        private final ByteBuffer length = ByteBuffer.allocate(4);
+
+        private SegmentWriter(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private Output output() {
+            return output;
+        }
+
+        private void endRecord() throws IOException {
+            if (output.position() >= SEGMENT_SIZE) flush();
+        }
+
+        private void endSection() throws IOException {
+            flush();
+            writeLength(0);
+        }
+
+        private void flush() throws IOException {
+            if (0 == output.position()) return;
+            writeLength(output.position());
+            final ByteBuffer bytes = ByteBuffer.wrap(output.getBuffer(), 0, output.position());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            output.clear();
+        }
+
+        private void writeLength(final int value) throws IOException {
+            length.clear();
+            length.putInt(value).flip();
+            while (length.hasRemaining()) {
+                channel.write(length);
+            }
+        }
+    }
+
+    /**
+     * Maps the segments of each section of the file in turn.
+     */
+    private static final class SegmentReader {
+        private final FileChannel channel;
+        private final ByteBuffer length = ByteBuffer.allocate(4);
+        private long position = 0;
+
+        private SegmentReader(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private List<ByteBuffer> section() throws IOException {
+            final List<ByteBuffer> segments = new ArrayList<>();
+            int size;
+            while ((size = readLength()) > 0) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+                position = position + size;
+            }
+            return segments;
+        }
+
+        private int readLength() throws IOException {
+            length.clear();
+            while (length.hasRemaining()) {
+                if (channel.read(length, position + length.position()) < 0)
+                    throw new IOException("Unexpected end of snapshot");
+            }
+            position = position + 4;
+            return length.getInt(0);
+        }
+    }
+}
@@ -23,12 +23,29 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.LongMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -47,6 +64,9 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerMemory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerWorkerPool;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -64,22 +84,30 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
@@ -315,6 +343,203 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class));
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27L);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35.0d);
+        g.addVertex("name", "ripple", "age", "unknown");
+
+        // spy into the pipeline like the hash index tests - only ages within the range should be evaluated by the
+        // P.test() if the sorted index was used
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.outside(28, 33)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("vadas", t);
+            return true;
+        }, "x")).has("age", P.lte(27)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("josh", t);
+            return true;
+        }, "x")).has("age", 32L).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("ripple", t);
+            return true;
+        }, "x")).has("age", TextP.startingWith("unk")).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.between(35, 28)).count().next());
+    }
+
+    @Test
+    public void shouldUpdateSortedEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "weight", 0.5f);
+        final Edge e = v.addEdge("friend", v, "weight", 0.7d);
+        v.addEdge("friend", v, "weight", Arrays.asList(1, 2));
+
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.gte(0.6)).count().next());
+        assertEquals(new Long(1), g.traversal().E().has("weight", Arrays.asList(1, 2)).count().next());
+
+        e.property("weight", 0.1d);
+        assertEquals(new Long(0), g.traversal().E().has("weight", P.gte(0.6)).count().next());
+        assertEquals(new Long(2), g.traversal().E().has("weight", P.lt(0.6)).count().next());
+
+        e.remove();
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.lt(0.6)).count().next());
+
+        // changing the index type rebuilds it
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.HASH);
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("weight", Edge.class));
+        assertEquals(new Long(1), g.traversal().E().has("weight", 0.5f).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+
+        g.addVertex(T.label, "order", "tenant", "a", "status", "open", "oid", 1);
+        g.addVertex(T.label, "order", "tenant", "a", "status", "closed", "oid", 2);
+        g.addVertex(T.label, "order", "tenant", "b", "status", "open", "oid", 3);
+        g.addVertex(T.label, "invoice", "tenant", "a", "status", "open", "oid", 4);
+        final Vertex v = g.addVertex(T.label, "order", "tenant", "a", "status", "open", "oid", 5);
+
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(Arrays.asList(T.label.getAccessor(), "tenant", "status"), g.getCompositeIndexedKeys(Vertex.class).iterator().next());
+
+        // spy into the pipeline like the single key index tests - the composite index is more selective than the
+        // "tenant" index so only the matching elements should be evaluated by P.test()
+        assertEquals(new Long(2), g.traversal().V().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals(1) || t.equals(5));
+            return true;
+        }, 0)).hasLabel("order").has("status", "open").has("tenant", "a").count().next());
+
+        v.property("status", "closed");
+        assertEquals(new Long(1), g.traversal().V().has("oid", P.test((t, u) -> {
+            assertEquals(1, t);
+            return true;
+        }, 0)).hasLabel("order").has("status", "open").has("tenant", "a").count().next());
+
+        g.traversal().V().has("oid", 1).properties("status").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().hasLabel("order").has("status", "open").has("tenant", "a").count().next());
+
+        g.traversal().V().has("oid", 2).drop().iterate();
+        assertEquals(new Long(1), g.traversal().V().hasLabel("order").has("status", "closed").has("tenant", "a").count().next());
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("order").has("status", "closed").has("tenant", "a").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndexWithMultiProperties() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Edge.class, "tenant", "weight");
+        g.createCompositeIndex(Vertex.class, "tenant", "tag");
+
+        final Vertex v = g.addVertex("tenant", "a");
+        v.property(VertexProperty.Cardinality.list, "tag", "x");
+        v.property(VertexProperty.Cardinality.list, "tag", "y");
+        v.addEdge("knows", v, "tenant", "a", "weight", 0.5d);
+        final Edge e = v.addEdge("knows", v, "tenant", "a", "weight", 0.5d);
+
+        assertEquals(new Long(1), g.traversal().V().has("tenant", "a").has("tag", "x").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("tenant", "a").has("tag", "y").count().next());
+        v.properties("tag").forEachRemaining(p -> {
+            if (p.value().equals("x")) p.remove();
+        });
+        assertEquals(new Long(0), g.traversal().V().has("tenant", "a").has("tag", "x").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("tenant", "a").has("tag", "y").count().next());
+
+        assertEquals(new Long(2), g.traversal().E().has("tenant", "a").has("weight", 0.5d).count().next());
+        e.property("weight").remove();
+        assertEquals(new Long(1), g.traversal().E().has("tenant", "a").has("weight", 0.5d).count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "name");
+    }
+
+    @Test
+    public void shouldUseLabelPartitions() {
+        final TinkerGraph g = TinkerGraph.open();
+
+        final Vertex marko = g.addVertex(T.label, "person", "name", "marko");
+        final Vertex lop = g.addVertex(T.label, "software", "name", "lop");
+        final Vertex ripple = g.addVertex(T.label, "software", "name", "ripple");
+        marko.addEdge("created", lop);
+        final Edge e = marko.addEdge("created", ripple);
+        marko.addEdge("knows", marko);
+
+        // spy into the pipeline like the index tests - only the vertices with the label should be evaluated
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("lop") || t.equals("ripple"));
+            return true;
+        }, "x")).hasLabel("software").count().next());
+        assertEquals(new Long(3), g.traversal().V().hasLabel("software", "person").count().next());
+        assertEquals(new Long(0), g.traversal().V().hasLabel("software").hasLabel("person").count().next());
+        assertEquals(new Long(2), g.traversal().E().hasLabel("created").count().next());
+        assertEquals(new Long(0), g.traversal().E().hasLabel("nothing").count().next());
+
+        e.remove();
+        ripple.remove();
+        assertEquals(new Long(1), g.traversal().V().hasLabel("software").count().next());
+        assertEquals(new Long(1), g.traversal().E().hasLabel("created").count().next());
+        assertEquals("lop", g.traversal().V().hasLabel("software").values("name").next());
+
+        marko.remove();
+        assertEquals(new Long(0), g.traversal().E().hasLabel("created", "knows").count().next());
+    }
+
+    @Test
+    public void shouldTraverseAndRemoveEdgesWithArrayAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ARRAY_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex hub = graph.addVertex("name", "hub");
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Vertex v = graph.addVertex("name", "v" + i);
+            edges.add(hub.addEdge(i % 2 == 0 ? "even" : "odd", v, "i", i));
+        }
+
+        assertEquals(100, IteratorUtils.count(hub.edges(Direction.OUT)));
+        assertEquals(50, IteratorUtils.count(hub.vertices(Direction.OUT, "even")));
+        assertEquals(new Long(50), g.V(hub).out("odd").count().next());
+        assertEquals(new Long(1), g.V().has("name", "v3").in("odd").count().next());
+
+        edges.stream().filter(e -> (int) e.value("i") < 90).forEach(Edge::remove);
+        assertEquals(10, IteratorUtils.count(hub.edges(Direction.OUT)));
+        assertEquals(new Long(5), g.V(hub).outE("even").count().next());
+        assertEquals(new Long(0), g.V().has("name", "v3").in().count().next());
+
+        g.V(hub).outE().drop().iterate();
+        assertEquals(0, IteratorUtils.count(hub.edges(Direction.BOTH)));
+        assertEquals(new Long(0), g.E().count().next());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -501,6 +726,344 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToGryoAndLoadOnMultipleThreads() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToGryoThreads.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, 4);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+        final File index = new File(graphLocation + TinkerBulkLoader.INDEX_EXTENSION);
+        assertThat(index.exists(), is(true));
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+
+        // a graph that loads on a single thread has no use for the index
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, 1);
+        final TinkerGraph singleThreadedGraph = TinkerGraph.open(conf);
+        singleThreadedGraph.close();
+        assertThat(index.exists(), is(false));
+        assertThat(f.exists(), is(true));
+    }
+
+    @Test
+    public void shouldLoadGryoAndGraphSONInManySplits() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        Vertex previous = graph.addVertex("i", 0);
+        for (int i = 1; i < 1000; i++) {
+            final Vertex vertex = graph.addVertex(T.label, i % 2 == 0 ? "even" : "odd", "i", i);
+            previous.addEdge("next", vertex, "weight", (double) i);
+            previous = vertex;
+        }
+
+        for (final String format : Arrays.asList("gryo", "graphson")) {
+            final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldLoadInManySplits." + format);
+            final File f = new File(graphLocation);
+            if (f.exists() && f.isFile()) f.delete();
+            if (format.equals("gryo"))
+                TinkerBulkLoader.writeGryo(graph, f, new File(graphLocation + TinkerBulkLoader.INDEX_EXTENSION), 256);
+            else
+                graph.io(IoCore.graphson()).writeGraph(graphLocation);
+
+            // many more splits than threads so that most graphson ranges begin in the middle of a vertex record
+            final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+            TinkerBulkLoader.read(reloadedGraph, f, format, 4, 37);
+            final GraphTraversalSource g = reloadedGraph.traversal();
+            assertEquals(1000, g.V().count().next().intValue());
+            assertEquals(999, g.E().count().next().intValue());
+            assertEquals(500, g.V().hasLabel("odd").count().next().intValue());
+            assertEquals(999, g.V().has("i", 0).repeat(__.out("next")).until(__.outE().count().is(0)).values("i").next());
+            assertEquals(0, g.V().has("i", 999).repeat(__.in("next")).until(__.inE().count().is(0)).values("i").next());
+            assertEquals(500.0d, g.V().has("i", 499).outE().values("weight").next());
+            reloadedGraph.close();
+        }
+        graph.close();
+    }
+
+    @Test
+    public void shouldLoadGryoWithHeaderInPropertyValuesInManySplits() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final byte[] data = new byte[GryoMapper.HEADER.length * 3];
+        for (int i = 0; i < 3; i++) {
+            System.arraycopy(GryoMapper.HEADER, 0, data, i * GryoMapper.HEADER.length, GryoMapper.HEADER.length);
+        }
+        Vertex previous = graph.addVertex("i", 0, "data", data);
+        for (int i = 1; i < 500; i++) {
+            final Vertex vertex = graph.addVertex("i", i, "data", data);
+            previous.addEdge("next", vertex, "data", data);
+            previous = vertex;
+        }
+
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldLoadGryoWithHeaderInPropertyValues.kryo");
+        final File f = new File(graphLocation);
+        final File index = new File(graphLocation + TinkerBulkLoader.INDEX_EXTENSION);
+        TinkerBulkLoader.writeGryo(graph, f, index, 256);
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        TinkerBulkLoader.read(reloadedGraph, f, "gryo", 4, 37);
+        assertEquals(500, reloadedGraph.traversal().V().count().next().intValue());
+        assertEquals(499, reloadedGraph.traversal().E().count().next().intValue());
+        assertArrayEquals(data, (byte[]) reloadedGraph.traversal().V().has("i", 250).values("data").next());
+        reloadedGraph.close();
+
+        // an index that was not written for the file is ignored and the file is read on a single thread
+        graph.addVertex("i", 500);
+        graph.io(IoCore.gryo()).writeGraph(graphLocation);
+        final TinkerGraph staleGraph = TinkerGraph.open(conf);
+        TinkerBulkLoader.read(staleGraph, f, "gryo", 4, 37);
+        assertEquals(501, staleGraph.traversal().V().count().next().intValue());
+        assertEquals(499, staleGraph.traversal().E().count().next().intValue());
+        staleGraph.close();
+        graph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshot.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotMulti.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotWithLongIds() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotLong.bin");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        Vertex previous = graph.addVertex("i", 0);
+        for (int i = 1; i < 1000; i++) {
+            final Vertex vertex = graph.addVertex(T.label, i % 2 == 0 ? "even" : "odd", "i", i);
+            previous.addEdge("next", vertex, "weight", (double) i);
+            previous = vertex;
+        }
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = reloadedGraph.traversal();
+        assertEquals(1000, g.V().count().next().intValue());
+        assertEquals(999, g.E().count().next().intValue());
+        assertEquals(500, g.V().hasLabel("odd").count().next().intValue());
+        assertEquals(999, g.V().has("i", 0).repeat(__.out("next")).until(__.outE().count().is(0)).values("i").next());
+        assertEquals(500.0d, g.V().has("i", 499).outE().values("weight").next());
+
+        // new identifiers must not collide with the ones that were loaded
+        reloadedGraph.addVertex("i", 1000);
+        assertEquals(1001, g.V().count().next().intValue());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistWithMutationLog() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistWithMutationLog.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // only the log is written on close()
+        assertThat(f.exists(), is(false));
+        assertThat(log.exists(), is(true));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+
+        final Vertex marko = reloadedGraph.vertices(1).next();
+        marko.property("age").remove();
+        marko.property(VertexProperty.Cardinality.single, "name", "marko a. rodriguez", "acl", "public");
+        marko.edges(Direction.OUT, "created").next().remove();
+        reloadedGraph.vertices(2).next().remove();
+        reloadedGraph.edges(8).next().property("weight", 0.5d);
+        reloadedGraph.compactMutationLog();
+        assertThat(f.exists(), is(true));
+
+        reloadedGraph.addVertex(T.id, 100, T.label, "person", "name", "stephen").addEdge("knows", marko, T.id, 101, "weight", 0.1d);
+        reloadedGraph.close();
+
+        final TinkerGraph compactedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(compactedGraph.vertices()));
+        assertEquals(5, IteratorUtils.count(compactedGraph.edges()));
+        final Vertex reloadedMarko = compactedGraph.vertices(1).next();
+        assertThat(reloadedMarko.property("age").isPresent(), is(false));
+        assertEquals("marko a. rodriguez", reloadedMarko.value("name"));
+        assertEquals("public", reloadedMarko.property("name").value("acl"));
+        assertEquals(0.5d, compactedGraph.edges(8).next().value("weight"), 0.0d);
+        assertEquals(0.1d, compactedGraph.edges(101).next().value("weight"), 0.0d);
+        assertEquals("stephen", compactedGraph.edges(101).next().outVertex().value("name"));
+        compactedGraph.close();
+    }
+
+    @Test
+    public void shouldCompactMutationLogAtThreshold() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCompactMutationLogAtThreshold.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG_COMPACTION_THRESHOLD, 7);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        // the snapshot is written in the background
+        graph.mutationLog.awaitCompaction();
+        assertThat(f.exists(), is(true));
+        assertThat(new File(graphLocation + ".log.old").exists(), is(false));
+
+        // a graph that is never closed still recovers everything that was logged
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldIgnoreMutationLogOfAnotherSnapshotWithSameLengthAndModificationTime() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldIgnoreMutationLogOfAnotherSnapshot.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.compactMutationLog();
+        graph.addVertex(T.id, 100, T.label, "person", "name", "stephen");
+        graph.close();
+
+        // replace the snapshot with another of the same length and modification time, as a compaction that wrote
+        // the new snapshot but failed before truncating the log could leave behind
+        final long lastModified = f.lastModified();
+        final byte[] bytes = Files.readAllBytes(f.toPath());
+        final byte[] marko = "mar".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length - marko.length; i++) {
+            if (bytes[i] == marko[0] && bytes[i + 1] == marko[1] && bytes[i + 2] == marko[2]) {
+                bytes[i + 1] = 'o';
+                break;
+            }
+        }
+        Files.write(f.toPath(), bytes);
+        assertThat(f.setLastModified(lastModified), is(true));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals("morko", reloadedGraph.vertices(1).next().value("name"));
+        assertThat(log.exists(), is(false));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayMutationLogLenientlyOverSnapshotThatHoldsItsRecords() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldReplayMutationLogLeniently.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+        final File oldLog = new File(graphLocation + ".log.old");
+        if (oldLog.exists() && oldLog.isFile()) oldLog.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+        final byte[] records = Files.readAllBytes(log.toPath());
+
+        final TinkerGraph compactedGraph = TinkerGraph.open(conf);
+        compactedGraph.compactMutationLog();
+        compactedGraph.close();
+
+        // leave the logs as a crash just after a compaction replaced the snapshot would, where the snapshot already
+        // holds every record of both of them
+        Files.write(oldLog.toPath(), records);
+        Files.write(log.toPath(), records);
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        assertThat(oldLog.exists(), is(false));
+        reloadedGraph.close();
+
+        // the log now belongs to the snapshot so it is kept and replayed again
+        final TinkerGraph reopenedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reopenedGraph, true, false);
+        assertThat(log.exists(), is(true));
+        reopenedGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForMutationLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MUTATION_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -712,6 +1275,216 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldSpillBarriersAndAttachElements() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        for (int i = 0; i < 500; i++) {
+            g.addV("person").property("i", i).as("a").
+              addV("item").property("i", i % 50).addE("has").from("a").iterate();
+        }
+        final GraphTraversalSource gs = g.with(SpillFile.SPILL_THRESHOLD, 20);
+
+        final List<Object> expected = g.V().hasLabel("person").order().by("i", Order.desc).out().values("i").toList();
+        assertEquals(500, expected.size());
+        assertEquals(expected, gs.V().hasLabel("person").order().by("i", Order.desc).out().values("i").toList());
+        assertEquals(500, gs.V().hasLabel("person").as("p").order().by("i").select("p").out().toList().size());
+
+        final List<Object> labelled = g.V().hasLabel("person").as("p").out().order().by("i").select("p").values("i").toList();
+        assertEquals(500, labelled.size());
+        assertEquals(labelled, gs.V().hasLabel("person").as("p").out().order().by("i").select("p").values("i").toList());
+        assertThat(gs.V().hasLabel("person").as("p").out().order().by("i").select("p").next(), instanceOf(TinkerVertex.class));
+
+        assertEquals(50, gs.V().hasLabel("person").out().dedup().by("i").in().toList().size());
+        assertEquals(new HashSet<>(g.V().hasLabel("item").values("i").toList()),
+                new HashSet<>(gs.V().hasLabel("item").dedup().by("i").values("i").toList()));
+    }
+
+    @Test
+    public void shouldProvideStatisticsForCostBasedMatch() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("name", Vertex.class);
+        final Graph.Statistics statistics = graph.statistics().get();
+        assertEquals(6, statistics.count(Vertex.class, null));
+        assertEquals(4, statistics.count(Vertex.class, "person"));
+        assertEquals(0, statistics.count(Vertex.class, "nothing"));
+        assertEquals(4, statistics.count(Edge.class, "created"));
+        assertEquals(2.0d / 6.0d, statistics.averageDegree("knows", Direction.OUT), 0.001d);
+        assertEquals(12.0d / 6.0d, statistics.averageDegree(null, Direction.BOTH), 0.001d);
+        assertEquals(Optional.of(1L), statistics.count(Vertex.class, "name", "marko"));
+        assertEquals(Optional.empty(), statistics.count(Vertex.class, "age", 29));
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gc = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CostMatchAlgorithm.class).create());
+        assertEquals(new HashSet<>(g.V().match(
+                        __.as("a").out("created").as("b"),
+                        __.as("a").out("knows").as("c"),
+                        __.as("c").has("name", "josh"),
+                        __.as("b").in("created").as("c")).select("a", "b", "c").by("name").toList()),
+                new HashSet<>(gc.V().match(
+                        __.as("a").out("created").as("b"),
+                        __.as("a").out("knows").as("c"),
+                        __.as("c").has("name", "josh"),
+                        __.as("b").in("created").as("c")).select("a", "b", "c").by("name").toList()));
+    }
+
+    @Test
+    public void shouldExecuteOnlyActiveVerticesWhenVertexProgramAllows() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        // 6 vertices in each of two iterations
+        assertEquals(12L, graph.compute().program(new WakeUpVertexProgram(false)).submit().get().memory().<Long>get(WakeUpVertexProgram.EXECUTIONS).longValue());
+        // 6 vertices and then only lop which was messaged by marko and peter which woke itself up
+        assertEquals(8L, graph.compute().program(new WakeUpVertexProgram(true)).submit().get().memory().<Long>get(WakeUpVertexProgram.EXECUTIONS).longValue());
+    }
+
+    @Test
+    public void shouldPassPrimitiveMessages() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put(1, 6L);   // 1 from every vertex
+        expected.put(2, 10L);  // marko's id times 10 over knows
+        expected.put(4, 10L);
+        expected.put(3, 11L);  // the ids of marko, josh and peter over created
+        expected.put(5, 4L);
+        assertEquals(expected, graph.compute().program(new SumIdsVertexProgram(LongMessageCombiner.sum())).submit().get().graph().traversal().
+                V().has(SumIdsVertexProgram.SUM).group().by(T.id).by(__.values(SumIdsVertexProgram.SUM).sum()).next());
+        assertEquals(expected, graph.compute().program(new SumIdsVertexProgram((a, b) -> a + b)).submit().get().graph().traversal().
+                V().has(SumIdsVertexProgram.SUM).group().by(T.id).by(__.values(SumIdsVertexProgram.SUM).sum()).next());
+    }
+
+    @Test
+    public void shouldExecuteEveryVertexOnceAcrossWorkersAndTimeThem() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TinkerMemory memory = new TinkerMemory(null, Collections.emptySet());
+        try (final TinkerWorkerPool workers = new TinkerWorkerPool(graph, memory, 4)) {
+            workers.setVertexProgram(PageRankVertexProgram.build().create(graph));
+            for (int i = 1; i <= 2; i++) {
+                final Queue<Object> executed = new ConcurrentLinkedQueue<>();
+                workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> vertices.forEachRemaining(v -> executed.add(v.id())));
+                assertEquals(6, executed.size());
+                assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6)), new HashSet<>(executed));
+                assertEquals(4, memory.getWorkerRuntimes().length);
+            }
+        }
+    }
+
+    private static class SumIdsVertexProgram extends StaticVertexProgram<Long> {
+
+        private static final String SUM = "sum";
+        private static final MessageScope.Local<Long> KNOWS_SCOPE = MessageScope.Local.of(() -> __.outE("knows"), (m, e) -> m * 10);
+        private static final MessageScope.Local<Long> CREATED_SCOPE = MessageScope.Local.of(() -> __.outE("created").has("weight", P.gt(0.0d)));
+        private static final MessageScope.Global MARKO_SCOPE = MessageScope.Global.of(new ReferenceVertex(1, "person"));
+
+        private final MessageCombiner<Long> combiner;
+
+        private SumIdsVertexProgram(final MessageCombiner<Long> combiner) {
+            this.combiner = combiner;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                final long id = ((Integer) vertex.id()).longValue();
+                messenger.sendMessage(KNOWS_SCOPE, id);
+                messenger.sendMessage(CREATED_SCOPE, id);
+                messenger.sendMessage(MARKO_SCOPE, 1L);
+            } else {
+                messenger.receiveMessages().forEachRemaining(sum -> vertex.property(SUM, vertex.<Long>property(SUM).orElse(0L) + sum));
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public Optional<MessageCombiner<Long>> getMessageCombiner() {
+            return Optional.of(this.combiner);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return Collections.singleton(VertexComputeKey.of(SUM, false));
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return new HashSet<>(Arrays.asList(KNOWS_SCOPE, CREATED_SCOPE, MARKO_SCOPE));
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.NEW;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.VERTEX_PROPERTIES;
+        }
+    }
+
+    private static class WakeUpVertexProgram extends StaticVertexProgram<String> {
+
+        private static final String EXECUTIONS = "executions";
+        private static final MessageScope.Local<String> SCOPE = MessageScope.Local.of(() -> __.outE("created"));
+
+        private final boolean activeVerticesOnly;
+
+        private WakeUpVertexProgram(final boolean activeVerticesOnly) {
+            this.activeVerticesOnly = activeVerticesOnly;
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            memory.set(EXECUTIONS, 0L);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<String> messenger, final Memory memory) {
+            memory.add(EXECUTIONS, 1L);
+            if (memory.isInitialIteration()) {
+                if (vertex.value("name").equals("marko"))
+                    messenger.sendMessage(SCOPE, "marko");
+                else if (vertex.value("name").equals("peter"))
+                    messenger.wakeUp();
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public boolean executeActiveVerticesOnly(final Memory memory) {
+            return this.activeVerticesOnly;
+        }
+
+        @Override
+        public Set<MemoryComputeKey> getMemoryComputeKeys() {
+            return Collections.singleton(MemoryComputeKey.of(EXECUTIONS, Operator.sum, false, false));
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return Collections.singleton(SCOPE);
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return GraphComputer.ResultGraph.ORIGINAL;
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return GraphComputer.Persist.NOTHING;
+        }
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.